@@ -0,0 +1,122 @@
+package com.Ems.EmployeeManagmentSystem.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * Runs export jobs off the request threads. Bounded on both threads and queue so a burst of
+     * job submissions is rejected instead of piling up.
+     */
+    @Bean(name = "exportJobExecutor")
+    public ThreadPoolTaskExecutor exportJobExecutor(
+            @Value("${employee.export.job.pool-size:2}") int poolSize,
+            @Value("${employee.export.job.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Fetches the next export batch while the current one is encoded and written. When every
+     * thread is busy the export thread fetches the batch itself, so exports never stall here.
+     */
+    @Bean(name = "exportPrefetchExecutor")
+    public ThreadPoolTaskExecutor exportPrefetchExecutor(
+            @Value("${employee.export.prefetch-pool-size:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("export-prefetch-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Reads and encodes id ranges for parallel employee exports, one connection per thread.
+     * Ranges beyond the queue are encoded by the export thread itself, which also throttles it.
+     */
+    @Bean(name = "exportPartitionExecutor")
+    public ThreadPoolTaskExecutor exportPartitionExecutor(
+            @Value("${employee.export.parallelism:1}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism * 2);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("export-partition-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs employee import jobs. Kept small: every running import holds a connection for each
+     * batch and competes with the API for row locks.
+     */
+    @Bean(name = "importJobExecutor")
+    public ThreadPoolTaskExecutor importJobExecutor(
+            @Value("${employee.import.job.pool-size:1}") int poolSize,
+            @Value("${employee.import.job.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Leases the next block of employee codes in the background while the current block still
+     * has codes left. If the thread is busy the caller leases the block itself.
+     */
+    @Bean(name = "codeRefillExecutor")
+    public ThreadPoolTaskExecutor codeRefillExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("code-refill-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Encodes passwords for bulk user registration. BCrypt is pure CPU, so the pool is sized to
+     * the cores (half of them by default, leaving the rest to the API) and its threads run at the
+     * lowest priority; interactive requests never queue behind it. Callers must keep at most
+     * queue capacity hashes in flight, beyond that tasks are rejected.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${users.bulk.hash-threads:0}") int threads,
+            @Value("${users.bulk.hash-queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
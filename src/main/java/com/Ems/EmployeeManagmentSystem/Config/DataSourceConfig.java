@@ -0,0 +1,42 @@
+package com.Ems.EmployeeManagmentSystem.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Two pools on the same database: the primary one used by JPA and the CRUD endpoints, and a
+ * small read-only one that only export reads draw from. Declaring both here replaces Spring
+ * Boot's single auto-configured pool; {@code spring.datasource.hikari.*} still tunes the primary.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(name = "exportDataSource")
+    @ConfigurationProperties("employee.export.datasource.hikari")
+    public HikariDataSource exportDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("export-pool");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
@@ -1,71 +1,41 @@
-//package com.Ems.EmployeeManagmentSystem.Config;
-//
-//import org.springframework.beans.factory.annotation.Value;
-//import org.flywaydb.core.Flyway;
-//import org.slf4j.Logger;
-//import org.slf4j.LoggerFactory;
-//import org.springframework.boot.CommandLineRunner;
-//import org.springframework.context.annotation.Bean;
-//import org.springframework.context.annotation.Configuration;
-//
-//@Configuration
-//public class FlywayConfig {
-//
-//    private static final Logger logger = LoggerFactory.getLogger(FlywayConfig.class);
-//
-//    @Value("${spring.datasource.url}")
-//    private String dbUrl;
-//
-//    @Value("${spring.datasource.username}")
-//    private String dbUser;
-//
-//    @Value("${spring.datasource.password}")
-//    private String dbPassword;
-//
-//    @Value("${flyway.baseline.enabled:false}")
-//    private boolean baselineEnabled;
-//
-//    @Value("${flyway.migrate.enabled:false}")
-//    private boolean migrateEnabled;
-//
-//    @Value("${flyway.repair.enabled:false}")
-//    private boolean repairEnabled;
-//
-//    @Value("${flyway.clean.enabled:false}")
-//    private boolean cleanEnabled;
-//
-//    @Value("${flyway.info.enabled:false}")
-//    private boolean infoEnabled;
-//
-//    @Bean
-//    CommandLineRunner runFlyway() {
-//        logger.info("in FlywayConfig");
-//        return args -> {
-//            Flyway flyway = Flyway.configure()
-//                    .dataSource(dbUrl, dbUser, dbPassword)
-//                    .locations("classpath:db/migrations")
-//                    .baselineOnMigrate(baselineEnabled)
-//                    .outOfOrder(true)
-//                    .load();
-//            logger.info("Starting Flyway operations");
-//            if (infoEnabled) {
-//                logger.info("Running Flyway info...");
-//                flyway.info();
-//            }
-//            if (repairEnabled) {
-//                logger.info("Running Flyway repair...");
-//                flyway.repair();
-//            }
-//            logger.info("baseLine enabled {}", baselineEnabled);
-//            if (baselineEnabled) {
-//                logger.info("Running Flyway baseline...");
-//                flyway.baseline();
-//            }
-//            if (migrateEnabled) {
-//                logger.info("Running Flyway migrate...");
-//                flyway.migrate();
-//            }
-//            logger.info("Flyway run complete!");
-//        };
-//    }
-//}
+package com.Ems.EmployeeManagmentSystem.Config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot runs the migrations in {@code db/migrations} on the primary data source before JPA
+ * starts, so Hibernate validates the migrated schema. This adds the Java migrations, an optional
+ * repair of the schema history first, and logs what was applied.
+ */
+@Configuration
+@Slf4j
+public class FlywayConfig {
+
+    @Value("${flyway.repair.enabled:false}")
+    private boolean repairEnabled;
+
+    // Spring Boot hands JavaMigration beans to Flyway next to the SQL scripts
+    @Bean
+    public JavaMigration alignLegacySchema() {
+        return new V7__AlignLegacySchema();
+    }
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            if (repairEnabled) {
+                log.info("Repairing Flyway schema history");
+                flyway.repair();
+            }
+            MigrateResult result = flyway.migrate();
+            log.info("Applied {} migrations, schema is at version {}", result.migrationsExecuted,
+                    result.targetSchemaVersion != null ? result.targetSchemaVersion : result.initialSchemaVersion);
+        };
+    }
+}
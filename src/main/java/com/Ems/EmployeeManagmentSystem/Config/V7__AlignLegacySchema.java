@@ -0,0 +1,115 @@
+package com.Ems.EmployeeManagmentSystem.Config;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Brings the users and employee tables ddl-auto built before the migrations existed in line with
+ * V1 and V2. Such a database is baselined at V2 and has the unique constraints under generated
+ * names, which {@code ConstraintViolations} cannot recognise, and none of the updated_at indexes.
+ * Each step checks the schema first, so this is a no-op on a database built by the migrations.
+ * Registered as a bean in {@link FlywayConfig}.
+ */
+public class V7__AlignLegacySchema extends BaseJavaMigration {
+
+    private static final List<UniqueKey> UNIQUE_KEYS = List.of(
+            new UniqueKey("users", "uk_users_email", "email"),
+            new UniqueKey("employee", "uk_employee_email", "email"),
+            new UniqueKey("employee", "uk_employee_employee_code", "employee_code"),
+            new UniqueKey("employee", "uk_employee_user_id", "user_id"));
+
+    private static final List<TableIndex> INDEXES = List.of(
+            new TableIndex("users", "idx_users_updated_at", "updated_at, id"),
+            new TableIndex("employee", "idx_employee_updated_at", "updated_at, id"));
+
+    private static final String UNIQUE_CONSTRAINTS_QUERY = """
+            SELECT tc.constraint_name, kcu.column_name
+            FROM information_schema.table_constraints tc
+            JOIN information_schema.key_column_usage kcu
+              ON kcu.constraint_schema = tc.constraint_schema
+             AND kcu.constraint_name = tc.constraint_name
+             AND kcu.table_name = tc.table_name
+            WHERE tc.constraint_type = 'UNIQUE'
+              AND LOWER(tc.table_schema) = LOWER(?)
+              AND LOWER(tc.table_name) = ?
+            ORDER BY tc.constraint_name, kcu.ordinal_position
+            """;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (UniqueKey key : UNIQUE_KEYS) {
+                Map<String, List<String>> constraints = uniqueConstraints(connection, key.table());
+                // Add the named one first, so the column is never left without a unique constraint
+                if (!constraints.containsKey(key.name())) {
+                    statement.execute("ALTER TABLE " + key.table() + " ADD CONSTRAINT " + key.name()
+                            + " UNIQUE (" + key.column() + ")");
+                }
+                for (Map.Entry<String, List<String>> constraint : constraints.entrySet()) {
+                    if (!constraint.getKey().equals(key.name()) && constraint.getValue().equals(List.of(key.column()))) {
+                        statement.execute("ALTER TABLE " + key.table() + " DROP CONSTRAINT " + constraint.getKey());
+                    }
+                }
+            }
+            for (TableIndex index : INDEXES) {
+                if (!indexNames(connection, index.table()).contains(index.name())) {
+                    statement.execute("CREATE INDEX " + index.name() + " ON " + index.table()
+                            + " (" + index.columns() + ")");
+                }
+            }
+        }
+    }
+
+    // Constraint name -> its columns in order, both lower-cased
+    private static Map<String, List<String>> uniqueConstraints(Connection connection, String table) throws SQLException {
+        Map<String, List<String>> constraints = new LinkedHashMap<>();
+        try (PreparedStatement query = connection.prepareStatement(UNIQUE_CONSTRAINTS_QUERY)) {
+            // MySQL calls the database a catalog, H2 has a schema inside it
+            query.setString(1, connection.getSchema() != null ? connection.getSchema() : connection.getCatalog());
+            query.setString(2, table);
+            try (ResultSet rows = query.executeQuery()) {
+                while (rows.next()) {
+                    constraints.computeIfAbsent(rows.getString(1).toLowerCase(Locale.ROOT), name -> new ArrayList<>())
+                            .add(rows.getString(2).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return constraints;
+    }
+
+    private static Set<String> indexNames(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Set<String> names = new HashSet<>();
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, tableName, false, false)) {
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+
+    private record UniqueKey(String table, String name, String column) {
+    }
+
+    private record TableIndex(String table, String name, String columns) {
+    }
+}
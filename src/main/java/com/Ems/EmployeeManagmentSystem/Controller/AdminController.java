@@ -1,8 +1,25 @@
 package com.Ems.EmployeeManagmentSystem.Controller;
 
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeExportFilter;
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
+import com.Ems.EmployeeManagmentSystem.dto.Response.CommonResponse;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeImportResultDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.ExportJobResponseDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.ImportJobResponseDTO;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeExportColumn;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportCompression;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportType;
+import com.Ems.EmployeeManagmentSystem.Enum.ImportMode;
+import com.Ems.EmployeeManagmentSystem.Enum.MatchMode;
+import com.Ems.EmployeeManagmentSystem.Service.EmployeeImportService;
 import com.Ems.EmployeeManagmentSystem.Service.EmployeeService;
+import com.Ems.EmployeeManagmentSystem.Service.ExportBulkhead;
+import com.Ems.EmployeeManagmentSystem.Service.ExportJobService;
+import com.Ems.EmployeeManagmentSystem.Service.ImportJobService;
 import com.Ems.EmployeeManagmentSystem.Service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,9 +28,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/admin")
@@ -23,12 +51,18 @@ public class AdminController {
 
     private final EmployeeService employeeService;
     private final UserService userService;
+    private final ExportJobService exportJobService;
+    private final ExportBulkhead exportBulkhead;
+    private final EmployeeImportService employeeImportService;
+    private final ImportJobService importJobService;
 
     @GetMapping("/export-employee")
     @Operation(
-            summary = "Export all employees to CSV file",
-            description = "Downloads a CSV file containing all employees in the database (active, inactive, and deleted). " +
-                    "The file includes employee code, name, email, department, status, and other details. " +
+            summary = "Export employees to CSV file",
+            description = "Downloads a CSV file of employees. Without filters every employee is exported (active, inactive, and deleted). " +
+                    "The name, matchMode, status, department and isActive filters behave like the employee search. " +
+                    "The columns parameter selects and orders the columns (e.g. columns=employeeCode,email,department); " +
+                    "only those columns are read from the database. " +
                     "Data is exported in batches for optimal performance with large datasets.",
             tags = {"Admin - Export"}
     )
@@ -73,6 +107,11 @@ public class AdminController {
                             )
                     )
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many exports in progress, retry after the Retry-After seconds",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Internal server error during CSV generation",
@@ -84,9 +123,29 @@ public class AdminController {
                     )
             )
     })
-    public void exportAllEmployeesPaginated(HttpServletResponse response) throws IOException {
+    public void exportAllEmployeesPaginated(
+            @RequestParam(required = false) String name,
+            @Parameter(description = "How `name` is matched: prefix (default) or contains.")
+            @RequestParam(required = false) String matchMode,
+            @RequestParam(required = false) EmployeeStatus status,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Boolean isActive,
+            @Parameter(description = "Columns to export, in order: employeeCode, firstName, lastName, email, department, status, dateOfJoining, isActive, userEmail, isDeleted, updatedAt. Defaults to the first nine.")
+            @RequestParam(required = false) List<String> columns,
+            @Parameter(description = "Compressed attachment: none, gzip (.csv.gz) or zip. Plain CSV is gzip-encoded on the wire when the client sends Accept-Encoding: gzip.")
+            @RequestParam(required = false) String compression,
+            HttpServletResponse response) throws IOException {
         log.info("Admin Controller: exportAllEmployeesPaginated");
-        employeeService.exportAllEmployeesPaginated(response);
+        EmployeeExportFilter filter = EmployeeExportFilter.builder()
+                .name(name)
+                .matchMode(MatchMode.fromParameter(matchMode))
+                .status(status)
+                .department(department)
+                .isActive(isActive)
+                .columns(EmployeeExportColumn.fromParameters(columns))
+                .build();
+        ExportCompression exportCompression = ExportCompression.fromParameter(compression);
+        exportBulkhead.run(() -> employeeService.exportAllEmployeesPaginated(response, filter, exportCompression));
         log.info("Successfully triggered employee CSV export");
     }
 
@@ -139,6 +198,11 @@ public class AdminController {
                             )
                     )
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many exports in progress, retry after the Retry-After seconds",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Internal server error during CSV generation",
@@ -150,10 +214,252 @@ public class AdminController {
                     )
             )
     })
-    public void getAllUsersPaginated(HttpServletResponse response) throws IOException {
+    public void getAllUsersPaginated(
+            @Parameter(description = "Compressed attachment: none, gzip (.csv.gz) or zip. Plain CSV is gzip-encoded on the wire when the client sends Accept-Encoding: gzip.")
+            @RequestParam(required = false) String compression,
+            HttpServletResponse response) throws IOException {
         log.info("Admin Controller: getAllUsersPaginated");
-        userService.exportUsersPaginated(response);
+        ExportCompression exportCompression = ExportCompression.fromParameter(compression);
+        exportBulkhead.run(() -> userService.exportUsersPaginated(response, exportCompression));
         log.info("Successfully triggered Users CSV export");
     }
 
+    @GetMapping("/export-employee/changes")
+    @Operation(
+            summary = "Export employees changed since a watermark",
+            description = "Delta export for downstream syncs: returns only employees created, updated or soft-deleted after the " +
+                    "(since, afterId) watermark, ordered by update time, with Is Deleted and Updated At columns. " +
+                    "Omit since for the first sync. The next watermark is returned in the " +
+                    ExportWatermark.NEXT_SINCE_HEADER + " and " + ExportWatermark.NEXT_AFTER_ID_HEADER + " headers. " +
+                    "Changes from the last employee.export.delta.safety-lag-ms are left for the next sync.",
+            tags = {"Admin - Export"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Changed employees as CSV",
+                    content = @Content(mediaType = "text/csv", schema = @Schema(type = "string", format = "binary"))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Too many exports in progress, retry after the Retry-After seconds", content = @Content)
+    })
+    public void exportEmployeeChanges(
+            @Parameter(description = "Updated At of the watermark (ISO date-time), from the previous sync's " + ExportWatermark.NEXT_SINCE_HEADER + " header")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @Parameter(description = "Id of the watermark, from the previous sync's " + ExportWatermark.NEXT_AFTER_ID_HEADER + " header")
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(required = false) String compression,
+            HttpServletResponse response) throws IOException {
+        log.info("Admin Controller: exportEmployeeChanges since {} after id {}", since, afterId);
+        ExportWatermark watermark = toWatermark(since, afterId);
+        ExportCompression exportCompression = ExportCompression.fromParameter(compression);
+        exportBulkhead.run(() -> employeeService.exportEmployeeChanges(response, watermark, exportCompression));
+    }
+
+    @GetMapping("/export-users/changes")
+    @Operation(
+            summary = "Export users changed since a watermark",
+            description = "Delta export for downstream syncs: returns only users created, updated or soft-deleted after the " +
+                    "(since, afterId) watermark, ordered by update time. Omit since for the first sync. The next watermark is " +
+                    "returned in the " + ExportWatermark.NEXT_SINCE_HEADER + " and " + ExportWatermark.NEXT_AFTER_ID_HEADER + " headers.",
+            tags = {"Admin - Export"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Changed users as CSV",
+                    content = @Content(mediaType = "text/csv", schema = @Schema(type = "string", format = "binary"))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Too many exports in progress, retry after the Retry-After seconds", content = @Content)
+    })
+    public void exportUserChanges(
+            @Parameter(description = "Updated At of the watermark (ISO date-time), from the previous sync's " + ExportWatermark.NEXT_SINCE_HEADER + " header")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @Parameter(description = "Id of the watermark, from the previous sync's " + ExportWatermark.NEXT_AFTER_ID_HEADER + " header")
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(required = false) String compression,
+            HttpServletResponse response) throws IOException {
+        log.info("Admin Controller: exportUserChanges since {} after id {}", since, afterId);
+        ExportWatermark watermark = toWatermark(since, afterId);
+        ExportCompression exportCompression = ExportCompression.fromParameter(compression);
+        exportBulkhead.run(() -> userService.exportUserChanges(response, watermark, exportCompression));
+    }
+
+    @PostMapping("/export-jobs")
+    @Operation(
+            summary = "Start a background export job",
+            description = "Queues an export of employees or users into a spool file on the server and returns the job id. " +
+                    "Poll the job for progress and download the file once it is COMPLETED.",
+            tags = {"Admin - Export"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Export job accepted",
+                    content = @Content(schema = @Schema(implementation = CommonResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Export job queue is full, retry after the Retry-After seconds", content = @Content)
+    })
+    public ResponseEntity<CommonResponse<ExportJobResponseDTO>> startExportJob(
+            @RequestParam ExportType type,
+            @Parameter(description = "Compression of the spooled file: none, gzip (.csv.gz) or zip")
+            @RequestParam(required = false) String compression) {
+        log.info("Admin Controller: startExportJob for {}", type);
+        ExportJobResponseDTO job = exportJobService.startJob(type, ExportCompression.fromParameter(compression));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(CommonResponse.success(true, "Export job accepted", job));
+    }
+
+    @GetMapping("/export-jobs/{jobId}")
+    @Operation(
+            summary = "Get export job status",
+            description = "Returns the status and progress (rows written, rows per second) of an export job.",
+            tags = {"Admin - Export"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export job found",
+                    content = @Content(schema = @Schema(implementation = CommonResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Export job not found", content = @Content)
+    })
+    public ResponseEntity<CommonResponse<ExportJobResponseDTO>> getExportJob(@PathVariable String jobId) {
+        log.info("Admin Controller: getExportJob {}", jobId);
+        return ResponseEntity.ok(CommonResponse.success(true, "Export job fetched successfully", exportJobService.getJob(jobId)));
+    }
+
+    @GetMapping("/export-jobs/{jobId}/download")
+    @Operation(
+            summary = "Download the file of a completed export job",
+            description = "Serves the spooled export file. Supports HTTP Range requests so interrupted downloads can be resumed.",
+            tags = {"Admin - Export"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Full export file (CSV, .csv.gz or .zip)",
+                    content = @Content(mediaType = "text/csv", schema = @Schema(type = "string", format = "binary"))),
+            @ApiResponse(responseCode = "206", description = "Requested byte range of the export file", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Export job not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Export job has not completed", content = @Content)
+    })
+    public ResponseEntity<Resource> downloadExportJob(@PathVariable String jobId) {
+        log.info("Admin Controller: downloadExportJob {}", jobId);
+        ExportJobResponseDTO job = exportJobService.getJob(jobId);
+        Resource file = new FileSystemResource(exportJobService.getJobFile(jobId));
+
+        // Range requests on a Resource body are answered with 206 partial content by Spring MVC itself.
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.getCompression().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(job.getFileName()).build().toString())
+                .body(file);
+    }
+
+    @PostMapping(value = "/import-employee", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Import employees from a CSV file",
+            description = "Creates employees from an uploaded CSV with the columns First Name, Last Name, Email, Department, " +
+                    "Status and Date of Joining (yyyy-MM-dd); header names are case-insensitive and other columns are ignored, " +
+                    "so an employee export can be imported back. The file is streamed and inserted in batches. " +
+                    "Rows that fail validation or whose email already exists are skipped and reported with their row number " +
+                    "(1 is the first row after the header); the first 100 rejections are listed. " +
+                    "With mode=merge, a row updates the employee with its Employee Code, or else with its email, instead of " +
+                    "being rejected; only rows whose fields changed are written, and the result counts inserted, updated and " +
+                    "unchanged rows.",
+            tags = {"Admin - Import"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "File processed; see the imported and rejected row counts",
+                    content = @Content(schema = @Schema(implementation = CommonResponse.class))),
+            @ApiResponse(responseCode = "400", description = "File is empty, is missing required columns or the mode is unknown", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required", content = @Content)
+    })
+    public ResponseEntity<CommonResponse<EmployeeImportResultDTO>> importEmployees(
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "insert (default) rejects existing employees, merge updates them")
+            @RequestParam(value = "mode", required = false) String mode) throws IOException {
+        log.info("Admin Controller: importEmployees from {} in mode {}", file.getOriginalFilename(), mode);
+        EmployeeImportResultDTO result = employeeImportService.importEmployees(file, ImportMode.fromParameter(mode));
+        return ResponseEntity.ok(CommonResponse.success(true, "Employee import completed", result));
+    }
+
+    @PostMapping(value = "/import-jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Start a background employee import job",
+            description = "Accepts the same CSV as the employee import, stores it on the server and imports it in the background. " +
+                    "Poll the job for progress; once it has finished, the rejected rows can be downloaded with their messages. " +
+                    "A failed job can be resumed and continues after its last committed batch. The mode works as for the " +
+                    "employee import.",
+            tags = {"Admin - Import"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Import job accepted",
+                    content = @Content(schema = @Schema(implementation = CommonResponse.class))),
+            @ApiResponse(responseCode = "400", description = "File is empty or the mode is unknown", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Import job queue is full, retry after the Retry-After seconds", content = @Content)
+    })
+    public ResponseEntity<CommonResponse<ImportJobResponseDTO>> startImportJob(
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "insert (default) rejects existing employees, merge updates them")
+            @RequestParam(value = "mode", required = false) String mode) throws IOException {
+        log.info("Admin Controller: startImportJob from {} in mode {}", file.getOriginalFilename(), mode);
+        ImportJobResponseDTO job = importJobService.startJob(file, ImportMode.fromParameter(mode));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(CommonResponse.success(true, "Import job accepted", job));
+    }
+
+    @GetMapping("/import-jobs/{jobId}")
+    @Operation(
+            summary = "Get import job status",
+            description = "Returns the status and progress of an import job: rows parsed, valid, inserted and rejected, " +
+                    "the last committed row, and rows per second of the current run.",
+            tags = {"Admin - Import"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import job found",
+                    content = @Content(schema = @Schema(implementation = CommonResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Import job not found", content = @Content)
+    })
+    public ResponseEntity<CommonResponse<ImportJobResponseDTO>> getImportJob(@PathVariable String jobId) {
+        log.info("Admin Controller: getImportJob {}", jobId);
+        return ResponseEntity.ok(CommonResponse.success(true, "Import job fetched successfully", importJobService.getJob(jobId)));
+    }
+
+    @PostMapping("/import-jobs/{jobId}/resume")
+    @Operation(
+            summary = "Resume a failed import job",
+            description = "Queues a failed import job again. Rows up to its last committed batch are skipped.",
+            tags = {"Admin - Import"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Import job queued to resume",
+                    content = @Content(schema = @Schema(implementation = CommonResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Import job not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Import job has not failed or its upload was purged", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Import job queue is full, retry after the Retry-After seconds", content = @Content)
+    })
+    public ResponseEntity<CommonResponse<ImportJobResponseDTO>> resumeImportJob(@PathVariable String jobId) {
+        log.info("Admin Controller: resumeImportJob {}", jobId);
+        ImportJobResponseDTO job = importJobService.resumeJob(jobId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(CommonResponse.success(true, "Import job queued to resume", job));
+    }
+
+    @GetMapping("/import-jobs/{jobId}/rejected-rows")
+    @Operation(
+            summary = "Download the rejected rows of an import job",
+            description = "CSV of the rows the job rejected: row number, the imported columns as uploaded, and the error message.",
+            tags = {"Admin - Import"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rejected rows as CSV",
+                    content = @Content(mediaType = "text/csv", schema = @Schema(type = "string", format = "binary"))),
+            @ApiResponse(responseCode = "404", description = "Import job not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Import job has not finished", content = @Content)
+    })
+    public ResponseEntity<Resource> downloadRejectedRows(@PathVariable String jobId) {
+        log.info("Admin Controller: downloadRejectedRows {}", jobId);
+        Resource file = new FileSystemResource(importJobService.getRejectedRowsFile(jobId));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("import_" + jobId + "_rejected.csv").build().toString())
+                .body(file);
+    }
+
+    private static ExportWatermark toWatermark(LocalDateTime since, Long afterId) {
+        return since == null ? ExportWatermark.initial() : new ExportWatermark(since, afterId);
+    }
 }
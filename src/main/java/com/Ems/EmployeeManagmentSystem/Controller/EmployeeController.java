@@ -1,11 +1,18 @@
 package com.Ems.EmployeeManagmentSystem.Controller;
 
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeBulkUpdateRequestDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeRequestDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Response.CommonResponse;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeBulkResultDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeCursorPageDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeResponseDTO;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeSortField;
 import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.MatchMode;
+import com.Ems.EmployeeManagmentSystem.Service.EmployeeBulkService;
 import com.Ems.EmployeeManagmentSystem.Service.EmployeeServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,10 +25,13 @@ import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/employee")
 @RequiredArgsConstructor
@@ -30,6 +40,7 @@ import org.springframework.web.bind.annotation.*;
 public class EmployeeController {
 
     private final EmployeeServiceImpl employeeService;
+    private final EmployeeBulkService employeeBulkService;
 
 
     @PostMapping
@@ -54,27 +65,67 @@ public class EmployeeController {
     @GetMapping("/admin")
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearerAuth")
-    @Operation(summary = "Get all employees (admin only)", description = "Returns a paginated list of all employees. Admin access required.")
+    @Operation(summary = "Get all employees (admin only)", description = "Returns a paginated list of employees. `name` matches the start of the first or last name, or any part of it with matchMode=contains; `department` must match exactly. Both ignore case. The total is cached for employee.listing.count-cache.staleness-ms or until an employee is written; withTotal=false skips it. Admin access required.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Employees fetched successfully",
                     content = @Content(schema = @Schema(implementation = CommonResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
     })
-    public ResponseEntity<CommonResponse<Page<EmployeeResponseDTO>>> getEmployees(
+    public ResponseEntity<CommonResponse<Slice<EmployeeResponseDTO>>> getEmployees(
             @RequestParam(required = false) String name,
+            @Parameter(description = "How `name` is matched: prefix (default, uses the name indexes) or contains.")
+            @RequestParam(required = false) String matchMode,
             @RequestParam(required = false) EmployeeStatus status,
             @RequestParam(required = false) String department,
             @RequestParam(required = false, defaultValue = "true") Boolean isActive,
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
-            @RequestParam(defaultValue = "createdAt") String sortBy
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "false skips the total count and returns only whether a next page exists.")
+            @RequestParam(defaultValue = "true") boolean withTotal
     ) {
         log.info("EmployeeController:getEmployees");
-        Page<EmployeeResponseDTO> dtoPage = employeeService.getEmployee(name, status, department, isActive, page, size, sortBy);
-        log.info("Getting total number of Employees {}", dtoPage.getTotalElements());
+        Slice<EmployeeResponseDTO> dtoPage;
+        if (withTotal) {
+            Page<EmployeeResponseDTO> counted = employeeService.getEmployee(name, MatchMode.fromParameter(matchMode), status,
+                    department, isActive, page, size, sortBy);
+            log.info("Getting total number of Employees {}", counted.getTotalElements());
+            dtoPage = counted;
+        } else {
+            dtoPage = employeeService.getEmployeeSlice(name, MatchMode.fromParameter(matchMode), status, department,
+                    isActive, page, size, sortBy);
+        }
         return ResponseEntity.ok(CommonResponse.success(true ,"Employees fetched successfully", dtoPage));
     }
 
+    @GetMapping("/admin/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Scroll employees by cursor (admin only)", description = "Same filters as GET /employee/admin, but pages are read after the `nextCursor` of the previous response instead of by page number, and no total is counted, so every page costs the same. Send the same filters and sortBy with each cursor. Admin access required.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Employees fetched successfully",
+                    content = @Content(schema = @Schema(implementation = CommonResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sortBy", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    public ResponseEntity<CommonResponse<EmployeeCursorPageDTO>> scrollEmployees(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String matchMode,
+            @RequestParam(required = false) EmployeeStatus status,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false, defaultValue = "true") Boolean isActive,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @Parameter(description = "One of createdAt (default), updatedAt, dateOfJoining, firstName, lastName, email, department, id. Ties are broken by id.")
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "`nextCursor` from the previous page; omit for the first page.")
+            @RequestParam(required = false) String cursor
+    ) {
+        log.info("EmployeeController:scrollEmployees");
+        EmployeeCursorPageDTO dtoPage = employeeService.scrollEmployees(name, MatchMode.fromParameter(matchMode), status,
+                department, isActive, size, EmployeeSortField.fromParameter(sortBy), cursor);
+        return ResponseEntity.ok(CommonResponse.success(true, "Employees fetched successfully", dtoPage));
+    }
+
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -127,4 +178,39 @@ public class EmployeeController {
         return  ResponseEntity.ok(CommonResponse.success(true , "Employee updated successfully", updatedEmployee));
     }
 
+    // Items are validated one by one in the service, so one bad item does not fail the others
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Add employees in bulk (admin only)",
+            description = "Creates up to employee.bulk.max-items employees in one transaction. Invalid items and taken emails are rejected per item; the rest are created.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bulk create processed, see the per-item results",
+                    content = @Content(schema = @Schema(implementation = CommonResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty request or too many items", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    public ResponseEntity<CommonResponse<EmployeeBulkResultDTO>> addEmployees(@RequestBody List<EmployeeRequestDTO> employeeRequestDTOs) {
+        log.info("EmployeeController:addEmployees with {} items", employeeRequestDTOs.size());
+        EmployeeBulkResultDTO result = employeeBulkService.createEmployees(employeeRequestDTOs);
+        return ResponseEntity.ok(CommonResponse.success(true, "Bulk create processed", result));
+    }
+
+    @PutMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Update employees in bulk (admin only)",
+            description = "Updates up to employee.bulk.max-items employees, each item naming its employee by id, in one transaction. Invalid items are rejected per item; the rest are updated.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bulk update processed, see the per-item results",
+                    content = @Content(schema = @Schema(implementation = CommonResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty request or too many items", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    public ResponseEntity<CommonResponse<EmployeeBulkResultDTO>> updateEmployees(@RequestBody List<EmployeeBulkUpdateRequestDTO> employeeRequestDTOs) {
+        log.info("EmployeeController:updateEmployees with {} items", employeeRequestDTOs.size());
+        EmployeeBulkResultDTO result = employeeBulkService.updateEmployees(employeeRequestDTOs);
+        return ResponseEntity.ok(CommonResponse.success(true, "Bulk update processed", result));
+    }
+
 }
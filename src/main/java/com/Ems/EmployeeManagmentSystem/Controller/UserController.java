@@ -5,6 +5,7 @@ import com.Ems.EmployeeManagmentSystem.dto.Request.UserRequestDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Response.CommonResponse;
 import com.Ems.EmployeeManagmentSystem.dto.Response.JwtResponse;
 import com.Ems.EmployeeManagmentSystem.dto.Response.UserResponseDTO;
+import com.Ems.EmployeeManagmentSystem.Service.UserBulkService;
 import com.Ems.EmployeeManagmentSystem.Service.UserServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,13 +14,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
@@ -28,6 +34,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserServiceImpl userService;
+    private final UserBulkService userBulkService;
 
     @PostMapping("/register")
     @Operation(
@@ -84,4 +91,28 @@ public class UserController {
         return ResponseEntity.ok(CommonResponse.success(true , "User Deleted successfully." , userResponseDTO));
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+            summary = "Register users in bulk (Admin only)",
+            description = "Registers up to users.bulk.max-items users. Passwords are hashed in parallel off the request thread "
+                    + "and users are inserted in batches; one JSON result per user is streamed back as application/x-ndjson, "
+                    + "in request order, as each batch commits."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-user results, one JSON object per line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)),
+            @ApiResponse(responseCode = "400", description = "Empty request or too many users", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    public void registerUsers(@RequestBody List<UserRequestDTO> userRequestDTOs, HttpServletResponse response) throws IOException {
+        log.info("Bulk registering {} users", userRequestDTOs.size());
+        // Checked before the first line is written, while a 400 can still be sent
+        userBulkService.checkRequestSize(userRequestDTOs);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        userBulkService.registerUsers(userRequestDTOs, response.getOutputStream());
+    }
+
 }
@@ -0,0 +1,263 @@
+package com.Ems.EmployeeManagmentSystem.Csv;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Minimal RFC 4180 CSV writer for the export schemas. Fields are encoded to UTF-8 straight into
+ * one reusable byte buffer, dates and numbers are written digit by digit, and quoting is decided
+ * by scanning the value in place, so writing a row allocates nothing.
+ *
+ * <p>Null values are written as empty fields. The writer never closes the target stream.
+ * Not thread-safe: one instance per export.
+ */
+public final class CsvRowWriter implements Flushable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte DELIMITER = ',';
+    private static final byte QUOTE = '"';
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+    private boolean rowStart = true;
+
+    public CsvRowWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvRowWriter(OutputStream out, int bufferSize) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("CSV buffer size must be at least 16 bytes");
+        }
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Writes the UTF-8 byte order mark so Excel detects the encoding.
+     */
+    public CsvRowWriter bom() throws IOException {
+        for (byte b : UTF8_BOM) {
+            put(b);
+        }
+        return this;
+    }
+
+    public CsvRowWriter header(String... names) throws IOException {
+        for (String name : names) {
+            field(name);
+        }
+        return endRow();
+    }
+
+    public CsvRowWriter field(CharSequence value) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+
+        int length = value.length();
+        if (!needsQuoting(value, length)) {
+            putChars(value, length);
+            return this;
+        }
+
+        put(QUOTE);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                put(QUOTE);
+                put(QUOTE);
+            } else {
+                i = putChar(value, i, length);
+            }
+        }
+        put(QUOTE);
+        return this;
+    }
+
+    public CsvRowWriter field(Enum<?> value) throws IOException {
+        return field(value != null ? value.name() : null);
+    }
+
+    public CsvRowWriter field(Long value) throws IOException {
+        separator();
+        if (value != null) {
+            putLong(value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes {@code true}/{@code false}; a null value is written as {@code false}, matching the
+     * export schemas.
+     */
+    public CsvRowWriter field(Boolean value) throws IOException {
+        separator();
+        putBytes(Boolean.TRUE.equals(value) ? TRUE : FALSE);
+        return this;
+    }
+
+    /**
+     * Writes {@code yyyy-MM-dd}.
+     */
+    public CsvRowWriter field(LocalDate value) throws IOException {
+        separator();
+        if (value != null) {
+            putDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+        }
+        return this;
+    }
+
+    /**
+     * Writes {@code yyyy-MM-dd HH:mm:ss}.
+     */
+    public CsvRowWriter field(LocalDateTime value) throws IOException {
+        separator();
+        if (value != null) {
+            putDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+            put((byte) ' ');
+            putTwoDigits(value.getHour());
+            put((byte) ':');
+            putTwoDigits(value.getMinute());
+            put((byte) ':');
+            putTwoDigits(value.getSecond());
+        }
+        return this;
+    }
+
+    public CsvRowWriter endRow() throws IOException {
+        put((byte) '\r');
+        put((byte) '\n');
+        rowStart = true;
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private void separator() throws IOException {
+        if (rowStart) {
+            rowStart = false;
+        } else {
+            put(DELIMITER);
+        }
+    }
+
+    private static boolean needsQuoting(CharSequence value, int length) {
+        if (length == 0) {
+            return false;
+        }
+        if (value.charAt(0) == ' ' || value.charAt(length - 1) == ' ') {
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void putChars(CharSequence value, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            i = putChar(value, i, length);
+        }
+    }
+
+    /**
+     * Encodes the char at {@code index} as UTF-8 and returns the index of the last char consumed
+     * (a surrogate pair consumes two).
+     */
+    private int putChar(CharSequence value, int index, int length) throws IOException {
+        char c = value.charAt(index);
+        if (c < 0x80) {
+            put((byte) c);
+        } else if (c < 0x800) {
+            put((byte) (0xC0 | (c >> 6)));
+            put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c) && index + 1 < length && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            put((byte) (0xF0 | (codePoint >> 18)));
+            put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            put((byte) (0x80 | (codePoint & 0x3F)));
+            return index + 1;
+        } else if (Character.isSurrogate(c)) {
+            put((byte) '?');
+        } else {
+            put((byte) (0xE0 | (c >> 12)));
+            put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            put((byte) (0x80 | (c & 0x3F)));
+        }
+        return index;
+    }
+
+    private void putLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            putChars("-9223372036854775808", 20);
+            return;
+        }
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            put((byte) ('0' + (value / divisor) % 10));
+            divisor /= 10;
+        }
+    }
+
+    private void putDate(int year, int month, int day) throws IOException {
+        if (year < 0 || year > 9999) {
+            putLong(year);
+        } else {
+            putTwoDigits(year / 100);
+            putTwoDigits(year % 100);
+        }
+        put((byte) '-');
+        putTwoDigits(month);
+        put((byte) '-');
+        putTwoDigits(day);
+    }
+
+    private void putTwoDigits(int value) throws IOException {
+        put((byte) ('0' + value / 10));
+        put((byte) ('0' + value % 10));
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        for (byte b : bytes) {
+            put(b);
+        }
+    }
+
+    private void put(byte b) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = b;
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
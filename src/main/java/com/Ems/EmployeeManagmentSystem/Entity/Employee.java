@@ -3,17 +3,25 @@ package com.Ems.EmployeeManagmentSystem.Entity;
 import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
+
 import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Objects;
 
 @Entity
-@Table(name = "employee")
+// Tables and indexes are created by the db/migrations scripts; Hibernate only validates them
+@Table(name = "employee",
+        uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_CONSTRAINT, columnNames = "email"))
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
-public class Employee extends AbstractAudiatable {
+public class Employee extends AbstractAudiatable implements Persistable<Long> {
+
+    // Named so a duplicate email can be told apart from other constraint violations
+    public static final String EMAIL_CONSTRAINT = "uk_employee_email";
 
+    // Assigned from IdBlockAllocator before the insert, so the code can be set at the same time
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Column(name = "employee_code", unique = true, length = 20)
@@ -25,12 +33,27 @@ public class Employee extends AbstractAudiatable {
     @Column(name = "last_name", nullable = false, length = 50)
     private String lastName;
 
-    @Column(name = "email", nullable = false, unique = true, length = 100)
+    @Column(name = "email", nullable = false, length = 100)
     private String email;
 
     @Column(name = "department", nullable = false, length = 100)
     private String department;
 
+    // Lower-cased copies of the names and department for the admin search (EmployeeSpecifications),
+    // indexed so a filter compares them as stored instead of calling LOWER() on every row. The
+    // setters of the source fields keep them in step.
+    @Setter(AccessLevel.NONE)
+    @Column(name = "first_name_norm", nullable = false, length = 50)
+    private String firstNameNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "last_name_norm", nullable = false, length = 50)
+    private String lastNameNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "department_norm", nullable = false, length = 100)
+    private String departmentNorm;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private EmployeeStatus status;
@@ -44,8 +67,69 @@ public class Employee extends AbstractAudiatable {
     @Column(name = "is_deleted" , nullable = false)
     private Boolean isDeleted = Boolean.FALSE;
 
+    @ToString.Exclude
     @JoinColumn(name = "user_id" , referencedColumnName = "id")
     @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private Users user;
 
+    public Employee(Long id, String employeeCode, String firstName, String lastName, String email, String department,
+                    EmployeeStatus status, LocalDate dateOfJoining, Boolean isActive, Boolean isDeleted, Users user) {
+        this.id = id;
+        this.employeeCode = employeeCode;
+        setFirstName(firstName);
+        setLastName(lastName);
+        this.email = email;
+        setDepartment(department);
+        this.status = status;
+        this.dateOfJoining = dateOfJoining;
+        this.isActive = isActive;
+        this.isDeleted = isDeleted;
+        this.user = user;
+    }
+
+    /**
+     * The form names and departments are searched in: trimmed and lower-cased. Search input goes
+     * through here too, so both sides of a comparison are folded the same way.
+     */
+    public static String normalizeForSearch(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+        this.firstNameNorm = normalizeForSearch(firstName);
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+        this.lastNameNorm = normalizeForSearch(lastName);
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+        this.departmentNorm = normalizeForSearch(department);
+    }
+
+    /**
+     * Whether {@code other} has the same names, email, department, status and joining date, the
+     * fields an import or bulk update overwrites.
+     */
+    public boolean sameDetailsAs(Employee other) {
+        return Objects.equals(firstName, other.firstName)
+                && Objects.equals(lastName, other.lastName)
+                && Objects.equals(email, other.email)
+                && Objects.equals(department, other.department)
+                && status == other.status
+                && Objects.equals(dateOfJoining, other.dateOfJoining);
+    }
+
+    /**
+     * The id is assigned up front, so Spring Data cannot use a null id to tell a new employee
+     * from a stored one; the creation timestamp is only set once the employee is persisted.
+     */
+    @Override
+    public boolean isNew() {
+        return getCreatedAt() == null;
+    }
+
 }
@@ -0,0 +1,29 @@
+package com.Ems.EmployeeManagmentSystem.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One row per id sequence: the next value not yet leased to any node.
+ */
+@Entity
+@Table(name = "id_allocation")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdAllocation {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
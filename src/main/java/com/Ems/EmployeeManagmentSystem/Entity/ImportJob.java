@@ -0,0 +1,78 @@
+package com.Ems.EmployeeManagmentSystem.Entity;
+
+import com.Ems.EmployeeManagmentSystem.Enum.ImportJobStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.ImportMode;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One employee import job and its checkpoint. The counters and {@code lastCommittedRow} are
+ * written in the transaction of each batch, so they always describe what is actually committed.
+ */
+@Entity
+@Table(name = "import_job")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImportJob extends AbstractAudiatable {
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private ImportJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, length = 16)
+    private ImportMode mode = ImportMode.INSERT;
+
+    @Column(name = "rows_valid", nullable = false)
+    private long rowsValid;
+
+    @Column(name = "rows_inserted", nullable = false)
+    private long rowsInserted;
+
+    @Column(name = "rows_updated", nullable = false)
+    private long rowsUpdated;
+
+    @Column(name = "rows_unchanged", nullable = false)
+    private long rowsUnchanged;
+
+    @Column(name = "rows_rejected", nullable = false)
+    private long rowsRejected;
+
+    /** Last row covered by a committed batch; every row up to here has been parsed. */
+    @Column(name = "last_committed_row", nullable = false)
+    private long lastCommittedRow;
+
+    /** Length of the rejected-rows file at the checkpoint; a resumed job truncates it back to this. */
+    @Column(name = "rejected_file_size", nullable = false)
+    private long rejectedFileSize;
+
+    /** Checkpoint the current run started from, 0 unless the job was resumed. */
+    @Column(name = "resumed_from_row", nullable = false)
+    private long resumedFromRow;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+}
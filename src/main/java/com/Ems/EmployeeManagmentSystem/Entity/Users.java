@@ -6,7 +6,8 @@ import lombok.*;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users") // Still using 'users' as the table name
+@Table(name = "users", // Still using 'users' as the table name
+        uniqueConstraints = @UniqueConstraint(name = Users.EMAIL_CONSTRAINT, columnNames = "email"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,11 +15,14 @@ import java.util.UUID;
 @Builder
 public class Users extends AbstractAudiatable{
 
+    // Named so a duplicate email can be told apart from other constraint violations
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
 
     @Column(nullable = false, length = 255)
@@ -0,0 +1,10 @@
+package com.Ems.EmployeeManagmentSystem.Enum;
+
+/**
+ * Outcome of one item of a bulk employee request.
+ */
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    REJECTED
+}
@@ -0,0 +1,17 @@
+package com.Ems.EmployeeManagmentSystem.Enum;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tables whose unique {@code email} column is mirrored by the in-memory email index.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EmailScope {
+
+    EMPLOYEE("employee"),
+    USER("users");
+
+    private final String table;
+}
@@ -0,0 +1,104 @@
+package com.Ems.EmployeeManagmentSystem.Enum;
+
+import com.Ems.EmployeeManagmentSystem.Csv.CsvRowWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Columns of the employee CSV export, in their default order. Each column knows the JPQL path it
+ * is selected from, so a narrow export only reads the requested columns and only joins
+ * {@code users} when the user email is asked for. {@link #IS_DELETED} and {@link #UPDATED_AT} are
+ * opt-in for full exports and always part of delta exports.
+ */
+public enum EmployeeExportColumn {
+    EMPLOYEE_CODE("employeeCode", "Employee Code", "e.employeeCode", (csv, value) -> csv.field((String) value)),
+    FIRST_NAME("firstName", "First Name", "e.firstName", (csv, value) -> csv.field((String) value)),
+    LAST_NAME("lastName", "Last Name", "e.lastName", (csv, value) -> csv.field((String) value)),
+    EMAIL("email", "Email", "e.email", (csv, value) -> csv.field((String) value)),
+    DEPARTMENT("department", "Department", "e.department", (csv, value) -> csv.field((String) value)),
+    STATUS("status", "Status", "e.status", (csv, value) -> csv.field((EmployeeStatus) value)),
+    DATE_OF_JOINING("dateOfJoining", "Date of Joining", "e.dateOfJoining", (csv, value) -> csv.field((LocalDate) value)),
+    IS_ACTIVE("isActive", "Is Active", "e.isActive", (csv, value) -> csv.field((Boolean) value)),
+    USER_EMAIL("userEmail", "User Email", "u.email", (csv, value) -> csv.field((String) value)),
+    IS_DELETED("isDeleted", "Is Deleted", "e.isDeleted", (csv, value) -> csv.field((Boolean) value)),
+    UPDATED_AT("updatedAt", "Updated At", "e.updatedAt", (csv, value) -> csv.field((LocalDateTime) value));
+
+    private static final List<EmployeeExportColumn> DEFAULT_COLUMNS = List.of(values()).subList(0, IS_DELETED.ordinal());
+
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(CsvRowWriter csv, Object value) throws IOException;
+    }
+
+    private final String parameterName;
+    private final String header;
+    private final String path;
+    private final FieldWriter writer;
+
+    EmployeeExportColumn(String parameterName, String header, String path, FieldWriter writer) {
+        this.parameterName = parameterName;
+        this.header = header;
+        this.path = path;
+        this.writer = writer;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public boolean requiresUserJoin() {
+        return this == USER_EMAIL;
+    }
+
+    public void write(CsvRowWriter csv, Object value) throws IOException {
+        writer.write(csv, value);
+    }
+
+    /**
+     * The nine columns exported when no {@code columns=} are requested.
+     */
+    public static List<EmployeeExportColumn> defaults() {
+        return DEFAULT_COLUMNS;
+    }
+
+    /**
+     * Resolves the {@code columns=} request parameter. Accepts the camelCase field names
+     * ({@code employeeCode}) or the constant names ({@code EMPLOYEE_CODE}), in the requested order.
+     * No columns means the {@link #defaults()}.
+     */
+    public static List<EmployeeExportColumn> fromParameters(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return DEFAULT_COLUMNS;
+        }
+
+        List<EmployeeExportColumn> columns = new ArrayList<>(values.size());
+        for (String value : values) {
+            EmployeeExportColumn column = fromParameter(value);
+            if (!columns.contains(column)) {
+                columns.add(column);
+            }
+        }
+        return List.copyOf(columns);
+    }
+
+    private static EmployeeExportColumn fromParameter(String value) {
+        String trimmed = value == null ? "" : value.trim();
+        for (EmployeeExportColumn column : values()) {
+            if (column.parameterName.equalsIgnoreCase(trimmed) || column.name().equalsIgnoreCase(trimmed)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export column '" + value + "', expected one of "
+                + "employeeCode, firstName, lastName, email, department, status, dateOfJoining, isActive, userEmail, "
+                + "isDeleted, updatedAt");
+    }
+}
@@ -0,0 +1,69 @@
+package com.Ems.EmployeeManagmentSystem.Enum;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Properties the cursor listing can sort by, newest or highest first with the id breaking ties.
+ * Each one knows how to read its key from an employee and how to parse it back from a cursor, so
+ * only non-null columns are listed here. Only createdAt (with the listing filters) and id are
+ * served by an index in that order; the others sort the matching rows.
+ */
+public enum EmployeeSortField {
+    CREATED_AT("createdAt", Employee::getCreatedAt, LocalDateTime::parse),
+    UPDATED_AT("updatedAt", Employee::getUpdatedAt, LocalDateTime::parse),
+    DATE_OF_JOINING("dateOfJoining", Employee::getDateOfJoining, LocalDate::parse),
+    FIRST_NAME("firstName", Employee::getFirstName, Function.identity()),
+    LAST_NAME("lastName", Employee::getLastName, Function.identity()),
+    EMAIL("email", Employee::getEmail, Function.identity()),
+    DEPARTMENT("department", Employee::getDepartment, Function.identity()),
+    ID("id", Employee::getId, Long::valueOf);
+
+    private final String property;
+    private final Function<Employee, ? extends Comparable<?>> reader;
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    EmployeeSortField(String property, Function<Employee, ? extends Comparable<?>> reader,
+                      Function<String, ? extends Comparable<?>> parser) {
+        this.property = property;
+        this.reader = reader;
+        this.parser = parser;
+    }
+
+    /** The entity property, as used in {@code Sort} and criteria paths. */
+    public String getProperty() {
+        return property;
+    }
+
+    public String keyOf(Employee employee) {
+        return reader.apply(employee).toString();
+    }
+
+    /**
+     * The key written by {@link #keyOf} as the property's type. Throws
+     * {@code IllegalArgumentException} if it cannot be read back.
+     */
+    public Comparable<?> parseKey(String key) {
+        try {
+            return parser.apply(key);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + property + " cursor key '" + key + "'", e);
+        }
+    }
+
+    public static EmployeeSortField fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return CREATED_AT;
+        }
+        for (EmployeeSortField field : values()) {
+            if (field.property.equalsIgnoreCase(value.trim())) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field '" + value + "', expected one of createdAt, "
+                + "updatedAt, dateOfJoining, firstName, lastName, email, department, id");
+    }
+}
@@ -0,0 +1,82 @@
+package com.Ems.EmployeeManagmentSystem.Enum;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Compression applied to an export file. Transparent {@code Content-Encoding: gzip} for plain CSV
+ * is negotiated by the servlet container ({@code server.compression}); these values produce
+ * compressed attachments instead.
+ */
+public enum ExportCompression {
+    NONE(".csv", "text/csv; charset=UTF-8"),
+    GZIP(".csv.gz", "application/gzip"),
+    ZIP(".zip", "application/zip");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String fileExtension;
+    private final String contentType;
+
+    ExportCompression(String fileExtension, String contentType) {
+        this.fileExtension = fileExtension;
+        this.contentType = contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ExportCompression fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        for (ExportCompression compression : values()) {
+            if (compression.name().equalsIgnoreCase(value.trim())) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported compression '" + value + "', expected one of none, gzip, zip");
+    }
+
+    /**
+     * Wraps {@code out} in a streaming compressor. {@code entryName} names the CSV inside a zip.
+     * Call {@link #finish(OutputStream)} on the returned stream once the CSV is written.
+     */
+    public OutputStream wrap(OutputStream out, String entryName) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPOutputStream(out, BUFFER_SIZE) {
+                    {
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                };
+            case ZIP:
+                ZipOutputStream zip = new ZipOutputStream(out);
+                zip.setLevel(Deflater.BEST_SPEED);
+                zip.putNextEntry(new ZipEntry(entryName));
+                return zip;
+            default:
+                return out;
+        }
+    }
+
+    /**
+     * Writes the compression trailer without closing the underlying stream.
+     */
+    public static void finish(OutputStream out) throws IOException {
+        if (out instanceof DeflaterOutputStream deflater) {
+            deflater.finish();
+        }
+        out.flush();
+    }
+}
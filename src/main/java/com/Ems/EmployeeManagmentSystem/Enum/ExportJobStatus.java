@@ -0,0 +1,8 @@
+package com.Ems.EmployeeManagmentSystem.Enum;
+
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
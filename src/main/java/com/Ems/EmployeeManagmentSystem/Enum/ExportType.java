@@ -0,0 +1,6 @@
+package com.Ems.EmployeeManagmentSystem.Enum;
+
+public enum ExportType {
+    EMPLOYEES,
+    USERS
+}
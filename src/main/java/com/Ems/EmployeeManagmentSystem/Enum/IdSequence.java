@@ -0,0 +1,18 @@
+package com.Ems.EmployeeManagmentSystem.Enum;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Id sequences kept in the {@code id_allocation} table. The first lease of a sequence seeds its
+ * row from the highest id already in {@code table}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum IdSequence {
+
+    EMPLOYEE("employee", "employee");
+
+    private final String key;
+    private final String table;
+}
@@ -0,0 +1,8 @@
+package com.Ems.EmployeeManagmentSystem.Enum;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
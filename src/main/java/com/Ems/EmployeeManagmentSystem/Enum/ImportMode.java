@@ -0,0 +1,24 @@
+package com.Ems.EmployeeManagmentSystem.Enum;
+
+/**
+ * How an employee import treats rows that match an existing employee. INSERT rejects them;
+ * MERGE matches on the Employee Code column when the row has one, otherwise on the email, and
+ * updates the employee if any of its imported fields changed. Rows that match nothing are
+ * inserted in both modes.
+ */
+public enum ImportMode {
+    INSERT,
+    MERGE;
+
+    public static ImportMode fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return INSERT;
+        }
+        for (ImportMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import mode '" + value + "', expected one of insert, merge");
+    }
+}
@@ -0,0 +1,23 @@
+package com.Ems.EmployeeManagmentSystem.Enum;
+
+/**
+ * How the employee search matches the name filter against first and last names. PREFIX matches
+ * the start of a name and is served by the name indexes; CONTAINS matches anywhere in the name
+ * and has to scan.
+ */
+public enum MatchMode {
+    PREFIX,
+    CONTAINS;
+
+    public static MatchMode fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return PREFIX;
+        }
+        for (MatchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported match mode '" + value + "', expected one of prefix, contains");
+    }
+}
@@ -0,0 +1,38 @@
+package com.Ems.EmployeeManagmentSystem.Exceptions;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Tells which unique constraint a failed write ran into, so the caller can report a duplicate
+ * instead of pre-checking with a query of its own.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Whether {@code e} was caused by {@code constraintName}. Hibernate reports the name when it
+     * can extract it; plain JDBC writes only carry it in the driver message, which MySQL words as
+     * {@code for key 'table.name'} and H2 as {@code NAME_INDEX_n ON ...}.
+     */
+    public static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        String name = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.Ems.EmployeeManagmentSystem.Exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ExportCapacityExceededException extends RuntimeException {
+    private final HttpStatus status;
+    private final String errorCode;
+    private final long retryAfterSeconds;
+
+    public ExportCapacityExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.status = HttpStatus.TOO_MANY_REQUESTS;
+        this.errorCode = "ExportCapacityExceededException";
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
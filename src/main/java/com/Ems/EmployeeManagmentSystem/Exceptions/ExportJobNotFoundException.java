@@ -0,0 +1,16 @@
+package com.Ems.EmployeeManagmentSystem.Exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ExportJobNotFoundException extends RuntimeException {
+    private final HttpStatus status;
+    private final String errorCode;
+
+    public ExportJobNotFoundException(String message) {
+        super(message);
+        this.status = HttpStatus.NOT_FOUND;
+        this.errorCode = "ExportJobNotFoundException";
+    }
+}
@@ -0,0 +1,16 @@
+package com.Ems.EmployeeManagmentSystem.Exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ExportJobNotReadyException extends RuntimeException {
+    private final HttpStatus status;
+    private final String errorCode;
+
+    public ExportJobNotReadyException(String message) {
+        super(message);
+        this.status = HttpStatus.CONFLICT;
+        this.errorCode = "ExportJobNotReadyException";
+    }
+}
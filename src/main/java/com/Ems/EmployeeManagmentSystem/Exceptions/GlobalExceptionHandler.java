@@ -3,6 +3,7 @@ package com.Ems.EmployeeManagmentSystem.Exceptions;
 
 import com.Ems.EmployeeManagmentSystem.dto.Response.CommonResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -40,6 +41,42 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(CommonResponse.error(true , ex.getMessage(), ex.getErrorCode()),HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ExportJobNotFoundException.class)
+    public ResponseEntity<CommonResponse<?>> handleExportJobNotFoundException(ExportJobNotFoundException ex) {
+        return new ResponseEntity<>(CommonResponse.error(true , ex.getMessage(), ex.getErrorCode()),ex.getStatus());
+    }
+
+    @ExceptionHandler(ExportJobNotReadyException.class)
+    public ResponseEntity<CommonResponse<?>> handleExportJobNotReadyException(ExportJobNotReadyException ex) {
+        return new ResponseEntity<>(CommonResponse.error(true , ex.getMessage(), ex.getErrorCode()),ex.getStatus());
+    }
+
+    @ExceptionHandler(ExportCapacityExceededException.class)
+    public ResponseEntity<CommonResponse<?>> handleExportCapacityExceededException(ExportCapacityExceededException ex) {
+        log.warn("Export rejected : " + ex.getMessage());
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(CommonResponse.error(true , ex.getMessage(), ex.getErrorCode()));
+    }
+
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<CommonResponse<?>> handleImportJobNotFoundException(ImportJobNotFoundException ex) {
+        return new ResponseEntity<>(CommonResponse.error(true , ex.getMessage(), ex.getErrorCode()),ex.getStatus());
+    }
+
+    @ExceptionHandler(ImportJobNotReadyException.class)
+    public ResponseEntity<CommonResponse<?>> handleImportJobNotReadyException(ImportJobNotReadyException ex) {
+        return new ResponseEntity<>(CommonResponse.error(true , ex.getMessage(), ex.getErrorCode()),ex.getStatus());
+    }
+
+    @ExceptionHandler(ImportCapacityExceededException.class)
+    public ResponseEntity<CommonResponse<?>> handleImportCapacityExceededException(ImportCapacityExceededException ex) {
+        log.warn("Import rejected : " + ex.getMessage());
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(CommonResponse.error(true , ex.getMessage(), ex.getErrorCode()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<CommonResponse<?>> handleException(Exception ex) {
         log.info("Exception caught in GlobalExceptionHandler");
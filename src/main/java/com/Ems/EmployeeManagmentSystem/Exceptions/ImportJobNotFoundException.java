@@ -0,0 +1,16 @@
+package com.Ems.EmployeeManagmentSystem.Exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ImportJobNotFoundException extends RuntimeException {
+    private final HttpStatus status;
+    private final String errorCode;
+
+    public ImportJobNotFoundException(String message) {
+        super(message);
+        this.status = HttpStatus.NOT_FOUND;
+        this.errorCode = "ImportJobNotFoundException";
+    }
+}
@@ -0,0 +1,16 @@
+package com.Ems.EmployeeManagmentSystem.Exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ImportJobNotReadyException extends RuntimeException {
+    private final HttpStatus status;
+    private final String errorCode;
+
+    public ImportJobNotReadyException(String message) {
+        super(message);
+        this.status = HttpStatus.CONFLICT;
+        this.errorCode = "ImportJobNotReadyException";
+    }
+}
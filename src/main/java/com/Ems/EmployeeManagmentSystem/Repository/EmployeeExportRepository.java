@@ -0,0 +1,48 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeExportColumn;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeExportFilter;
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Range;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EmployeeExportRepository {
+
+    /**
+     * Seek-based batch for exports: returns the next {@code limit} employees after {@code lastId}
+     * in id order that match {@code filter}. Each row holds the employee id followed by the
+     * filter's columns in order; only those columns are selected, and {@code users} is joined
+     * only when the user email is requested. Runs without an OFFSET or a COUNT query, so every
+     * batch costs the same.
+     */
+    List<Object[]> findExportRows(EmployeeExportFilter filter, Long lastId, Limit limit);
+
+    /**
+     * Same as {@link #findExportRows} but also bounded above by {@code upToId} (inclusive), so
+     * disjoint id ranges can be read in parallel.
+     */
+    List<Object[]> findExportRowsInRange(EmployeeExportFilter filter, Long lastId, Long upToId, Limit limit);
+
+    /**
+     * Lowest and highest employee id, or empty when there are no employees.
+     */
+    Optional<Range<Long>> findIdRange();
+
+    /**
+     * Delta batch: the next {@code limit} employees, in {@code (updatedAt, id)} order, that were
+     * saved after {@code after} and not after {@code upTo}. Soft-deleted employees are included.
+     * Rows have the same shape as {@link #findExportRows}.
+     */
+    List<Object[]> findChangedRows(List<EmployeeExportColumn> columns, ExportWatermark after,
+                                   ExportWatermark upTo, Limit limit);
+
+    /**
+     * Watermark of the most recently saved employee with {@code updatedAt} before {@code before}, or
+     * empty when there is none.
+     */
+    Optional<ExportWatermark> findLatestWatermark(LocalDateTime before);
+}
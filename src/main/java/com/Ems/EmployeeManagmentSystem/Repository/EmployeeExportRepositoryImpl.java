@@ -0,0 +1,135 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeExportColumn;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeExportFilter;
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Range;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class EmployeeExportRepositoryImpl implements EmployeeExportRepository {
+
+    private static final String LATEST_WATERMARK_QUERY = """
+            SELECT new com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark(e.updatedAt, e.id)
+            FROM Employee e
+            WHERE e.updatedAt < :before
+            ORDER BY e.updatedAt DESC, e.id DESC
+            """;
+
+    private static final String CHANGED_ROWS_PREDICATE = """
+            WHERE (e.updatedAt > :afterAt OR (e.updatedAt = :afterAt AND e.id > :afterId))
+              AND (e.updatedAt < :upToAt OR (e.updatedAt = :upToAt AND e.id <= :upToId))
+            ORDER BY e.updatedAt ASC, e.id ASC
+            """;
+
+    private static final String ID_RANGE_QUERY = "SELECT MIN(e.id), MAX(e.id) FROM Employee e";
+
+    private final StatelessBatchReader statelessBatchReader;
+
+    public EmployeeExportRepositoryImpl(EntityManagerFactory entityManagerFactory,
+                                        @Qualifier("exportDataSource") ObjectProvider<DataSource> exportDataSource) {
+        this.statelessBatchReader = new StatelessBatchReader(entityManagerFactory, exportDataSource);
+    }
+
+    @Override
+    public List<Object[]> findExportRows(EmployeeExportFilter filter, Long lastId, Limit limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        String hql = buildExportQuery(filter, null, parameters);
+        return statelessBatchReader.readBatch(hql, Object[].class, lastId, limit.max(), parameters);
+    }
+
+    @Override
+    public List<Object[]> findExportRowsInRange(EmployeeExportFilter filter, Long lastId, Long upToId, Limit limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        String hql = buildExportQuery(filter, upToId, parameters);
+        return statelessBatchReader.readBatch(hql, Object[].class, lastId, limit.max(), parameters);
+    }
+
+    @Override
+    public Optional<Range<Long>> findIdRange() {
+        Object[] bounds = statelessBatchReader.readBatch(ID_RANGE_QUERY, Object[].class, 1, Map.of()).get(0);
+        if (bounds[0] == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Range.closed((Long) bounds[0], (Long) bounds[1]));
+    }
+
+    @Override
+    public List<Object[]> findChangedRows(List<EmployeeExportColumn> columns, ExportWatermark after,
+                                          ExportWatermark upTo, Limit limit) {
+        String hql = selectColumns(columns) + " " + CHANGED_ROWS_PREDICATE;
+        Map<String, Object> parameters = Map.of(
+                "afterAt", after.getUpdatedAt(),
+                "afterId", after.getId(),
+                "upToAt", upTo.getUpdatedAt(),
+                "upToId", upTo.getId());
+        return statelessBatchReader.readBatch(hql, Object[].class, limit.max(), parameters);
+    }
+
+    @Override
+    public Optional<ExportWatermark> findLatestWatermark(LocalDateTime before) {
+        return statelessBatchReader.readBatch(LATEST_WATERMARK_QUERY, ExportWatermark.class, 1, Map.of("before", before))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Only predicates for filters that are set are added, so an unfiltered export is a plain
+     * primary-key range scan rather than a chain of {@code :param IS NULL OR ...} guards.
+     */
+    private static String buildExportQuery(EmployeeExportFilter filter, Long upToId, Map<String, Object> parameters) {
+        StringBuilder hql = new StringBuilder(selectColumns(filter.getColumns()));
+        hql.append(" WHERE e.id > :lastId");
+
+        if (upToId != null) {
+            hql.append(" AND e.id <= :upToId");
+            parameters.put("upToId", upToId);
+        }
+
+        // Same matching as EmployeeSpecifications, so an export holds what the listing showed
+        if (filter.getName() != null && !filter.getName().isBlank()) {
+            hql.append(" AND (e.firstNameNorm LIKE :name ESCAPE '" + EmployeeSpecifications.LIKE_ESCAPE
+                    + "' OR e.lastNameNorm LIKE :name ESCAPE '" + EmployeeSpecifications.LIKE_ESCAPE + "')");
+            parameters.put("name", EmployeeSpecifications.namePattern(filter.getName(), filter.getMatchMode()));
+        }
+        if (filter.getStatus() != null) {
+            hql.append(" AND e.status = :status");
+            parameters.put("status", filter.getStatus());
+        }
+        if (filter.getDepartment() != null && !filter.getDepartment().isBlank()) {
+            hql.append(" AND e.departmentNorm = :department");
+            parameters.put("department", Employee.normalizeForSearch(filter.getDepartment()));
+        }
+        if (filter.getIsActive() != null) {
+            hql.append(" AND e.isActive = :isActive");
+            parameters.put("isActive", filter.getIsActive());
+        }
+
+        return hql.append(" ORDER BY e.id ASC").toString();
+    }
+
+    private static String selectColumns(List<EmployeeExportColumn> columns) {
+        StringBuilder hql = new StringBuilder("SELECT e.id");
+        boolean joinUser = false;
+        for (EmployeeExportColumn column : columns) {
+            hql.append(", ").append(column.getPath());
+            joinUser |= column.requiresUserJoin();
+        }
+
+        hql.append(" FROM Employee e");
+        if (joinUser) {
+            hql.append(" LEFT JOIN e.user u");
+        }
+        return hql.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface EmployeeImportRepository {
+
+    /**
+     * Returns which of {@code emails} already belong to an employee, lower-cased, in one query.
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Inserts {@code employees} as one JDBC batch. Ids, codes and audit timestamps must already be
+     * set, since this bypasses the persistence context. Joins the caller's transaction.
+     */
+    void insertBatch(List<Employee> employees);
+
+    /**
+     * Employees whose email is among {@code emails} or whose code is among {@code employeeCodes},
+     * in one query. Only the columns a merge compares or keeps are filled in; the audit
+     * timestamps are not. The rows stay locked ({@code FOR UPDATE}) until the caller's transaction
+     * ends, so they cannot change between the merge comparing and writing them.
+     */
+    List<Employee> findMergeTargets(Collection<String> emails, Collection<String> employeeCodes);
+
+    /**
+     * Overwrites the imported fields and {@code updated_at} of the employees with the ids of
+     * {@code employees}, as one JDBC batch of {@code UPDATE ... WHERE id = ?}. Code, flags and
+     * {@code created_at} are kept. An email another employee holds fails the batch with a
+     * {@code DataIntegrityViolationException}. Joins the caller's transaction.
+     */
+    void updateBatch(List<Employee> employees);
+}
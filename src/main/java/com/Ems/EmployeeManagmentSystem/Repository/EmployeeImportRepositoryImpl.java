@@ -0,0 +1,124 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class EmployeeImportRepositoryImpl implements EmployeeImportRepository {
+
+    private static final String EXISTING_EMAILS_QUERY = "SELECT email FROM employee WHERE email IN (:emails)";
+
+    private static final String INSERT_EMPLOYEE = """
+            INSERT INTO employee (id, employee_code, first_name, last_name, email, department, status,
+                                  date_of_joining, is_active, is_deleted, created_at, updated_at,
+                                  first_name_norm, last_name_norm, department_norm)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // Only the imported fields; code, flags and created_at stay as they are
+    private static final String UPDATE_EMPLOYEE = """
+            UPDATE employee
+            SET first_name = ?, last_name = ?, email = ?, department = ?, status = ?, date_of_joining = ?,
+                updated_at = ?, first_name_norm = ?, last_name_norm = ?, department_norm = ?
+            WHERE id = ?
+            """;
+
+    private static final String MERGE_TARGETS_QUERY = """
+            SELECT id, employee_code, first_name, last_name, email, department, status, date_of_joining,
+                   is_active, is_deleted
+            FROM employee
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return namedParameterJdbcTemplate.queryForList(EXISTING_EMAILS_QUERY, Map.of("emails", emails), String.class)
+                .stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void insertBatch(List<Employee> employees) {
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, employees, employees.size(), EmployeeImportRepositoryImpl::setRow);
+    }
+
+    @Override
+    public List<Employee> findMergeTargets(Collection<String> emails, Collection<String> employeeCodes) {
+        if (emails.isEmpty() && employeeCodes.isEmpty()) {
+            return List.of();
+        }
+        String where = emails.isEmpty() ? "WHERE employee_code IN (:codes)"
+                : employeeCodes.isEmpty() ? "WHERE email IN (:emails)"
+                : "WHERE email IN (:emails) OR employee_code IN (:codes)";
+        return namedParameterJdbcTemplate.query(MERGE_TARGETS_QUERY + where + " FOR UPDATE",
+                Map.of("emails", emails, "codes", employeeCodes), (rs, rowNum) -> {
+                    Employee employee = new Employee();
+                    employee.setId(rs.getLong("id"));
+                    employee.setEmployeeCode(rs.getString("employee_code"));
+                    employee.setFirstName(rs.getString("first_name"));
+                    employee.setLastName(rs.getString("last_name"));
+                    employee.setEmail(rs.getString("email"));
+                    employee.setDepartment(rs.getString("department"));
+                    employee.setStatus(EmployeeStatus.valueOf(rs.getString("status")));
+                    employee.setDateOfJoining(rs.getDate("date_of_joining").toLocalDate());
+                    employee.setIsActive(rs.getBoolean("is_active"));
+                    employee.setIsDeleted(rs.getBoolean("is_deleted"));
+                    return employee;
+                });
+    }
+
+    @Override
+    public void updateBatch(List<Employee> employees) {
+        jdbcTemplate.batchUpdate(UPDATE_EMPLOYEE, employees, employees.size(), (statement, employee) -> {
+            statement.setString(1, employee.getFirstName());
+            statement.setString(2, employee.getLastName());
+            statement.setString(3, employee.getEmail());
+            statement.setString(4, employee.getDepartment());
+            statement.setString(5, employee.getStatus().name());
+            statement.setDate(6, Date.valueOf(employee.getDateOfJoining()));
+            statement.setTimestamp(7, Timestamp.valueOf(employee.getUpdatedAt()));
+            statement.setString(8, employee.getFirstNameNorm());
+            statement.setString(9, employee.getLastNameNorm());
+            statement.setString(10, employee.getDepartmentNorm());
+            statement.setLong(11, employee.getId());
+        });
+    }
+
+    private static void setRow(PreparedStatement statement, Employee employee) throws SQLException {
+        statement.setLong(1, employee.getId());
+        statement.setString(2, employee.getEmployeeCode());
+        statement.setString(3, employee.getFirstName());
+        statement.setString(4, employee.getLastName());
+        statement.setString(5, employee.getEmail());
+        statement.setString(6, employee.getDepartment());
+        statement.setString(7, employee.getStatus().name());
+        statement.setDate(8, Date.valueOf(employee.getDateOfJoining()));
+        statement.setBoolean(9, employee.getIsActive());
+        statement.setBoolean(10, employee.getIsDeleted());
+        statement.setTimestamp(11, Timestamp.valueOf(employee.getCreatedAt()));
+        statement.setTimestamp(12, Timestamp.valueOf(employee.getUpdatedAt()));
+        statement.setString(13, employee.getFirstNameNorm());
+        statement.setString(14, employee.getLastNameNorm());
+        statement.setString(15, employee.getDepartmentNorm());
+    }
+}
@@ -1,33 +1,29 @@
 package com.Ems.EmployeeManagmentSystem.Repository;
 
 import com.Ems.EmployeeManagmentSystem.Entity.Employee;
-import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+/**
+ * Admin search goes through {@link JpaSpecificationExecutor} with {@link EmployeeSpecifications#matching}.
+ */
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeExportRepository, EmployeeImportRepository {
 
-    @Query("""
-        SELECT e FROM Employee e
-        WHERE (:name IS NULL OR LOWER(e.firstName) LIKE LOWER(CONCAT('%', :name, '%'))
-                          OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :name, '%')))
-          AND (:status IS NULL OR e.status = :status)
-          AND (:department IS NULL OR LOWER(e.department) LIKE LOWER(CONCAT('%', :department, '%')))
-          AND (:isActive IS NULL OR e.isActive = :isActive)
-    """)
-    Page<Employee> findByFilters(
-            @Param("name") String name,
-            @Param("status") EmployeeStatus status,
-            @Param("department") String department,
-            @Param("isActive") Boolean isActive,
-            Pageable pageable
-    );
-
-    boolean existsByEmail(String email);
-
-    boolean existsByEmailAndIdNot(String email, Long id);
+    /**
+     * Highest number among the employee codes starting with {@code prefix}, e.g. 41 for
+     * {@code EMP-2025-000041}. Compared as numbers: the padding only sets a minimum width, so
+     * {@code EMP-2025-1000000} sorts below {@code EMP-2025-999999} as a string. Codes whose rest
+     * is not all digits, such as imported ones, are skipped instead of failing the cast.
+     * Native, since JPQL has no regular expressions; MySQL and H2 both read {@code REGEXP}.
+     */
+    @Query(value = """
+            SELECT MAX(CAST(SUBSTRING(employee_code, LENGTH(:prefix) + 1) AS DECIMAL(20))) FROM employee
+            WHERE employee_code LIKE CONCAT(:prefix, '%')
+              AND SUBSTRING(employee_code, LENGTH(:prefix) + 1) REGEXP '^[0-9]+$'
+            """, nativeQuery = true)
+    Long findMaxEmployeeNumber(@Param("prefix") String prefix);
 
 }
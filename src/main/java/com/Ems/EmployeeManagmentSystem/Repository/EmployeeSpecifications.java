@@ -0,0 +1,105 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeCursor;
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeSortField;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.MatchMode;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Employee search for the admin listing. Only the filters that are set become predicates, and each
+ * one is written so an index on {@code employee} can serve it: equality for status, department and
+ * the active flag, and {@code LIKE} for names. Names and department are compared through their
+ * lower-cased {@code *_norm} columns with input folded by {@link Employee#normalizeForSearch}, so
+ * the match is case-insensitive without calling {@code LOWER()} on the table.
+ */
+public final class EmployeeSpecifications {
+
+    // Not a backslash, which MySQL string literals and HQL would each want escaped again
+    static final char LIKE_ESCAPE = '!';
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(String name, MatchMode matchMode, EmployeeStatus status,
+                                                   String department, Boolean isActive) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(4);
+            if (name != null && !name.isBlank()) {
+                String pattern = namePattern(name, matchMode);
+                // In prefix mode a range scan of idx_employee_first_name_norm and _last_name_norm each
+                predicates.add(cb.or(
+                        cb.like(root.get("firstNameNorm"), pattern, LIKE_ESCAPE),
+                        cb.like(root.get("lastNameNorm"), pattern, LIKE_ESCAPE)));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (department != null && !department.isBlank()) {
+                predicates.add(cb.equal(root.get("departmentNorm"), Employee.normalizeForSearch(department)));
+            }
+            if (isActive != null) {
+                predicates.add(cb.equal(root.get("isActive"), isActive));
+            }
+            // No WHERE at all rather than an empty conjunction, which Hibernate renders as 1=1
+            return predicates.isEmpty() ? null : cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Rows after {@code cursor} in {@link #newestFirst} order, or every row for a null cursor. Written
+     * as {@code key < :key OR (key = :key AND id < :id)} so an index ending in the sort key seeks
+     * straight to the position; InnoDB secondary indexes carry the id after the key.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Employee> after(EmployeeCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            Expression<Long> id = root.get("id");
+            if (cursor.getSortBy() == EmployeeSortField.ID) {
+                return cb.lessThan(id, cursor.getId());
+            }
+            Expression<Comparable> key = root.get(cursor.getSortBy().getProperty());
+            Comparable value = cursor.getSortBy().parseKey(cursor.getKey());
+            return cb.or(
+                    cb.lessThan(key, value),
+                    cb.and(cb.equal(key, value), cb.lessThan(id, cursor.getId())));
+        };
+    }
+
+    /**
+     * Descending by {@code sortBy}, then by id, so rows sharing a key keep one order between pages.
+     */
+    public static Sort newestFirst(EmployeeSortField sortBy) {
+        Sort byId = Sort.by(Sort.Direction.DESC, "id");
+        return sortBy == EmployeeSortField.ID ? byId : Sort.by(Sort.Direction.DESC, sortBy.getProperty()).and(byId);
+    }
+
+    /**
+     * The normalized name as {@code name%}, or {@code %name%} in CONTAINS mode, with the wildcards a
+     * user may type matched literally. A null mode is PREFIX.
+     */
+    static String namePattern(String name, MatchMode matchMode) {
+        String value = Employee.normalizeForSearch(name);
+        StringBuilder pattern = new StringBuilder(value.length() + 2);
+        if (matchMode == MatchMode.CONTAINS) {
+            pattern.append('%');
+        }
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
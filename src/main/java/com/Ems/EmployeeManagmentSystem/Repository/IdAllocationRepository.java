@@ -0,0 +1,23 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.IdAllocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface IdAllocationRepository extends JpaRepository<IdAllocation, String> {
+
+    /**
+     * Moves the sequence forward by {@code count}; the row stays locked until the transaction
+     * ends. Returns 0 when the sequence has no row yet.
+     */
+    @Modifying
+    @Query("UPDATE IdAllocation a SET a.nextValue = a.nextValue + :count WHERE a.name = :name")
+    int advance(@Param("name") String name, @Param("count") long count);
+
+    @Query("SELECT a.nextValue FROM IdAllocation a WHERE a.name = :name")
+    Optional<Long> findNextValue(@Param("name") String name);
+}
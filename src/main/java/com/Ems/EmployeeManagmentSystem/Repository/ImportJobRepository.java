@@ -0,0 +1,45 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.ImportJob;
+import com.Ems.EmployeeManagmentSystem.Enum.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    /**
+     * Moves the checkpoint of a job; called inside the transaction of the batch it covers.
+     */
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.rowsValid = :rowsValid, j.rowsInserted = :rowsInserted, j.rowsUpdated = :rowsUpdated, " +
+            "j.rowsUnchanged = :rowsUnchanged, j.rowsRejected = :rowsRejected, " +
+            "j.lastCommittedRow = :lastCommittedRow, j.rejectedFileSize = :rejectedFileSize WHERE j.id = :id")
+    int updateCheckpoint(@Param("id") String id,
+                         @Param("rowsValid") long rowsValid,
+                         @Param("rowsInserted") long rowsInserted,
+                         @Param("rowsUpdated") long rowsUpdated,
+                         @Param("rowsUnchanged") long rowsUnchanged,
+                         @Param("rowsRejected") long rowsRejected,
+                         @Param("lastCommittedRow") long lastCommittedRow,
+                         @Param("rejectedFileSize") long rejectedFileSize);
+
+    /**
+     * Moves a job from one status to another if it is still in the first one. Returns 0 when
+     * another request or node got there first.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :to WHERE j.id = :id AND j.status = :from")
+    int transition(@Param("id") String id, @Param("from") ImportJobStatus from, @Param("to") ImportJobStatus to);
+
+    List<ImportJob> findByStatusIn(Collection<ImportJobStatus> statuses);
+
+    List<ImportJob> findByStatusInAndFinishedAtBefore(Collection<ImportJobStatus> statuses, LocalDateTime cutoff);
+}
@@ -0,0 +1,89 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs keyset batch queries for exports on a Hibernate {@link StatelessSession}.
+ * Rows come back detached and nothing is kept in a persistence context, so the heap used by an
+ * export is bounded by one batch regardless of table size.
+ *
+ * <p>When an {@code exportDataSource} bean exists the sessions run on its connections, so export
+ * reads never compete with the CRUD endpoints for the main pool.
+ *
+ * <p>Not a bean: each export repository fragment builds its own from the persistence unit, so the
+ * fragments come up wherever the repositories do, JPA test slices included.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class StatelessBatchReader {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ObjectProvider<DataSource> exportDataSource;
+
+    public <T> List<T> readBatch(String hql, Class<T> resultType, Long lastId, int batchSize) {
+        return readBatch(hql, resultType, lastId, batchSize, Map.of());
+    }
+
+    /**
+     * Same as {@link #readBatch(String, Class, Long, int)} with additional named parameters bound
+     * alongside {@code :lastId}.
+     */
+    public <T> List<T> readBatch(String hql, Class<T> resultType, Long lastId, int batchSize,
+                                 Map<String, Object> parameters) {
+        Map<String, Object> withLastId = new HashMap<>(parameters);
+        withLastId.put("lastId", lastId);
+        return readBatch(hql, resultType, batchSize, withLastId);
+    }
+
+    /**
+     * Runs {@code hql} with the given named parameters, for queries that seek on something other
+     * than the id alone.
+     */
+    public <T> List<T> readBatch(String hql, Class<T> resultType, int batchSize, Map<String, Object> parameters) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        DataSource dataSource = exportDataSource.getIfAvailable();
+
+        if (dataSource == null) {
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                return runQuery(session, hql, resultType, batchSize, parameters);
+            }
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             StatelessSession session = sessionFactory.withStatelessOptions().connection(connection).openStatelessSession()) {
+            return runQuery(session, hql, resultType, batchSize, parameters);
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Failed to obtain a connection from the export pool", e);
+        }
+    }
+
+    private <T> List<T> runQuery(StatelessSession session, String hql, Class<T> resultType, int batchSize,
+                                 Map<String, Object> parameters) {
+        SelectionQuery<T> query = session.createSelectionQuery(hql, resultType);
+        parameters.forEach(query::setParameter);
+
+        List<T> rows = query
+                .setMaxResults(batchSize)
+                .setFetchSize(batchSize)
+                .setReadOnly(true)
+                .getResultList();
+
+        log.debug("Read {} {} rows with {}", rows.size(), resultType.getSimpleName(), parameters);
+        return rows;
+    }
+}
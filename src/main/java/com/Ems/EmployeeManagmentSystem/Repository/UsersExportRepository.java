@@ -0,0 +1,30 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UsersExportRepository {
+
+    /**
+     * Seek-based batch for exports: returns the next {@code limit} users after {@code lastId}
+     * in id order, read on a stateless session.
+     */
+    List<Users> findExportBatch(Long lastId, Limit limit);
+
+    /**
+     * Delta batch: the next {@code limit} users, in {@code (updatedAt, id)} order, that were saved
+     * after {@code after} and not after {@code upTo}. Soft-deleted users are included.
+     */
+    List<Users> findChangedBatch(ExportWatermark after, ExportWatermark upTo, Limit limit);
+
+    /**
+     * Watermark of the most recently saved user with {@code updatedAt} before {@code before}, or
+     * empty when there is none.
+     */
+    Optional<ExportWatermark> findLatestWatermark(LocalDateTime before);
+}
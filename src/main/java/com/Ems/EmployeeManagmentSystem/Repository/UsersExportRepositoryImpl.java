@@ -0,0 +1,68 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class UsersExportRepositoryImpl implements UsersExportRepository {
+
+    private static final String EXPORT_BATCH_QUERY = """
+            SELECT u FROM Users u
+            LEFT JOIN FETCH u.employee
+            WHERE u.id > :lastId
+            ORDER BY u.id ASC
+            """;
+
+    private static final String CHANGED_BATCH_QUERY = """
+            SELECT u FROM Users u
+            LEFT JOIN FETCH u.employee
+            WHERE (u.updatedAt > :afterAt OR (u.updatedAt = :afterAt AND u.id > :afterId))
+              AND (u.updatedAt < :upToAt OR (u.updatedAt = :upToAt AND u.id <= :upToId))
+            ORDER BY u.updatedAt ASC, u.id ASC
+            """;
+
+    private static final String LATEST_WATERMARK_QUERY = """
+            SELECT new com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark(u.updatedAt, u.id)
+            FROM Users u
+            WHERE u.updatedAt < :before
+            ORDER BY u.updatedAt DESC, u.id DESC
+            """;
+
+    private final StatelessBatchReader statelessBatchReader;
+
+    public UsersExportRepositoryImpl(EntityManagerFactory entityManagerFactory,
+                                     @Qualifier("exportDataSource") ObjectProvider<DataSource> exportDataSource) {
+        this.statelessBatchReader = new StatelessBatchReader(entityManagerFactory, exportDataSource);
+    }
+
+    @Override
+    public List<Users> findExportBatch(Long lastId, Limit limit) {
+        return statelessBatchReader.readBatch(EXPORT_BATCH_QUERY, Users.class, lastId, limit.max());
+    }
+
+    @Override
+    public List<Users> findChangedBatch(ExportWatermark after, ExportWatermark upTo, Limit limit) {
+        Map<String, Object> parameters = Map.of(
+                "afterAt", after.getUpdatedAt(),
+                "afterId", after.getId(),
+                "upToAt", upTo.getUpdatedAt(),
+                "upToId", upTo.getId());
+        return statelessBatchReader.readBatch(CHANGED_BATCH_QUERY, Users.class, limit.max(), parameters);
+    }
+
+    @Override
+    public Optional<ExportWatermark> findLatestWatermark(LocalDateTime before) {
+        return statelessBatchReader.readBatch(LATEST_WATERMARK_QUERY, ExportWatermark.class, 1, Map.of("before", before))
+                .stream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,22 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Users;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface UsersImportRepository {
+
+    /**
+     * Returns which of {@code emails} are already registered, lower-cased.
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Inserts {@code users} as one JDBC batch and sets their generated ids. Passwords must already
+     * be encoded and audit timestamps set, since this bypasses the persistence context. Joins the
+     * caller's transaction.
+     */
+    void insertBatch(List<Users> users);
+}
@@ -0,0 +1,80 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class UsersImportRepositoryImpl implements UsersImportRepository {
+
+    private static final String EXISTING_EMAILS_QUERY = "SELECT email FROM users WHERE email IN (:emails)";
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (email, password, role, is_active, is_deleted, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return namedParameterJdbcTemplate.queryForList(EXISTING_EMAILS_QUERY, Map.of("emails", emails), String.class)
+                .stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void insertBatch(List<Users> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        // Ids come from AUTO_INCREMENT, which Hibernate cannot batch; the driver returns one key per row
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        setRow(statement, users.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                }, keys);
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setId(((Number) keyList.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    private static void setRow(PreparedStatement statement, Users user) throws SQLException {
+        statement.setString(1, user.getEmail());
+        statement.setString(2, user.getPassword());
+        statement.setString(3, user.getRole().name());
+        statement.setBoolean(4, user.getIsActive());
+        statement.setBoolean(5, user.getIsDeleted());
+        statement.setTimestamp(6, Timestamp.valueOf(user.getCreatedAt()));
+        statement.setTimestamp(7, Timestamp.valueOf(user.getUpdatedAt()));
+    }
+}
@@ -7,7 +7,7 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface UsersRepository extends JpaRepository<Users, Long> {
+public interface UsersRepository extends JpaRepository<Users, Long>, UsersExportRepository, UsersImportRepository {
     Optional<Users> findByEmail(String email);
 
     Optional<Users> findByEmailAndIsActiveTrueAndIsDeletedFalse(String email);
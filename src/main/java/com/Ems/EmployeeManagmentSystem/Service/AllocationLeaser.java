@@ -0,0 +1,62 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Entity.IdAllocation;
+import com.Ems.EmployeeManagmentSystem.Repository.IdAllocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Leases ranges of values from the {@code id_allocation} table. A lease is one UPDATE in its own
+ * short transaction, which keeps the row lock out of the caller's transaction; nodes sharing the
+ * table never get overlapping ranges. Values leased but never used are skipped, never reused.
+ */
+@Component
+@Slf4j
+public class AllocationLeaser {
+
+    private final IdAllocationRepository idAllocationRepository;
+    private final TransactionTemplate leaseTransaction;
+
+    public AllocationLeaser(IdAllocationRepository idAllocationRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.idAllocationRepository = idAllocationRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Leases {@code count} consecutive values of the {@code name} row and returns the first one.
+     * A missing row is created first, starting at {@code initialValue}.
+     */
+    public long lease(String name, long count, LongSupplier initialValue) {
+        try {
+            return leaseOnce(name, count, initialValue);
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the row first; its row is there now
+            log.debug("Allocation row {} was created concurrently, retrying the lease", name);
+            return leaseOnce(name, count, initialValue);
+        }
+    }
+
+    private long leaseOnce(String name, long count, LongSupplier initialValue) {
+        Long first = leaseTransaction.execute(status -> {
+            if (idAllocationRepository.advance(name, count) == 0) {
+                long start = initialValue.getAsLong();
+                log.info("Creating allocation row {} starting at {}", name, start);
+                idAllocationRepository.saveAndFlush(new IdAllocation(name, start));
+                idAllocationRepository.advance(name, count);
+            }
+            long next = idAllocationRepository.findNextValue(name)
+                    .orElseThrow(() -> new IllegalStateException("Allocation row " + name + " is missing"));
+            return next - count;
+        });
+        log.debug("Leased [{}, {}) of {}", first, first + count, name);
+        return first;
+    }
+}
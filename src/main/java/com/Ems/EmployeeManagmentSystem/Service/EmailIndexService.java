@@ -0,0 +1,245 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Every email in {@code employee} and {@code users}, kept in memory as 64-bit hashes so a
+ * duplicate check for a new address does not need the database. A miss means the email is
+ * certainly free (as far as this node knows) and the unique constraint stays the final guard;
+ * a hit may be a stale entry or a hash collision, so callers confirm it with a query.
+ * <p>
+ * The index is preloaded once the application is ready, in keyset pages of
+ * {@code load-batch-size} rows; until then, or if loading failed, every email is reported as
+ * possibly taken and callers fall back to the database. Inserts and email changes are added by
+ * the services that make them. Deletes are soft and keep the address taken, so they leave the
+ * index alone. About 16 bytes per email.
+ */
+@Service
+@Slf4j
+public class EmailIndexService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int loadBatchSize;
+    private final Map<EmailScope, EmailHashSet> indexes = new EnumMap<>(EmailScope.class);
+    private volatile boolean loaded;
+
+    public EmailIndexService(JdbcTemplate jdbcTemplate,
+                             @Value("${employee.email-index.load-batch-size:10000}") int loadBatchSize) {
+        if (loadBatchSize < 1) {
+            throw new IllegalArgumentException("Email index load batch size must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.loadBatchSize = loadBatchSize;
+        for (EmailScope scope : EmailScope.values()) {
+            indexes.put(scope, new EmailHashSet());
+        }
+    }
+
+    /**
+     * Loads the emails of every scope. Inserts running meanwhile go into the same sets, so none
+     * is lost; the index only answers from memory once every scope is loaded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        try {
+            for (EmailScope scope : EmailScope.values()) {
+                long rows = load(scope);
+                log.info("Loaded {} {} emails into the email index", rows, scope.getTable());
+            }
+            loaded = true;
+            log.info("Email index ready in {}ms", System.currentTimeMillis() - start);
+        } catch (DataAccessException e) {
+            log.warn("Loading the email index failed, duplicate checks will query the database", e);
+        }
+    }
+
+    private long load(EmailScope scope) {
+        EmailHashSet index = indexes.get(scope);
+        long[] lastId = {0};
+        long total = 0;
+        int rows;
+        do {
+            int[] count = {0};
+            // The table name comes from the enum, never from input
+            jdbcTemplate.query("SELECT id, email FROM " + scope.getTable() + " WHERE id > ? ORDER BY id LIMIT ?",
+                    rs -> {
+                        lastId[0] = rs.getLong(1);
+                        String email = rs.getString(2);
+                        if (email != null) {
+                            index.add(hash(email));
+                        }
+                        count[0]++;
+                    }, lastId[0], loadBatchSize);
+            rows = count[0];
+            total += rows;
+        } while (rows == loadBatchSize);
+        return total;
+    }
+
+    /**
+     * False only if {@code email} is certainly not in the scope's table; true means "check the
+     * database".
+     */
+    public boolean mightExist(EmailScope scope, String email) {
+        return !loaded || email == null || indexes.get(scope).contains(hash(email));
+    }
+
+    /**
+     * The emails of {@code emails} that might already be taken, in order; only these need a query.
+     */
+    public List<String> filterMightExist(EmailScope scope, Collection<String> emails) {
+        if (!loaded) {
+            return new ArrayList<>(emails);
+        }
+        EmailHashSet index = indexes.get(scope);
+        List<String> candidates = new ArrayList<>();
+        for (String email : emails) {
+            if (email == null || index.contains(hash(email))) {
+                candidates.add(email);
+            }
+        }
+        return candidates;
+    }
+
+    public void add(EmailScope scope, String email) {
+        if (email != null) {
+            indexes.get(scope).add(hash(email));
+        }
+    }
+
+    public void addAll(EmailScope scope, Collection<String> emails) {
+        for (String email : emails) {
+            add(scope, email);
+        }
+    }
+
+    /**
+     * Only for an email that was changed away from; a wrong removal would merely leave the
+     * unique constraint to catch the duplicate.
+     */
+    public void remove(EmailScope scope, String email) {
+        if (email != null) {
+            indexes.get(scope).remove(hash(email));
+        }
+    }
+
+    public int size(EmailScope scope) {
+        return indexes.get(scope).size();
+    }
+
+    /**
+     * Emails compare case-insensitively, like the database collation.
+     */
+    static long hash(String email) {
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        // FNV-1a over the chars, then the MurmurHash3 finalizer so the low bits used as the slot
+        // index depend on every char
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        // 0 marks an empty slot
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Open-addressing set of non-zero longs with linear probing, kept at most half full.
+     * Removal shifts the following entries back instead of leaving tombstones.
+     */
+    private static final class EmailHashSet {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private long[] slots = new long[INITIAL_CAPACITY];
+        private int size;
+
+        synchronized boolean contains(long hash) {
+            int mask = slots.length - 1;
+            for (int i = (int) hash & mask; slots[i] != 0; i = (i + 1) & mask) {
+                if (slots[i] == hash) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void add(long hash) {
+            if ((size + 1) * 2 > slots.length) {
+                resize(slots.length * 2);
+            }
+            if (insert(slots, hash)) {
+                size++;
+            }
+        }
+
+        synchronized void remove(long hash) {
+            int mask = slots.length - 1;
+            int i = (int) hash & mask;
+            while (slots[i] != hash) {
+                if (slots[i] == 0) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            // Pull back every following entry whose home slot is not between the gap and itself
+            for (int j = (i + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+                int home = (int) slots[j] & mask;
+                boolean reachable = i <= j ? i < home && home <= j : i < home || home <= j;
+                if (!reachable) {
+                    slots[i] = slots[j];
+                    i = j;
+                }
+            }
+            slots[i] = 0;
+            size--;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private void resize(int capacity) {
+            long[] resized = new long[capacity];
+            for (long hash : slots) {
+                if (hash != 0) {
+                    insert(resized, hash);
+                }
+            }
+            slots = resized;
+        }
+
+        private static boolean insert(long[] table, long hash) {
+            int mask = table.length - 1;
+            int i = (int) hash & mask;
+            while (table[i] != 0) {
+                if (table[i] == hash) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = hash;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeBulkUpdateRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeBulkResultDTO;
+
+import java.util.List;
+
+public interface EmployeeBulkService {
+
+    /**
+     * Creates the valid items in one transaction, inserted as a single JDBC batch. Items that fail
+     * the {@code EmployeeRequestDTO} constraints or whose email is taken, in the table or by an
+     * earlier item, are rejected and reported; the others are still created. Like imported
+     * employees, the new employees are not linked to a user.
+     */
+    EmployeeBulkResultDTO createEmployees(List<EmployeeRequestDTO> requests);
+
+    /**
+     * Replaces the fields of the employees named by the items' ids in one transaction, written as
+     * a single JDBC batch of the changed ones. Items for missing, inactive or deleted employees,
+     * repeated ids and emails taken by another employee are rejected and reported; the others are
+     * still updated.
+     */
+    EmployeeBulkResultDTO updateEmployees(List<EmployeeBulkUpdateRequestDTO> requests);
+}
@@ -0,0 +1,377 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeBulkUpdateRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeBulkItemResultDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeBulkResultDTO;
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Enum.BulkItemStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import com.Ems.EmployeeManagmentSystem.Enum.IdSequence;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ConstraintViolations;
+import com.Ems.EmployeeManagmentSystem.Mapper.EmployeeMapper;
+import com.Ems.EmployeeManagmentSystem.Repository.EmployeeRepository;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class EmployeeBulkServiceImpl implements EmployeeBulkService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeMapper employeeMapper;
+    private final IdBlockAllocator idBlockAllocator;
+    private final EmployeeCodeGenerator employeeCodeGenerator;
+    private final EmailIndexService emailIndexService;
+    private final EmployeeCountCache employeeCountCache;
+    private final Validator validator;
+    // A savepoint inside the request's transaction, so a failed batch can be retried
+    private final TransactionTemplate batchTransaction;
+
+    @Value("${employee.bulk.max-items:1000}")
+    private int maxItems;
+
+    public EmployeeBulkServiceImpl(EmployeeRepository employeeRepository,
+                                   EmployeeMapper employeeMapper,
+                                   IdBlockAllocator idBlockAllocator,
+                                   EmployeeCodeGenerator employeeCodeGenerator,
+                                   EmailIndexService emailIndexService,
+                                   EmployeeCountCache employeeCountCache,
+                                   Validator validator,
+                                   PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.employeeMapper = employeeMapper;
+        this.idBlockAllocator = idBlockAllocator;
+        this.employeeCodeGenerator = employeeCodeGenerator;
+        this.emailIndexService = emailIndexService;
+        this.employeeCountCache = employeeCountCache;
+        this.validator = validator;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+
+    @Override
+    @Transactional
+    public EmployeeBulkResultDTO createEmployees(List<EmployeeRequestDTO> requests) {
+        checkSize(requests);
+        log.info("Bulk create of {} employees", requests.size());
+
+        EmployeeBulkItemResultDTO[] results = new EmployeeBulkItemResultDTO[requests.size()];
+        Map<Integer, EmployeeRequestDTO> accepted = new HashMap<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EmployeeRequestDTO request = requests.get(i);
+            String error = validate(request);
+            if (error == null && !emails.add(request.getEmail().toLowerCase(Locale.ROOT))) {
+                error = "Duplicate email in request: " + request.getEmail();
+            }
+            if (error != null) {
+                results[i] = rejected(i, request, error);
+            } else {
+                accepted.put(i, request);
+            }
+        }
+
+        // One query for every email the index cannot rule out
+        Set<String> existingEmails = findExistingEmails(accepted.values().stream().map(EmployeeRequestDTO::getEmail).toList());
+
+        List<Employee> employees = new ArrayList<>(accepted.size());
+        List<Integer> positions = new ArrayList<>(accepted.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < requests.size(); i++) {
+            EmployeeRequestDTO request = accepted.get(i);
+            if (request == null) {
+                continue;
+            }
+            if (existingEmails.contains(request.getEmail().toLowerCase(Locale.ROOT))) {
+                results[i] = rejected(i, request, "Employee already exists with email " + request.getEmail());
+                continue;
+            }
+            Employee employee = employeeMapper.toEntity(withUpperCaseStatus(request));
+            employee.setIsActive(true);
+            employee.setIsDeleted(false);
+            employee.setCreatedAt(now);
+            employee.setUpdatedAt(now);
+            employees.add(employee);
+            positions.add(i);
+        }
+
+        if (!employees.isEmpty()) {
+            long nextId = idBlockAllocator.reserve(IdSequence.EMPLOYEE, employees.size());
+            for (Employee employee : employees) {
+                employee.setId(nextId++);
+                employee.setEmployeeCode(employeeCodeGenerator.next());
+            }
+            insertBatch(employees, positions, requests, results);
+        }
+        if (!employees.isEmpty()) {
+            emailIndexService.addAll(EmailScope.EMPLOYEE, employees.stream().map(Employee::getEmail).toList());
+            employeeCountCache.invalidate();
+        }
+        for (int k = 0; k < employees.size(); k++) {
+            results[positions.get(k)] = succeeded(positions.get(k), BulkItemStatus.CREATED, employees.get(k));
+        }
+
+        EmployeeBulkResultDTO result = summarize(results);
+        log.info("Bulk create finished: {} created, {} rejected", result.getSucceededItems(), result.getRejectedItems());
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public EmployeeBulkResultDTO updateEmployees(List<EmployeeBulkUpdateRequestDTO> requests) {
+        checkSize(requests);
+        log.info("Bulk update of {} employees", requests.size());
+
+        EmployeeBulkItemResultDTO[] results = new EmployeeBulkItemResultDTO[requests.size()];
+        Map<Integer, EmployeeBulkUpdateRequestDTO> accepted = new HashMap<>();
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EmployeeBulkUpdateRequestDTO request = requests.get(i);
+            String error = validate(request);
+            if (error == null && !ids.add(request.getId())) {
+                error = "Duplicate employee id in request: " + request.getId();
+            }
+            if (error != null) {
+                results[i] = rejected(i, request, error);
+            } else {
+                accepted.put(i, request);
+            }
+        }
+
+        Map<Long, Employee> targets = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        List<String> newEmails = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EmployeeBulkUpdateRequestDTO request = accepted.get(i);
+            if (request == null) {
+                continue;
+            }
+            Employee employee = targets.get(request.getId());
+            String error = null;
+            if (employee == null) {
+                error = "Employee not found with ID " + request.getId();
+            } else if (!Boolean.TRUE.equals(employee.getIsActive()) || Boolean.TRUE.equals(employee.getIsDeleted())) {
+                error = "Cannot update inactive or deleted employee with ID " + request.getId();
+            }
+            if (error != null) {
+                results[i] = rejected(i, request, error);
+                accepted.remove(i);
+            } else if (!request.getEmail().equalsIgnoreCase(employee.getEmail())) {
+                newEmails.add(request.getEmail());
+            }
+        }
+
+        // A new email is taken if any employee holds it, including one this request renames;
+        // swapping emails between employees takes two requests
+        Set<String> existingEmails = findExistingEmails(newEmails);
+        Set<String> claimedEmails = new HashSet<>();
+        Map<Integer, Employee> updated = new HashMap<>();
+        List<Employee> changed = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < requests.size(); i++) {
+            EmployeeBulkUpdateRequestDTO request = accepted.get(i);
+            if (request == null) {
+                continue;
+            }
+            Employee employee = targets.get(request.getId());
+            if (!request.getEmail().equalsIgnoreCase(employee.getEmail())) {
+                String email = request.getEmail().toLowerCase(Locale.ROOT);
+                if (existingEmails.contains(email) || !claimedEmails.add(email)) {
+                    results[i] = rejected(i, request, "Email " + request.getEmail() + " is already in use.");
+                    continue;
+                }
+            }
+            // Written as a copy, so a batch that fails leaves nothing dirty in the persistence context
+            Employee row = employeeMapper.toEntity(withUpperCaseStatus(request));
+            row.setId(employee.getId());
+            row.setEmployeeCode(employee.getEmployeeCode());
+            row.setIsActive(employee.getIsActive());
+            row.setIsDeleted(employee.getIsDeleted());
+            row.setCreatedAt(employee.getCreatedAt());
+            row.setUpdatedAt(now);
+            updated.put(i, row);
+            // Unchanged employees are not written at all
+            if (!employee.sameDetailsAs(row)) {
+                changed.add(row);
+                positions.add(i);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            updateBatch(changed, positions, targets, requests, results);
+        }
+        List<String> removedEmails = new ArrayList<>();
+        List<String> addedEmails = new ArrayList<>();
+        for (Employee row : changed) {
+            String previousEmail = targets.get(row.getId()).getEmail();
+            if (!row.getEmail().equalsIgnoreCase(previousEmail)) {
+                removedEmails.add(previousEmail);
+                addedEmails.add(row.getEmail());
+            }
+        }
+        emailIndexService.addAll(EmailScope.EMPLOYEE, addedEmails);
+        removedEmails.forEach(email -> emailIndexService.remove(EmailScope.EMPLOYEE, email));
+        if (!changed.isEmpty()) {
+            employeeCountCache.invalidate();
+        }
+        updated.forEach((i, row) -> {
+            if (results[i] == null) {
+                results[i] = succeeded(i, BulkItemStatus.UPDATED, row);
+            }
+        });
+
+        EmployeeBulkResultDTO result = summarize(results);
+        log.info("Bulk update finished: {} updated, {} rejected", result.getSucceededItems(), result.getRejectedItems());
+        return result;
+    }
+
+    /**
+     * Inserts {@code employees} in one batch. An employee created by someone else since the emails
+     * were checked fails the whole insert; the batch is then checked against the table again and
+     * inserted without the taken emails, whose items are rejected and dropped from
+     * {@code employees} and {@code positions}.
+     */
+    private void insertBatch(List<Employee> employees, List<Integer> positions, List<EmployeeRequestDTO> requests,
+                             EmployeeBulkItemResultDTO[] results) {
+        try {
+            batchTransaction.executeWithoutResult(status -> employeeRepository.insertBatch(employees));
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintViolations.violates(e, Employee.EMAIL_CONSTRAINT)) {
+                throw e;
+            }
+            log.info("Bulk create of {} employees raced another create, retrying without taken emails",
+                    employees.size());
+            Set<String> taken = employeeRepository.findExistingEmails(employees.stream().map(Employee::getEmail).toList());
+            emailIndexService.addAll(EmailScope.EMPLOYEE, taken);
+            for (int k = employees.size() - 1; k >= 0; k--) {
+                String email = employees.get(k).getEmail();
+                if (taken.contains(email.toLowerCase(Locale.ROOT))) {
+                    int index = positions.get(k);
+                    results[index] = rejected(index, requests.get(index), "Employee already exists with email " + email);
+                    employees.remove(k);
+                    positions.remove(k);
+                }
+            }
+            if (!employees.isEmpty()) {
+                batchTransaction.executeWithoutResult(status -> employeeRepository.insertBatch(employees));
+            }
+        }
+    }
+
+    /**
+     * Writes {@code employees} as one batch of UPDATEs, the way {@link #insertBatch} inserts. An
+     * email another employee took since the check fails the whole batch; the changed emails are
+     * then checked again and the batch is written without the taken ones, whose items are rejected
+     * and dropped from {@code employees} and {@code positions}.
+     */
+    private void updateBatch(List<Employee> employees, List<Integer> positions, Map<Long, Employee> targets,
+                             List<EmployeeBulkUpdateRequestDTO> requests, EmployeeBulkItemResultDTO[] results) {
+        try {
+            batchTransaction.executeWithoutResult(status -> employeeRepository.updateBatch(employees));
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintViolations.violates(e, Employee.EMAIL_CONSTRAINT)) {
+                throw e;
+            }
+            log.info("Bulk update of {} employees raced another write, retrying without taken emails",
+                    employees.size());
+            // An employee keeping its email holds it itself, so only changed emails are checked
+            List<Employee> renamed = employees.stream()
+                    .filter(employee -> !employee.getEmail().equalsIgnoreCase(targets.get(employee.getId()).getEmail()))
+                    .toList();
+            Set<String> taken = renamed.isEmpty() ? Set.of()
+                    : employeeRepository.findExistingEmails(renamed.stream().map(Employee::getEmail).toList());
+            emailIndexService.addAll(EmailScope.EMPLOYEE, taken);
+            for (int k = employees.size() - 1; k >= 0; k--) {
+                String email = employees.get(k).getEmail();
+                if (renamed.contains(employees.get(k)) && taken.contains(email.toLowerCase(Locale.ROOT))) {
+                    int index = positions.get(k);
+                    results[index] = rejected(index, requests.get(index), "Email " + email + " is already in use.");
+                    employees.remove(k);
+                    positions.remove(k);
+                }
+            }
+            if (!employees.isEmpty()) {
+                batchTransaction.executeWithoutResult(status -> employeeRepository.updateBatch(employees));
+            }
+        }
+    }
+
+    private void checkSize(List<?> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one employee is required");
+        }
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException(
+                    "At most " + maxItems + " employees can be sent at once, got " + requests.size());
+        }
+    }
+
+    private String validate(EmployeeRequestDTO request) {
+        if (request == null) {
+            return "Employee is required";
+        }
+        Set<ConstraintViolation<EmployeeRequestDTO>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Set<String> findExistingEmails(List<String> emails) {
+        List<String> candidates = emailIndexService.filterMightExist(EmailScope.EMPLOYEE, emails);
+        return candidates.isEmpty() ? Set.of() : employeeRepository.findExistingEmails(candidates);
+    }
+
+    // The status constraint accepts any case, the enum mapping does not
+    private static <T extends EmployeeRequestDTO> T withUpperCaseStatus(T request) {
+        request.setStatus(request.getStatus().toUpperCase(Locale.ROOT));
+        return request;
+    }
+
+    private static EmployeeBulkItemResultDTO rejected(int index, EmployeeRequestDTO request, String error) {
+        Long id = request instanceof EmployeeBulkUpdateRequestDTO update ? update.getId() : null;
+        String email = request != null ? request.getEmail() : null;
+        return new EmployeeBulkItemResultDTO(index, BulkItemStatus.REJECTED, id, null, email, error);
+    }
+
+    private static EmployeeBulkItemResultDTO succeeded(int index, BulkItemStatus status, Employee employee) {
+        return new EmployeeBulkItemResultDTO(index, status, employee.getId(), employee.getEmployeeCode(),
+                employee.getEmail(), null);
+    }
+
+    private static EmployeeBulkResultDTO summarize(EmployeeBulkItemResultDTO[] results) {
+        int rejected = (int) Arrays.stream(results).filter(item -> item.getStatus() == BulkItemStatus.REJECTED).count();
+        return EmployeeBulkResultDTO.builder()
+                .totalItems(results.length)
+                .succeededItems(results.length - rejected)
+                .rejectedItems(rejected)
+                .items(Arrays.asList(results))
+                .build();
+    }
+}
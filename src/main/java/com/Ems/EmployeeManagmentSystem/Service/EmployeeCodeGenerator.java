@@ -0,0 +1,160 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Year;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out {@code EMP-<year>-<nnnnnn>} codes from a counter per year, independent of the
+ * employee id. Each node leases blocks of {@code block-size} numbers from the
+ * {@code id_allocation} table (row {@code employee_code_<year>}), so nodes never clash, and takes
+ * numbers from its block with one atomic increment. Once a quarter of a block is left, the next
+ * block is leased on {@code codeRefillExecutor}, so an insert normally never waits for the table.
+ * Numbers leased but unused (restarts, failed inserts) leave gaps; codes are unique, not dense.
+ */
+@Component
+@Slf4j
+public class EmployeeCodeGenerator {
+
+    private static final String COUNTER_PREFIX = "employee_code_";
+
+    private final AllocationLeaser allocationLeaser;
+    private final EmployeeRepository employeeRepository;
+    private final Executor refillExecutor;
+    private final int blockSize;
+    private final Clock clock;
+    private final AtomicReference<CodeBlock> current = new AtomicReference<>();
+
+    @Autowired
+    public EmployeeCodeGenerator(AllocationLeaser allocationLeaser,
+                                 EmployeeRepository employeeRepository,
+                                 @Qualifier("codeRefillExecutor") Executor refillExecutor,
+                                 @Value("${employee.code-allocation.block-size:100}") int blockSize) {
+        this(allocationLeaser, employeeRepository, refillExecutor, blockSize, Clock.systemDefaultZone());
+    }
+
+    EmployeeCodeGenerator(AllocationLeaser allocationLeaser, EmployeeRepository employeeRepository,
+                          Executor refillExecutor, int blockSize, Clock clock) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Employee code block size must be at least 1");
+        }
+        this.allocationLeaser = allocationLeaser;
+        this.employeeRepository = employeeRepository;
+        this.refillExecutor = refillExecutor;
+        this.blockSize = blockSize;
+        this.clock = clock;
+    }
+
+    public String next() {
+        int year = Year.now(clock).getValue();
+        while (true) {
+            CodeBlock block = current.get();
+            if (block == null || block.year != year) {
+                startYear(block, year);
+                continue;
+            }
+
+            long number = block.next.getAndIncrement();
+            if (number < block.end) {
+                if (number >= block.refillAt) {
+                    prefetchSuccessor(block);
+                }
+                return format(year, number);
+            }
+
+            // Block used up: switch to its successor, waiting for the lease only if it is still running
+            current.compareAndSet(block, prefetchSuccessor(block).join());
+        }
+    }
+
+    /**
+     * Starts the lease of the block after {@code block} unless one is already running, and
+     * returns it. The compare-and-set makes sure each block has exactly one successor.
+     */
+    private CompletableFuture<CodeBlock> prefetchSuccessor(CodeBlock block) {
+        CompletableFuture<CodeBlock> successor = block.successor.get();
+        if (successor != null) {
+            return successor;
+        }
+        CompletableFuture<CodeBlock> lease = new CompletableFuture<>();
+        if (!block.successor.compareAndSet(null, lease)) {
+            return block.successor.get();
+        }
+        log.debug("Prefetching the next employee code block for {}", block.year);
+        try {
+            refillExecutor.execute(() -> {
+                try {
+                    lease.complete(leaseBlock(block.year));
+                } catch (RuntimeException e) {
+                    lease.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            lease.completeExceptionally(e);
+        }
+        // A failed lease is dropped so the next caller tries again
+        lease.whenComplete((leased, failure) -> {
+            if (failure != null) {
+                log.warn("Leasing employee codes for {} failed", block.year, failure);
+                block.successor.compareAndSet(lease, null);
+            }
+        });
+        return lease;
+    }
+
+    /**
+     * First block of a node, or first block of a new year. Leased synchronously; this happens
+     * once per year per node, so a lock here costs nothing on the hot path.
+     */
+    private synchronized void startYear(CodeBlock seen, int year) {
+        CodeBlock block = current.get();
+        if (block != seen || (block != null && block.year == year)) {
+            return;
+        }
+        current.set(leaseBlock(year));
+    }
+
+    private CodeBlock leaseBlock(int year) {
+        long first = allocationLeaser.lease(COUNTER_PREFIX + year, blockSize, () -> {
+            // Continue after the highest code already used this year, e.g. codes from before the counter
+            Long highest = employeeRepository.findMaxEmployeeNumber(prefix(year));
+            return highest == null ? 1 : highest + 1;
+        });
+        log.debug("Leased employee codes {} to {}", format(year, first), format(year, first + blockSize - 1));
+        return new CodeBlock(year, first, first + blockSize, first + blockSize - Math.max(1, blockSize / 4));
+    }
+
+    private static String prefix(int year) {
+        return "EMP-" + year + "-";
+    }
+
+    // At least six digits; past 999999 the codes simply grow wider
+    private static String format(int year, long number) {
+        return prefix(year) + String.format("%06d", number);
+    }
+
+    private static final class CodeBlock {
+        private final int year;
+        private final long end;
+        private final long refillAt;
+        private final AtomicLong next;
+        private final AtomicReference<CompletableFuture<CodeBlock>> successor = new AtomicReference<>();
+
+        private CodeBlock(int year, long start, long end, long refillAt) {
+            this.year = year;
+            this.end = end;
+            this.refillAt = refillAt;
+            this.next = new AtomicLong(start);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.MatchMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Totals of the admin listing, keyed by the filters as the search sees them (blank filters
+ * dropped, name and department normalized), so flipping through the pages of one search counts
+ * once. A total is reused for at most {@code staleness-ms} and dropped by any employee write on
+ * this node; writes on other nodes only show once it expires. A staleness of 0 turns the cache off.
+ * Holds at most {@code max-entries} searches and is cleared when full.
+ */
+@Component
+public class EmployeeCountCache {
+
+    record Key(String name, MatchMode matchMode, EmployeeStatus status, String department, Boolean isActive) {
+    }
+
+    private record Entry(long count, long loadedAt, long generation) {
+    }
+
+    private final long stalenessMs;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<Key, Entry> counts = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, so a count loaded across one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public EmployeeCountCache(@Value("${employee.listing.count-cache.staleness-ms:30000}") long stalenessMs,
+                              @Value("${employee.listing.count-cache.max-entries:1000}") int maxEntries) {
+        this(stalenessMs, maxEntries, Clock.systemUTC());
+    }
+
+    EmployeeCountCache(long stalenessMs, int maxEntries, Clock clock) {
+        if (stalenessMs < 0) {
+            throw new IllegalArgumentException("Count cache staleness must not be negative");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Count cache must hold at least 1 entry");
+        }
+        this.stalenessMs = stalenessMs;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    static Key key(String name, MatchMode matchMode, EmployeeStatus status, String department, Boolean isActive) {
+        boolean hasName = name != null && !name.isBlank();
+        return new Key(hasName ? Employee.normalizeForSearch(name) : null,
+                hasName ? (matchMode == null ? MatchMode.PREFIX : matchMode) : null,
+                status,
+                department != null && !department.isBlank() ? Employee.normalizeForSearch(department) : null,
+                isActive);
+    }
+
+    /**
+     * The cached total for the filters, or the one {@code counter} returns, which is then cached.
+     */
+    public long count(String name, MatchMode matchMode, EmployeeStatus status, String department, Boolean isActive,
+                      LongSupplier counter) {
+        if (stalenessMs == 0) {
+            return counter.getAsLong();
+        }
+        Key key = key(name, matchMode, status, department, isActive);
+        long now = clock.millis();
+        long current = generation.get();
+        Entry entry = counts.get(key);
+        if (entry != null && entry.generation == current && now - entry.loadedAt < stalenessMs) {
+            return entry.count;
+        }
+        long count = counter.getAsLong();
+        if (generation.get() == current) {
+            if (counts.size() >= maxEntries) {
+                counts.clear();
+            }
+            counts.put(key, new Entry(count, now, current));
+        }
+        return count;
+    }
+
+    /**
+     * Drops every total, now and again when the current transaction ends: a count taken between
+     * the write and its commit still sees the old rows.
+     */
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        counts.clear();
+    }
+}
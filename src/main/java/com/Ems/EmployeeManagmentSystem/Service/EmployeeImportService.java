@@ -0,0 +1,36 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Enum.ImportMode;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeImportResultDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface EmployeeImportService {
+
+    default EmployeeImportResultDTO importEmployees(MultipartFile file) throws IOException {
+        return importEmployees(file, ImportMode.INSERT);
+    }
+
+    /**
+     * Streams the uploaded CSV (same headers as the employee export) and writes the valid rows in
+     * JDBC batches of {@code employee.import.batch-size}, each batch in its own transaction. Rows
+     * that fail the {@code EmployeeRequestDTO} constraints, or that clash with an existing
+     * employee in a way {@code mode} does not allow, are skipped and reported; the rest of the
+     * file is still imported.
+     */
+    EmployeeImportResultDTO importEmployees(MultipartFile file, ImportMode mode) throws IOException;
+
+    default void importEmployees(InputStream csv, ImportProgress progress, ImportBatchListener listener) throws IOException {
+        importEmployees(csv, ImportMode.INSERT, progress, listener);
+    }
+
+    /**
+     * Streams {@code csv} into the employee table the same way, counting into {@code progress}.
+     * Rows up to {@code progress.getLastCommittedRow()} are skipped, so an import restored from a
+     * checkpoint continues after its last committed batch.
+     */
+    void importEmployees(InputStream csv, ImportMode mode, ImportProgress progress, ImportBatchListener listener)
+            throws IOException;
+}
@@ -0,0 +1,793 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.IdSequence;
+import com.Ems.EmployeeManagmentSystem.Enum.ImportMode;
+import com.Ems.EmployeeManagmentSystem.Repository.EmployeeRepository;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeImportResultDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.ImportRowErrorDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.ImportStageDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final String FIRST_NAME = "First Name";
+    private static final String LAST_NAME = "Last Name";
+    private static final String EMAIL = "Email";
+    private static final String DEPARTMENT = "Department";
+    private static final String STATUS = "Status";
+    private static final String DATE_OF_JOINING = "Date of Joining";
+    // Optional; in merge mode a row with a code updates that employee
+    private static final String EMPLOYEE_CODE = "Employee Code";
+
+    private static final List<String> REQUIRED_HEADERS =
+            List.of(FIRST_NAME, LAST_NAME, EMAIL, DEPARTMENT, STATUS, DATE_OF_JOINING);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int UTF8_BOM = '\uFEFF';
+
+    // Header names are matched case-insensitively and extra columns (e.g. Employee Code from an
+    // export) are ignored, so an export file can be imported back
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
+    private final EmployeeRepository employeeRepository;
+    private final IdBlockAllocator idBlockAllocator;
+    private final EmployeeCodeGenerator employeeCodeGenerator;
+    private final EmailIndexService emailIndexService;
+    private final EmployeeCountCache employeeCountCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${employee.import.batch-size}")
+    private int BATCH_SIZE;
+
+    // 0 runs one validator per core
+    @Value("${employee.import.pipeline.validators:0}")
+    private int validatorThreads;
+
+    @Value("${employee.import.pipeline.writers:2}")
+    private int writerThreads;
+
+    @Value("${employee.import.pipeline.chunk-size:256}")
+    private int chunkSize;
+
+    @Value("${employee.import.pipeline.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Override
+    public EmployeeImportResultDTO importEmployees(MultipartFile file, ImportMode mode) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("CSV file is required");
+        }
+        log.info("Starting CSV import of employees from {} ({} bytes) in {} mode",
+                file.getOriginalFilename(), file.getSize(), mode);
+        long startTime = System.currentTimeMillis();
+        ImportProgress progress = new ImportProgress();
+        List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+        try (InputStream in = file.getInputStream()) {
+            // Batches are reported one at a time in file order, so the first errors are the first rows
+            importEmployees(in, mode, progress, (batchProgress, rejectedRows) -> {
+                for (ImportBatchListener.RejectedRow row : rejectedRows) {
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new ImportRowErrorDTO(row.rowNumber(), row.email(), row.message()));
+                    }
+                }
+            });
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Employee CSV import completed. Rows: {}, Imported: {}, Updated: {}, Unchanged: {}, Rejected: {}, Duration: {}ms",
+                progress.getRowsParsed(), progress.getRowsInserted(), progress.getRowsUpdated(), progress.getRowsUnchanged(),
+                progress.getRowsRejected(), duration);
+
+        return EmployeeImportResultDTO.builder()
+                .totalRows(progress.getRowsParsed())
+                .importedRows(progress.getRowsInserted())
+                .updatedRows(progress.getRowsUpdated())
+                .unchangedRows(progress.getRowsUnchanged())
+                .rejectedRows(progress.getRowsRejected())
+                .durationMs(duration)
+                .errors(errors)
+                .stages(progress.getStages())
+                .build();
+    }
+
+    @Override
+    public void importEmployees(InputStream csv, ImportMode mode, ImportProgress progress, ImportBatchListener listener)
+            throws IOException {
+        try (Reader reader = skipBom(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+             CSVParser parser = CSV_FORMAT.parse(reader)) {
+
+            requireHeaders(parser.getHeaderMap());
+            new Pipeline(mode, progress, listener).run(parser);
+
+        } catch (IOException e) {
+            log.error("IO error during employee CSV import after {} rows", progress.getRowsParsed(), e);
+            throw e;
+        }
+
+        for (ImportStageDTO stage : progress.getStages()) {
+            log.info("Import stage {}: {} rows, {} rows/s, utilization {}", stage.getStage(), stage.getRowsProcessed(),
+                    Math.round(stage.getRowsPerSecond()), String.format("%.2f", stage.getUtilization()));
+        }
+    }
+
+    /**
+     * Checks a row against the {@link EmployeeRequestDTO} constraints and returns the reasons it
+     * is rejected, or null if it is valid.
+     */
+    private String validate(List<String> values) {
+        EmployeeRequestDTO request = new EmployeeRequestDTO();
+        request.setFirstName(value(values, FIRST_NAME));
+        request.setLastName(value(values, LAST_NAME));
+        request.setEmail(value(values, EMAIL));
+        request.setDepartment(value(values, DEPARTMENT));
+        request.setStatus(value(values, STATUS));
+
+        String dateOfJoining = value(values, DATE_OF_JOINING);
+        try {
+            request.setDateOfJoining(dateOfJoining != null ? LocalDate.parse(dateOfJoining) : null);
+        } catch (DateTimeParseException e) {
+            return "Date of joining must be in yyyy-MM-dd format";
+        }
+
+        Set<ConstraintViolation<EmployeeRequestDTO>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Employee toEmployee(List<String> values) {
+        LocalDateTime now = LocalDateTime.now();
+        Employee employee = new Employee();
+        employee.setFirstName(value(values, FIRST_NAME));
+        employee.setLastName(value(values, LAST_NAME));
+        employee.setEmail(value(values, EMAIL));
+        employee.setDepartment(value(values, DEPARTMENT));
+        employee.setStatus(EmployeeStatus.valueOf(value(values, STATUS).toUpperCase(Locale.ROOT)));
+        employee.setDateOfJoining(LocalDate.parse(value(values, DATE_OF_JOINING)));
+        employee.setIsActive(true);
+        employee.setIsDeleted(false);
+        employee.setCreatedAt(now);
+        employee.setUpdatedAt(now);
+        return employee;
+    }
+
+    /**
+     * One run of the import as a pipeline of stages that use different resources:
+     * <ol>
+     *     <li>parse: the calling thread reads the CSV stream and cuts it into chunks of raw rows;</li>
+     *     <li>validate: {@code validators} threads run the Bean Validation constraints on chunks in parallel;</li>
+     *     <li>dedupe: one thread puts the chunks back in file order, drops in-file duplicate emails
+     *     (and employee codes when merging) and cuts batches;</li>
+     *     <li>write: {@code writers} threads, one connection each, insert or merge the batches.</li>
+     * </ol>
+     * Stages hand over through bounded queues, so a slow stage throttles the ones before it
+     * instead of the file piling up in memory. Writers insert in parallel but commit one batch at
+     * a time in file order, so the checkpoint still means "every row up to here is committed".
+     */
+    private final class Pipeline {
+
+        private static final long POLL_MILLIS = 100;
+
+        private final ImportMode mode;
+        private final ImportProgress progress;
+        private final ImportBatchListener listener;
+        private final int validators;
+        private final int writers;
+        private final BlockingQueue<RawChunk> parsed;
+        private final BlockingQueue<CheckedChunk> checked;
+        private final BlockingQueue<Batch> batches;
+        // Bounds the chunks between parser and dedupe stage, including those waiting to be put back in order
+        private final Semaphore chunksInFlight;
+        private final ImportStageStats parseStats;
+        private final ImportStageStats validateStats;
+        private final ImportStageStats dedupeStats;
+        private final ImportStageStats writeStats;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final Object commitTurn = new Object();
+        private long nextCommit;
+
+        private Pipeline(ImportMode mode, ImportProgress progress, ImportBatchListener listener) {
+            this.mode = mode;
+            this.progress = progress;
+            this.listener = listener;
+            this.validators = validatorThreads > 0 ? validatorThreads : Runtime.getRuntime().availableProcessors();
+            this.writers = Math.max(1, writerThreads);
+            this.parsed = new ArrayBlockingQueue<>(queueCapacity);
+            this.checked = new ArrayBlockingQueue<>(queueCapacity);
+            this.batches = new ArrayBlockingQueue<>(writers);
+            this.chunksInFlight = new Semaphore(validators + 2 * queueCapacity);
+            this.parseStats = new ImportStageStats("parse", 1, null);
+            this.validateStats = new ImportStageStats("validate", validators, parsed);
+            this.dedupeStats = new ImportStageStats("dedupe", 1, checked);
+            this.writeStats = new ImportStageStats("write", writers, batches);
+            progress.startPipeline(List.of(parseStats, validateStats, dedupeStats, writeStats));
+        }
+
+        private void run(CSVParser parser) throws IOException {
+            ExecutorService threads = Executors.newFixedThreadPool(validators + 1 + writers,
+                    new CustomizableThreadFactory("employee-import-"));
+            try {
+                List<Future<?>> stages = new ArrayList<>();
+                for (int i = 0; i < validators; i++) {
+                    stages.add(threads.submit(() -> runStage(this::validateChunks)));
+                }
+                stages.add(threads.submit(() -> runStage(this::dedupe)));
+                for (int i = 0; i < writers; i++) {
+                    stages.add(threads.submit(() -> runStage(this::writeBatches)));
+                }
+                runStage(() -> parse(parser));
+                for (Future<?> stage : stages) {
+                    stage.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            } catch (ExecutionException e) {
+                fail(e.getCause());
+            } finally {
+                threads.shutdownNow();
+            }
+            rethrowFailure();
+        }
+
+        private void parse(CSVParser parser) throws InterruptedException {
+            long resumeAfter = progress.getLastCommittedRow();
+            long rowNumber = 0;
+            long seq = 0;
+            long start = System.nanoTime();
+            List<RawRow> rows = new ArrayList<>(chunkSize);
+
+            for (CSVRecord record : parser) {
+                // Rows up to the checkpoint were committed by an earlier run
+                if (++rowNumber <= resumeAfter) {
+                    continue;
+                }
+                progress.nextRow();
+                String employeeCode = record.isSet(EMPLOYEE_CODE) ? record.get(EMPLOYEE_CODE) : "";
+                rows.add(new RawRow(rowNumber, REQUIRED_HEADERS.stream()
+                        .map(header -> record.isSet(header) ? record.get(header) : "")
+                        .toList(), employeeCode.isEmpty() ? null : employeeCode));
+                if (rows.size() == chunkSize) {
+                    parseStats.record(rows.size(), System.nanoTime() - start);
+                    handOver(new RawChunk(seq++, rows));
+                    rows = new ArrayList<>(chunkSize);
+                    start = System.nanoTime();
+                }
+            }
+            if (!rows.isEmpty()) {
+                parseStats.record(rows.size(), System.nanoTime() - start);
+                handOver(new RawChunk(seq, rows));
+            }
+            for (int i = 0; i < validators; i++) {
+                put(parsed, RawChunk.END);
+            }
+        }
+
+        private void handOver(RawChunk chunk) throws InterruptedException {
+            while (!chunksInFlight.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkFailure();
+            }
+            put(parsed, chunk);
+        }
+
+        private void validateChunks() throws InterruptedException {
+            while (true) {
+                RawChunk chunk = take(parsed);
+                if (chunk == RawChunk.END) {
+                    put(checked, CheckedChunk.END);
+                    return;
+                }
+                long start = System.nanoTime();
+                List<CheckedRow> rows = new ArrayList<>(chunk.rows().size());
+                for (RawRow row : chunk.rows()) {
+                    String rejection = validate(row.values());
+                    Employee employee = null;
+                    if (rejection == null) {
+                        employee = toEmployee(row.values());
+                        if (mode == ImportMode.MERGE) {
+                            employee.setEmployeeCode(row.employeeCode());
+                        }
+                    }
+                    rows.add(new CheckedRow(row, employee, rejection));
+                }
+                validateStats.record(rows.size(), System.nanoTime() - start);
+                put(checked, new CheckedChunk(chunk.seq(), rows));
+            }
+        }
+
+        /**
+         * Single thread, so batches are cut in file order and the first occurrence of an email
+         * wins. The emails (and codes) seen are kept for the whole file: no two batches in flight
+         * can write the same email and block each other on the unique index.
+         */
+        private void dedupe() throws InterruptedException {
+            Map<Long, CheckedChunk> outOfOrder = new HashMap<>();
+            Set<String> emails = new HashSet<>();
+            Set<String> codes = new HashSet<>();
+            List<PendingEmployee> employees = new ArrayList<>(BATCH_SIZE);
+            List<ImportBatchListener.RejectedRow> rejectedRows = new ArrayList<>();
+            long nextChunk = 0;
+            long batchSeq = 0;
+            long lastRow = 0;
+            int validatorsDone = 0;
+
+            while (validatorsDone < validators) {
+                CheckedChunk chunk = take(checked);
+                if (chunk == CheckedChunk.END) {
+                    validatorsDone++;
+                    continue;
+                }
+                outOfOrder.put(chunk.seq(), chunk);
+
+                for (CheckedChunk next; (next = outOfOrder.remove(nextChunk)) != null; nextChunk++) {
+                    long start = System.nanoTime();
+                    long blocked = 0;
+                    for (CheckedRow row : next.rows()) {
+                        lastRow = row.row().rowNumber();
+                        String rejection = row.rejection();
+                        if (rejection == null && !emails.add(row.employee().getEmail().toLowerCase(Locale.ROOT))) {
+                            rejection = "Duplicate email in file: " + row.employee().getEmail();
+                        }
+                        String code = rejection == null ? row.employee().getEmployeeCode() : null;
+                        if (code != null && !codes.add(code.toUpperCase(Locale.ROOT))) {
+                            rejection = "Duplicate employee code in file: " + code;
+                        }
+                        if (rejection != null) {
+                            rejectedRows.add(new ImportBatchListener.RejectedRow(lastRow, row.row().values(), rejection));
+                        } else {
+                            employees.add(new PendingEmployee(lastRow, row.row().values(), row.employee(), code));
+                        }
+
+                        // Also cut a batch on rejections alone, so a file of bad rows is not held in memory
+                        if (employees.size() == BATCH_SIZE || rejectedRows.size() == BATCH_SIZE) {
+                            blocked += put(batches, new Batch(batchSeq++, employees, rejectedRows, lastRow));
+                            employees = new ArrayList<>(BATCH_SIZE);
+                            rejectedRows = new ArrayList<>();
+                        }
+                    }
+                    dedupeStats.record(next.rows().size(), System.nanoTime() - start - blocked);
+                    chunksInFlight.release();
+                }
+            }
+            if (!employees.isEmpty() || !rejectedRows.isEmpty()) {
+                put(batches, new Batch(batchSeq, employees, rejectedRows, lastRow));
+            }
+            for (int i = 0; i < writers; i++) {
+                put(batches, Batch.END);
+            }
+        }
+
+        private void writeBatches() throws InterruptedException {
+            while (true) {
+                Batch batch = take(batches);
+                if (batch == Batch.END) {
+                    return;
+                }
+                long start = System.nanoTime();
+                long waited = writeBatch(batch);
+                writeStats.record(batch.employees().size(), System.nanoTime() - start - waited);
+            }
+        }
+
+        private long writeBatch(Batch batch) {
+            if (mode == ImportMode.MERGE) {
+                try {
+                    return mergeBatch(batch);
+                } catch (DataIntegrityViolationException e) {
+                    // An email taken by a commit the match query could not lock; the retry matches
+                    // against it, so the row becomes an update or a rejection instead
+                    log.warn("Merge batch up to row {} hit a duplicate email, retrying against the current rows",
+                            batch.upToRow());
+                    batch.employees().forEach(this::resetMergedFields);
+                    return mergeBatch(batch);
+                }
+            }
+            try {
+                return writeBatch(batch, false);
+            } catch (DataIntegrityViolationException e) {
+                // An email the index has not seen, e.g. one inserted by another node; the batch was
+                // rolled back before its turn, so it can simply be written again
+                log.warn("Import batch up to row {} hit a duplicate email, retrying with every email checked",
+                        batch.upToRow());
+                return writeBatch(batch, true);
+            }
+        }
+
+        /**
+         * Inserts one batch in its own transaction: one query for the emails the email index
+         * cannot rule out (all of them if {@code checkAllEmails}), one lease of consecutive ids,
+         * and one batched INSERT that already carries the codes. Then waits for the batches before
+         * it to commit and moves the checkpoint to the batch's last row in the same transaction,
+         * so a resumed import neither skips nor repeats a row. Returns the time spent waiting for
+         * that turn.
+         */
+        private long writeBatch(Batch batch, boolean checkAllEmails) {
+            long[] waited = new long[1];
+            transactionTemplate.executeWithoutResult(status -> {
+                List<ImportBatchListener.RejectedRow> rejectedRows = new ArrayList<>(batch.rejectedRows());
+                List<Employee> employees = new ArrayList<>(batch.employees().size());
+                if (!batch.employees().isEmpty()) {
+                    List<String> emails = batch.employees().stream().map(pending -> pending.employee().getEmail()).toList();
+                    List<String> candidates = checkAllEmails
+                            ? emails
+                            : emailIndexService.filterMightExist(EmailScope.EMPLOYEE, emails);
+                    Set<String> existingEmails = candidates.isEmpty()
+                            ? Set.of()
+                            : employeeRepository.findExistingEmails(candidates);
+                    if (checkAllEmails) {
+                        emailIndexService.addAll(EmailScope.EMPLOYEE, existingEmails);
+                    }
+
+                    for (PendingEmployee pending : batch.employees()) {
+                        String email = pending.employee().getEmail();
+                        if (existingEmails.contains(email.toLowerCase(Locale.ROOT))) {
+                            rejectedRows.add(new ImportBatchListener.RejectedRow(pending.rowNumber(), pending.values(),
+                                    "Employee already exists with email " + email));
+                        } else {
+                            employees.add(pending.employee());
+                        }
+                    }
+                }
+
+                if (!employees.isEmpty()) {
+                    long nextId = idBlockAllocator.reserve(IdSequence.EMPLOYEE, employees.size());
+                    for (Employee employee : employees) {
+                        employee.setId(nextId++);
+                        employee.setEmployeeCode(employeeCodeGenerator.next());
+                    }
+                    employeeRepository.insertBatch(employees);
+                    emailIndexService.addAll(EmailScope.EMPLOYEE, employees.stream().map(Employee::getEmail).toList());
+                    employeeCountCache.invalidate();
+                }
+
+                waited[0] = awaitTurn(batch.seq());
+                rejectedRows.sort(Comparator.comparingLong(ImportBatchListener.RejectedRow::rowNumber));
+                progress.committed(batch.employees().size(), employees.size(), 0, 0, rejectedRows.size(), batch.upToRow());
+                try {
+                    listener.onBatch(progress, rejectedRows);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            passTurn();
+            log.debug("Committed import batch up to row {}, {} imported so far", batch.upToRow(), progress.getRowsInserted());
+            return waited[0];
+        }
+
+        /**
+         * Merges one batch in its own transaction. Which employee a row matches depends on what
+         * the batches before it wrote (a row may take an email an earlier row gave up), so unlike
+         * an insert the whole batch runs in its turn: one query that locks the employees its
+         * emails and codes match, one {@code UPDATE} batch by id for the changed ones and one
+         * plain INSERT batch for the new rows. Unchanged rows are not written at all.
+         */
+        private long mergeBatch(Batch batch) {
+            long[] waited = new long[1];
+            transactionTemplate.executeWithoutResult(status -> {
+                waited[0] = awaitTurn(batch.seq());
+                List<ImportBatchListener.RejectedRow> rejectedRows = new ArrayList<>(batch.rejectedRows());
+                MergePlan plan = planMerge(batch.employees(), rejectedRows);
+
+                if (!plan.inserts.isEmpty()) {
+                    long nextId = idBlockAllocator.reserve(IdSequence.EMPLOYEE, plan.inserts.size());
+                    for (Employee employee : plan.inserts) {
+                        employee.setId(nextId++);
+                        employee.setEmployeeCode(employeeCodeGenerator.next());
+                    }
+                }
+                // Updates first, so a row inserted here cannot collide with an email a changed row gave up
+                if (!plan.updates.isEmpty()) {
+                    employeeRepository.updateBatch(plan.updates);
+                }
+                if (!plan.inserts.isEmpty()) {
+                    employeeRepository.insertBatch(plan.inserts);
+                }
+                List<Employee> writes = new ArrayList<>(plan.inserts);
+                writes.addAll(plan.updates);
+                if (!writes.isEmpty()) {
+                    emailIndexService.addAll(EmailScope.EMPLOYEE, writes.stream().map(Employee::getEmail).toList());
+                    plan.replacedEmails.forEach(email -> emailIndexService.remove(EmailScope.EMPLOYEE, email));
+                    employeeCountCache.invalidate();
+                }
+
+                rejectedRows.sort(Comparator.comparingLong(ImportBatchListener.RejectedRow::rowNumber));
+                progress.committed(batch.employees().size(), plan.inserts.size(), plan.updates.size(), plan.unchanged,
+                        rejectedRows.size(), batch.upToRow());
+                try {
+                    listener.onBatch(progress, rejectedRows);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            passTurn();
+            log.debug("Committed merge batch up to row {}, {} inserted and {} updated so far",
+                    batch.upToRow(), progress.getRowsInserted(), progress.getRowsUpdated());
+            return waited[0];
+        }
+
+        /**
+         * Matches each row on its employee code if it has one, otherwise on its email, and sorts
+         * it into insert, update or unchanged. Rows that cannot be merged go to {@code rejectedRows}.
+         */
+        private MergePlan planMerge(List<PendingEmployee> pendingEmployees,
+                                    List<ImportBatchListener.RejectedRow> rejectedRows) {
+            MergePlan plan = new MergePlan();
+            if (pendingEmployees.isEmpty()) {
+                return plan;
+            }
+            List<String> emails = new ArrayList<>(pendingEmployees.size());
+            List<String> codes = new ArrayList<>();
+            for (PendingEmployee pending : pendingEmployees) {
+                emails.add(pending.employee().getEmail());
+                if (pending.employeeCode() != null) {
+                    codes.add(pending.employeeCode());
+                }
+            }
+            Map<String, Employee> byEmail = new HashMap<>();
+            Map<String, Employee> byCode = new HashMap<>();
+            for (Employee existing : employeeRepository.findMergeTargets(emails, codes)) {
+                byEmail.put(existing.getEmail().toLowerCase(Locale.ROOT), existing);
+                if (existing.getEmployeeCode() != null) {
+                    byCode.put(existing.getEmployeeCode().toUpperCase(Locale.ROOT), existing);
+                }
+            }
+
+            Set<Long> matched = new HashSet<>();
+            for (PendingEmployee pending : pendingEmployees) {
+                Employee row = pending.employee();
+                String code = pending.employeeCode();
+                Employee emailOwner = byEmail.get(row.getEmail().toLowerCase(Locale.ROOT));
+                Employee existing = code != null ? byCode.get(code.toUpperCase(Locale.ROOT)) : emailOwner;
+
+                String rejection = null;
+                if (code != null && existing == null) {
+                    rejection = "No employee with code " + code;
+                } else if (existing != null && Boolean.TRUE.equals(existing.getIsDeleted())) {
+                    rejection = "Employee " + existing.getEmployeeCode() + " is deleted";
+                } else if (emailOwner != null && emailOwner != existing) {
+                    rejection = "Employee already exists with email " + row.getEmail();
+                } else if (existing != null && !matched.add(existing.getId())) {
+                    rejection = "Employee " + existing.getEmployeeCode() + " was already merged from an earlier row";
+                }
+                if (rejection != null) {
+                    rejectedRows.add(new ImportBatchListener.RejectedRow(pending.rowNumber(), pending.values(), rejection));
+                } else if (existing == null) {
+                    plan.inserts.add(row);
+                } else if (existing.sameDetailsAs(row)) {
+                    plan.unchanged++;
+                } else {
+                    // The update goes by id; code and flags stay as they are
+                    row.setId(existing.getId());
+                    row.setEmployeeCode(existing.getEmployeeCode());
+                    row.setIsActive(existing.getIsActive());
+                    row.setIsDeleted(existing.getIsDeleted());
+                    plan.updates.add(row);
+                    if (!existing.getEmail().equalsIgnoreCase(row.getEmail())) {
+                        plan.replacedEmails.add(existing.getEmail());
+                    }
+                }
+            }
+            return plan;
+        }
+
+        /** Undoes what planning a merge wrote into a row, so a retried batch matches it from scratch. */
+        private void resetMergedFields(PendingEmployee pending) {
+            Employee employee = pending.employee();
+            employee.setId(null);
+            employee.setEmployeeCode(pending.employeeCode());
+            employee.setIsActive(true);
+            employee.setIsDeleted(false);
+        }
+
+        private long awaitTurn(long batchSeq) {
+            long start = System.nanoTime();
+            synchronized (commitTurn) {
+                while (nextCommit != batchSeq) {
+                    checkFailure();
+                    try {
+                        commitTurn.wait(POLL_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CancellationException("Employee import interrupted");
+                    }
+                }
+            }
+            return System.nanoTime() - start;
+        }
+
+        private void passTurn() {
+            synchronized (commitTurn) {
+                nextCommit++;
+                commitTurn.notifyAll();
+            }
+        }
+
+        /**
+         * Puts {@code item} on {@code queue}, giving up once another stage has failed. Returns the
+         * time spent blocked on a full queue.
+         */
+        private <T> long put(BlockingQueue<T> queue, T item) throws InterruptedException {
+            long start = System.nanoTime();
+            while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkFailure();
+            }
+            return System.nanoTime() - start;
+        }
+
+        private <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+            T item;
+            while ((item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                checkFailure();
+            }
+            return item;
+        }
+
+        private void checkFailure() {
+            if (failure.get() != null) {
+                throw new CancellationException("Employee import aborted");
+            }
+        }
+
+        private void runStage(Stage stage) {
+            try {
+                stage.run();
+            } catch (Throwable e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Keeps the first failure; the other stages see it on their next queue operation and stop.
+         */
+        private void fail(Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+
+        private void rethrowFailure() throws IOException {
+            Throwable e = failure.get();
+            if (e == null) {
+                return;
+            }
+            if (e instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (e instanceof IOException io) {
+                throw io;
+            }
+            if (e instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Employee import failed", e);
+        }
+    }
+
+    private static void requireHeaders(Map<String, Integer> headerMap) {
+        List<String> missing = REQUIRED_HEADERS.stream()
+                .filter(header -> headerMap == null || !headerMap.containsKey(header))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV file is missing required columns: " + String.join(", ", missing));
+        }
+    }
+
+    private static String value(List<String> values, String header) {
+        String value = values.get(REQUIRED_HEADERS.indexOf(header));
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Drops a leading UTF-8 byte order mark (as written by the export and by Excel) so the first
+     * header name matches.
+     */
+    private static Reader skipBom(Reader reader) throws IOException {
+        PushbackReader pushbackReader = new PushbackReader(reader, 1);
+        int first = pushbackReader.read();
+        if (first != -1 && first != UTF8_BOM) {
+            pushbackReader.unread(first);
+        }
+        return pushbackReader;
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    /** A row as parsed, values in {@link #REQUIRED_HEADERS} order; the code is null if the row has none. */
+    private record RawRow(long rowNumber, List<String> values, String employeeCode) {
+    }
+
+    private record RawChunk(long seq, List<RawRow> rows) {
+        private static final RawChunk END = new RawChunk(-1, List.of());
+    }
+
+    /** A validated row: either the employee to insert or the reasons it is rejected. */
+    private record CheckedRow(RawRow row, Employee employee, String rejection) {
+    }
+
+    private record CheckedChunk(long seq, List<CheckedRow> rows) {
+        private static final CheckedChunk END = new CheckedChunk(-1, List.of());
+    }
+
+    /** {@code employeeCode} is the one from the file: a merge overwrites the employee's with the matched one. */
+    private record PendingEmployee(long rowNumber, List<String> values, Employee employee, String employeeCode) {
+    }
+
+    /** What a merge batch writes: new employees, changed ones, and the emails the changes gave up. */
+    private static final class MergePlan {
+        private final List<Employee> inserts = new ArrayList<>();
+        private final List<Employee> updates = new ArrayList<>();
+        private final List<String> replacedEmails = new ArrayList<>();
+        private int unchanged;
+    }
+
+    private record Batch(long seq, List<PendingEmployee> employees, List<ImportBatchListener.RejectedRow> rejectedRows,
+                         long upToRow) {
+        private static final Batch END = new Batch(-1, List.of(), List.of(), 0);
+    }
+}
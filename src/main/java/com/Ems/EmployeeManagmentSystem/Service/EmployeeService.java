@@ -1,25 +1,87 @@
 package com.Ems.EmployeeManagmentSystem.Service;
 
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeExportFilter;
 import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeCursorPageDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeResponseDTO;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeSortField;
 import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportCompression;
+import com.Ems.EmployeeManagmentSystem.Enum.MatchMode;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
 
 public interface EmployeeService {
 
     EmployeeResponseDTO addEmployee(EmployeeRequestDTO employeeRequestDTO);
     EmployeeResponseDTO deleteEmployee(Long id);
     Page<EmployeeResponseDTO> getEmployee(String name,
+                                          MatchMode matchMode,
                                           EmployeeStatus status,
                                           String department,
                                           Boolean isActive,
                                           int page,
                                           int size,
                                           String sortBy);
+
+    /**
+     * {@link #getEmployee} without the total: the page and whether another follows, read with one
+     * query and no count.
+     */
+    Slice<EmployeeResponseDTO> getEmployeeSlice(String name,
+                                                MatchMode matchMode,
+                                                EmployeeStatus status,
+                                                String department,
+                                                Boolean isActive,
+                                                int page,
+                                                int size,
+                                                String sortBy);
+
+    /**
+     * Keyset version of {@link #getEmployee}: the page after {@code cursor} (the first page for a
+     * null cursor) without a count query, ordered by {@code sortBy} then id, newest first. The
+     * cursor must come from a previous call with the same sortBy.
+     */
+    EmployeeCursorPageDTO scrollEmployees(String name,
+                                          MatchMode matchMode,
+                                          EmployeeStatus status,
+                                          String department,
+                                          Boolean isActive,
+                                          int size,
+                                          EmployeeSortField sortBy,
+                                          String cursor);
     EmployeeResponseDTO updateEmployee(Long id , EmployeeRequestDTO employeeRequestDTO);
     EmployeeResponseDTO getLoggedInUser();
-    void exportAllEmployeesPaginated(HttpServletResponse response) throws IOException;
+    default void exportAllEmployeesPaginated(HttpServletResponse response) throws IOException {
+        exportAllEmployeesPaginated(response, EmployeeExportFilter.all(), ExportCompression.NONE);
+    }
+
+    void exportAllEmployeesPaginated(HttpServletResponse response, EmployeeExportFilter filter,
+                                     ExportCompression compression) throws IOException;
+
+    default long writeEmployeesCsv(OutputStream outputStream, LongConsumer progressListener) throws IOException {
+        return writeEmployeesCsv(EmployeeExportFilter.all(), outputStream, progressListener);
+    }
+
+    /**
+     * Writes the employees matching {@code filter} as CSV to {@code outputStream} without closing
+     * it, with only the filter's columns. The listener receives the running row count after every
+     * batch. Returns the total number of rows written.
+     */
+    long writeEmployeesCsv(EmployeeExportFilter filter, OutputStream outputStream,
+                           LongConsumer progressListener) throws IOException;
+
+    /**
+     * Delta export: streams every employee saved after {@code since}, soft-deleted ones included,
+     * with the Is Deleted and Updated At columns. The watermark to pass on the next sync is set on
+     * the response headers before the body and also returned.
+     */
+    ExportWatermark exportEmployeeChanges(HttpServletResponse response, ExportWatermark since,
+                                          ExportCompression compression) throws IOException;
 }
@@ -1,35 +1,55 @@
 package com.Ems.EmployeeManagmentSystem.Service;
 
+import com.Ems.EmployeeManagmentSystem.Csv.CsvRowWriter;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeCursor;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeExportFilter;
 import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeCursorPageDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeResponseDTO;
 import com.Ems.EmployeeManagmentSystem.Entity.Employee;
 import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeExportColumn;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeSortField;
 import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportCompression;
+import com.Ems.EmployeeManagmentSystem.Enum.IdSequence;
+import com.Ems.EmployeeManagmentSystem.Enum.MatchMode;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ConstraintViolations;
 import com.Ems.EmployeeManagmentSystem.Exceptions.EmployeeAlreadyExistsException;
 import com.Ems.EmployeeManagmentSystem.Exceptions.EmployeeNotFoundException;
 import com.Ems.EmployeeManagmentSystem.Exceptions.UserNotFoundException;
 import com.Ems.EmployeeManagmentSystem.Mapper.EmployeeMapper;
 import com.Ems.EmployeeManagmentSystem.Repository.EmployeeRepository;
+import com.Ems.EmployeeManagmentSystem.Repository.EmployeeSpecifications;
 import com.Ems.EmployeeManagmentSystem.Repository.UsersRepository;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
 
 @Service
 @Slf4j
@@ -39,11 +59,27 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final EmployeeMapper employeeMapper;
     private final UsersRepository usersRepository;
+    private final IdBlockAllocator idBlockAllocator;
+    private final EmployeeCodeGenerator employeeCodeGenerator;
+    private final EmailIndexService emailIndexService;
+    private final EmployeeCountCache employeeCountCache;
 
+    @Qualifier("exportPrefetchExecutor")
+    private final Executor exportPrefetchExecutor;
+
+    @Qualifier("exportPartitionExecutor")
+    private final Executor exportPartitionExecutor;
 
     @Value("${employee.import.batch-size}")
     private int BATCH_SIZE;
 
+    // Longer than the longest write transaction plus the clock skew between nodes
+    @Value("${employee.export.delta.safety-lag-ms:300000}")
+    private long deltaSafetyLagMs;
+
+    @Value("${employee.export.parallelism:1}")
+    private int exportParallelism;
+
     @Transactional
     public EmployeeResponseDTO addEmployee(EmployeeRequestDTO employeeRequestDTO) {
         final String requestEmail = employeeRequestDTO.getEmail();
@@ -54,8 +90,6 @@ public class EmployeeServiceImpl implements EmployeeService {
             log.debug("Authenticated user ID: {}, Username: {}",
                     authenticatedUser.getId(), authenticatedUser.getEmail());
 
-            validateUniqueEmail(requestEmail);
-
             Employee employee = createEmployee(employeeRequestDTO, authenticatedUser);
             log.info("Employee created successfully with ID: {}, Email: {}, Code: {}",
                     employee.getId(), employee.getEmail(), employee.getEmployeeCode());
@@ -97,33 +131,19 @@ public class EmployeeServiceImpl implements EmployeeService {
         return managedUser;
     }
 
-    private void validateUniqueEmail(String email) {
-        log.debug("Checking if employee with email {} already exists", email);
-
-        if (employeeRepository.existsByEmail(email)) {
-            log.warn("Employee registration failed - Email already exists: {}", email);
-            throw new EmployeeAlreadyExistsException(
-                    String.format("Employee already exists with email: %s", email)
-            );
-        }
-
-        log.debug("Email {} is unique and available", email);
-    }
-
     private Employee createEmployee(EmployeeRequestDTO employeeRequestDTO, Users user) {
         log.debug("Mapping employee request DTO to entity");
 
         Employee employee = employeeMapper.toEntity(employeeRequestDTO);
         employee.setUser(user);
 
-        log.debug("Persisting employee entity for email: {}", employeeRequestDTO.getEmail());
-
-        employee = employeeRepository.save(employee);
-
-        String employeeCode = generateEmployeeCode(employee.getId());
+        // Id and code are both known before the insert, so the employee is written once
+        employee.setId(idBlockAllocator.next(IdSequence.EMPLOYEE));
+        String employeeCode = employeeCodeGenerator.next();
         employee.setEmployeeCode(employeeCode);
 
         log.debug("Generated employee code: {} for ID: {}", employeeCode, employee.getId());
+        log.debug("Persisting employee entity for email: {}", employeeRequestDTO.getEmail());
 
         employee = employeeRepository.save(employee);
 
@@ -131,8 +151,15 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         log.debug("Updating user-employee bidirectional relationship for user ID: {}", user.getId());
 
-        employeeRepository.flush();
-        usersRepository.flush();
+        // Both repositories share the persistence context, so one flush sends the single INSERT;
+        // the unique constraint on the email is the duplicate check, surfaced here rather than at commit
+        try {
+            employeeRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateEmail(e, employeeRequestDTO.getEmail());
+        }
+        emailIndexService.add(EmailScope.EMPLOYEE, employee.getEmail());
+        employeeCountCache.invalidate();
 
         log.info("Employee entity persisted successfully with ID: {}, Code: {}",
                 employee.getId(), employee.getEmployeeCode());
@@ -140,10 +167,13 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employee;
     }
 
-    private String generateEmployeeCode(Long employeeId) {
-        String year = String.valueOf(java.time.Year.now().getValue());
-        String paddedId = String.format("%06d", employeeId);
-        return String.format("EMP-%s-%s", year, paddedId);
+    private RuntimeException duplicateEmail(DataIntegrityViolationException e, String email) {
+        if (!ConstraintViolations.violates(e, Employee.EMAIL_CONSTRAINT)) {
+            return e;
+        }
+        log.warn("Employee registration failed - Email already exists: {}", email);
+        emailIndexService.add(EmailScope.EMPLOYEE, email);
+        return new EmployeeAlreadyExistsException(String.format("Employee already exists with email: %s", email));
     }
 
     @Override
@@ -160,6 +190,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setIsActive(false);
         employee.setIsDeleted(true);
         employeeRepository.save(employee);
+        employeeCountCache.invalidate();
 
         log.info("Employee with ID={} marked as inactive and deleted", id);
         return employeeMapper.toResponseDTO(employee);
@@ -167,17 +198,60 @@ public class EmployeeServiceImpl implements EmployeeService {
 
 
     @Override
-    public Page<EmployeeResponseDTO> getEmployee(String name, EmployeeStatus status, String department, Boolean isActive, int page, int size, String sortBy) {
-        log.info("Fetching employees with filters: name={}, status={}, department={}, isActive={}", name, status, department, isActive);
+    public Page<EmployeeResponseDTO> getEmployee(String name, MatchMode matchMode, EmployeeStatus status, String department, Boolean isActive, int page, int size, String sortBy) {
+        log.info("Fetching employees with filters: name={}, matchMode={}, status={}, department={}, isActive={}", name, matchMode, status, department, isActive);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sortBy));
-        Page<Employee> employees = employeeRepository.findByFilters(name, status, department, isActive, pageable);
+        Specification<Employee> specification = EmployeeSpecifications.matching(name, matchMode, status, department, isActive);
+        List<Employee> content = employeeRepository.findBy(specification, query -> query.slice(pageable)).getContent();
+        // Counted only when the page does not tell the total, and then shared by the pages of the search
+        Page<Employee> employees = PageableExecutionUtils.getPage(content, pageable, () -> employeeCountCache.count(
+                name, matchMode, status, department, isActive, () -> employeeRepository.count(specification)));
 
         log.info("Employees found successfully with total employee in page {} size {} is {}", page, size, employees.getTotalElements());
 
         return employees.map(employeeMapper::toResponseDTO);
     }
 
+    @Override
+    public Slice<EmployeeResponseDTO> getEmployeeSlice(String name, MatchMode matchMode, EmployeeStatus status, String department, Boolean isActive, int page, int size, String sortBy) {
+        log.info("Fetching employees without total with filters: name={}, matchMode={}, status={}, department={}, isActive={}", name, matchMode, status, department, isActive);
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sortBy));
+        Slice<Employee> employees = employeeRepository.findBy(
+                EmployeeSpecifications.matching(name, matchMode, status, department, isActive), query -> query.slice(pageable));
+
+        log.info("Employees found successfully, {} in page {} size {}, hasNext={}", employees.getNumberOfElements(), page, size, employees.hasNext());
+
+        return employees.map(employeeMapper::toResponseDTO);
+    }
+
+    @Override
+    public EmployeeCursorPageDTO scrollEmployees(String name, MatchMode matchMode, EmployeeStatus status, String department,
+                                                 Boolean isActive, int size, EmployeeSortField sortBy, String cursor) {
+        log.info("Scrolling employees with filters: name={}, matchMode={}, status={}, department={}, isActive={}, sortBy={}",
+                name, matchMode, status, department, isActive, sortBy);
+
+        EmployeeCursor after = cursor == null || cursor.isBlank() ? null : EmployeeCursor.decode(cursor, sortBy);
+        Specification<Employee> specification = EmployeeSpecifications.matching(name, matchMode, status, department, isActive)
+                .and(EmployeeSpecifications.after(after));
+
+        // One row past the page tells whether there is a next one, instead of a count
+        List<Employee> employees = employeeRepository.findBy(specification,
+                query -> query.sortBy(EmployeeSpecifications.newestFirst(sortBy)).limit(size + 1).all());
+        boolean hasNext = employees.size() > size;
+        List<Employee> page = hasNext ? employees.subList(0, size) : employees;
+
+        log.info("Employees scrolled successfully, {} in page of size {}, hasNext={}", page.size(), size, hasNext);
+
+        return EmployeeCursorPageDTO.builder()
+                .content(page.stream().map(employeeMapper::toResponseDTO).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? EmployeeCursor.after(sortBy, page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
 
     @Override
     @Transactional
@@ -195,15 +269,28 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new IllegalStateException("Cannot update inactive or deleted employee with ID " + id);
         }
 
-        boolean emailExists = employeeRepository.existsByEmailAndIdNot(employeeRequestDTO.getEmail(), id);
-        if (emailExists) {
-            log.info("Email {} already used by another employee", employeeRequestDTO.getEmail());
-            throw new EmployeeAlreadyExistsException("Email " + employeeRequestDTO.getEmail() + " is already in use.");
-        }
+        String previousEmail = employee.getEmail();
+        String newEmail = employeeRequestDTO.getEmail();
+        boolean emailChanged = newEmail != null && !newEmail.equalsIgnoreCase(previousEmail);
 
         employeeMapper.updateEmployee(employeeRequestDTO, employee);
 
-        employeeRepository.save(employee);
+        // Flushed here so a taken email fails on the unique constraint inside this method
+        try {
+            employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            if (!emailChanged || !ConstraintViolations.violates(e, Employee.EMAIL_CONSTRAINT)) {
+                throw e;
+            }
+            log.info("Email {} already used by another employee", newEmail);
+            emailIndexService.add(EmailScope.EMPLOYEE, newEmail);
+            throw new EmployeeAlreadyExistsException("Email " + newEmail + " is already in use.");
+        }
+        if (emailChanged) {
+            emailIndexService.add(EmailScope.EMPLOYEE, employee.getEmail());
+            emailIndexService.remove(EmailScope.EMPLOYEE, previousEmail);
+        }
+        employeeCountCache.invalidate();
 
         log.info("Employee updated successfully. ID={}, employeeCode={}", employee.getId(), employee.getEmployeeCode());
 
@@ -230,85 +317,191 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
-    @Transactional
-    public void exportAllEmployeesPaginated(HttpServletResponse response) throws IOException {
-        log.info("Starting CSV export for all employees");
-        long startTime = System.currentTimeMillis();
+    @Override
+    public void exportAllEmployeesPaginated(HttpServletResponse response, EmployeeExportFilter filter,
+                                            ExportCompression compression) throws IOException {
+        log.info("Starting CSV export for employees: name={}, status={}, department={}, isActive={}, columns={}, compression={}",
+                filter.getName(), filter.getStatus(), filter.getDepartment(), filter.getIsActive(),
+                filter.getColumns(), compression);
 
         try {
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String filename = String.format("employees_export_%s.csv", timestamp);
+            String baseName = String.format("employees_export_%s", timestamp);
+            String filename = baseName + compression.getFileExtension();
 
-            response.setContentType("text/csv; charset=UTF-8");
-            response.setCharacterEncoding("UTF-8");
+            response.setContentType(compression.getContentType());
+            if (compression == ExportCompression.NONE) {
+                response.setCharacterEncoding("UTF-8");
+            }
             response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
 
-            Writer writer = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
-
-            writer.write('\ufeff');
+            OutputStream out = compression.wrap(response.getOutputStream(), baseName + ".csv");
+            writeEmployeesCsv(filter, out, rowsWritten -> { });
+            ExportCompression.finish(out);
 
-            CSVFormat csvFormat = CSVFormat.DEFAULT.builder()
-                    .setHeader("Employee Code", "First Name", "Last Name", "Email",
-                            "Department", "Status", "Date of Joining", "Is Active" , "User Email")
-                    .setDelimiter(',')
-                    .setRecordSeparator("\r\n")
-                    .setQuoteMode(org.apache.commons.csv.QuoteMode.MINIMAL)
-                    .build();
+        } catch (IOException e) {
+            log.error("Error during CSV export", e);
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error during CSV export", e);
+            throw new RuntimeException("Failed to export employees to CSV", e);
+        }
+    }
 
-            try (CSVPrinter csvPrinter = new CSVPrinter(writer, csvFormat)) {
+    @Override
+    public long writeEmployeesCsv(EmployeeExportFilter filter, OutputStream outputStream,
+                                  LongConsumer progressListener) throws IOException {
+        long startTime = System.currentTimeMillis();
 
-                int pageNumber = 0;
-                int batchSize = BATCH_SIZE;
-                int totalExported = 0;
-                Page<Employee> page;
+        long totalExported = exportParallelism > 1
+                ? writeEmployeeRangesInParallel(filter, outputStream, progressListener)
+                : writeEmployeeRows(outputStream, filter.getColumns(),
+                        (lastId, limit) -> employeeRepository.findExportRows(filter, lastId, limit),
+                        0L, row -> (Long) row[0], progressListener);
 
-                do {
-                    Pageable pageable = PageRequest.of(pageNumber, batchSize,
-                            Sort.by(Sort.Direction.ASC, "id"));
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("CSV export completed successfully. Total employees: {}, Parallelism: {}, Duration: {}ms",
+                totalExported, exportParallelism, duration);
+        return totalExported;
+    }
 
-                    page = employeeRepository.findAll(pageable);
+    @Override
+    public ExportWatermark exportEmployeeChanges(HttpServletResponse response, ExportWatermark since,
+                                                 ExportCompression compression) throws IOException {
+        log.info("Starting delta CSV export for employees changed after {}", since);
 
-                    log.debug("Processing batch {}: {} employees", pageNumber + 1, page.getNumberOfElements());
+        try {
+            // Fixing the upper bound first lets the next watermark go out in the headers; rows
+            // saved while this export streams are left for the next sync. updated_at is stamped
+            // before commit, so rows younger than the safety lag may still have uncommitted
+            // siblings with older stamps and are left for the next sync too
+            ExportWatermark upTo = employeeRepository.findLatestWatermark(LocalDateTime.now().minus(deltaSafetyLagMs, ChronoUnit.MILLIS))
+                    .filter(latest -> latest.isAfter(since))
+                    .orElse(since);
 
-                    for (Employee employee : page.getContent()) {
-                        log.info("Processing employee {}", employee);
-                        csvPrinter.printRecord(
-                                employee.getEmployeeCode() != null ? employee.getEmployeeCode() : "",
-                                employee.getFirstName() != null ? employee.getFirstName() : "",
-                                employee.getLastName() != null ? employee.getLastName() : "",
-                                employee.getEmail() != null ? employee.getEmail() : "",
-                                employee.getDepartment() != null ? employee.getDepartment() : "",
-                                employee.getStatus() != null ? employee.getStatus().name() : "",
-                                employee.getDateOfJoining() != null ?
-                                        employee.getDateOfJoining().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) : "",
-                                employee.getIsActive() != null ? employee.getIsActive().toString() : "false",
-                                employee.getUser() != null? employee.getUser().getEmail() : ""
-                        );
-                        totalExported++;
-                    }
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            String baseName = String.format("employees_changes_%s", timestamp);
+            String filename = baseName + compression.getFileExtension();
 
-                    pageNumber++;
+            response.setContentType(compression.getContentType());
+            if (compression == ExportCompression.NONE) {
+                response.setCharacterEncoding("UTF-8");
+            }
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+            response.setHeader(ExportWatermark.NEXT_SINCE_HEADER, upTo.getUpdatedAt().toString());
+            response.setHeader(ExportWatermark.NEXT_AFTER_ID_HEADER, upTo.getId().toString());
 
-                } while (page.hasNext());
+            long startTime = System.currentTimeMillis();
+            OutputStream out = compression.wrap(response.getOutputStream(), baseName + ".csv");
 
-                csvPrinter.flush();
+            List<EmployeeExportColumn> columns = List.of(EmployeeExportColumn.values());
+            int updatedAtIndex = columns.indexOf(EmployeeExportColumn.UPDATED_AT) + 1;
+            long totalExported = writeEmployeeRows(out, columns,
+                    (after, limit) -> employeeRepository.findChangedRows(columns, after, upTo, limit),
+                    since, row -> new ExportWatermark((LocalDateTime) row[updatedAtIndex], (Long) row[0]),
+                    rowsWritten -> { });
+            ExportCompression.finish(out);
 
-                long duration = System.currentTimeMillis() - startTime;
-                log.info("CSV export completed successfully. Total employees: {}, Duration: {}ms",
-                        totalExported, duration);
-            }
+            log.info("Delta CSV export completed. Changed employees: {}, next watermark: {}, Duration: {}ms",
+                    totalExported, upTo, System.currentTimeMillis() - startTime);
+            return upTo;
 
         } catch (IOException e) {
-            log.error("Error during CSV export", e);
+            log.error("Error during delta CSV export", e);
             throw e;
         } catch (Exception e) {
-            log.error("Unexpected error during CSV export", e);
-            throw new RuntimeException("Failed to export employees to CSV", e);
+            log.error("Unexpected error during delta CSV export", e);
+            throw new RuntimeException("Failed to export changed employees to CSV", e);
+        }
+    }
+
+    /**
+     * Writes the header for {@code columns} and then every batch from {@code fetcher}. Each row is
+     * the employee id followed by the columns in order.
+     */
+    private <K> long writeEmployeeRows(OutputStream outputStream, List<EmployeeExportColumn> columns,
+                                       BiFunction<K, Limit, List<Object[]>> fetcher, K start,
+                                       Function<Object[], K> keyOf,
+                                       LongConsumer progressListener) throws IOException {
+        CsvRowWriter csv = new CsvRowWriter(outputStream);
+        writeEmployeeHeader(csv, columns);
+
+        long[] totalExported = {0};
+
+        KeysetBatches.forEach(fetcher, start, keyOf, BATCH_SIZE, exportPrefetchExecutor, batch -> {
+            log.debug("Processing batch of {} employees", batch.size());
+
+            for (Object[] row : batch) {
+                writeEmployeeRow(csv, columns, row);
+            }
+            totalExported[0] += batch.size();
+            progressListener.accept(totalExported[0]);
+        });
+
+        csv.flush();
+        return totalExported[0];
+    }
+
+    /**
+     * Splits the id space into ranges one batch wide and reads them on {@code exportParallelism}
+     * connections at once, writing the encoded ranges in id order.
+     */
+    private long writeEmployeeRangesInParallel(EmployeeExportFilter filter, OutputStream outputStream,
+                                               LongConsumer progressListener) throws IOException {
+        CsvRowWriter csv = new CsvRowWriter(outputStream);
+        writeEmployeeHeader(csv, filter.getColumns());
+        csv.flush();
+
+        Optional<Range<Long>> idRange = employeeRepository.findIdRange();
+        if (idRange.isEmpty()) {
+            return 0;
         }
+        long minId = idRange.get().getLowerBound().getValue().orElseThrow();
+        long maxId = idRange.get().getUpperBound().getValue().orElseThrow();
+
+        long[] totalExported = {0};
+
+        // Two ranges in flight per worker keeps every connection busy while the oldest is written
+        IdRangePartitions.writeInOrder(minId, maxId, BATCH_SIZE, exportParallelism * 2, exportPartitionExecutor,
+                (afterId, upToId) -> encodeEmployeeRange(filter, afterId, upToId), outputStream, rows -> {
+                    totalExported[0] += rows;
+                    progressListener.accept(totalExported[0]);
+                });
+
+        outputStream.flush();
+        return totalExported[0];
     }
 
+    private IdRangePartitions.EncodedRange encodeEmployeeRange(EmployeeExportFilter filter, long afterId,
+                                                               long upToId) throws IOException {
+        // A range one batch wide cannot hold more than one batch of rows, so one query reads it all
+        List<Object[]> rows = employeeRepository.findExportRowsInRange(filter, afterId, upToId, Limit.of(BATCH_SIZE));
+        log.debug("Encoding {} employees with ids in ({}, {}]", rows.size(), afterId, upToId);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(rows.size(), 1) * 128);
+        CsvRowWriter csv = new CsvRowWriter(buffer, 16 * 1024);
+        for (Object[] row : rows) {
+            writeEmployeeRow(csv, filter.getColumns(), row);
+        }
+        csv.flush();
+        return new IdRangePartitions.EncodedRange(buffer.toByteArray(), rows.size());
+    }
 
+    private static void writeEmployeeHeader(CsvRowWriter csv, List<EmployeeExportColumn> columns) throws IOException {
+        csv.bom();
+        for (EmployeeExportColumn column : columns) {
+            csv.field(column.getHeader());
+        }
+        csv.endRow();
+    }
 
+    private static void writeEmployeeRow(CsvRowWriter csv, List<EmployeeExportColumn> columns,
+                                         Object[] row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).write(csv, row[i + 1]);
+        }
+        csv.endRow();
+    }
 
     public Optional<Users> getUser() {
         log.info("Getting the user from the security context holder :) ");
@@ -0,0 +1,59 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Exceptions.ExportCapacityExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many streaming exports run at once so exports cannot take over request threads and
+ * database connections needed by the CRUD endpoints. A request that finds every slot taken waits
+ * at most {@code queue-timeout-ms} and is then rejected with 429 and a Retry-After hint.
+ */
+@Component
+@Slf4j
+public class ExportBulkhead {
+
+    @FunctionalInterface
+    public interface ExportTask {
+        void run() throws IOException;
+    }
+
+    private final Semaphore permits;
+    private final long queueTimeoutMs;
+    private final long retryAfterSeconds;
+
+    public ExportBulkhead(@Value("${employee.export.admission.max-concurrent:2}") int maxConcurrent,
+                          @Value("${employee.export.admission.queue-timeout-ms:0}") long queueTimeoutMs,
+                          @Value("${employee.export.admission.retry-after-seconds:30}") long retryAfterSeconds) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public void run(ExportTask task) throws IOException {
+        if (!tryAcquire()) {
+            log.warn("Export rejected, all export slots are busy");
+            throw new ExportCapacityExceededException("Too many exports in progress, please retry later", retryAfterSeconds);
+        }
+
+        try {
+            task.run();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.dto.Response.ExportJobResponseDTO;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportCompression;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportType;
+
+import java.nio.file.Path;
+
+public interface ExportJobService {
+
+    ExportJobResponseDTO startJob(ExportType type, ExportCompression compression);
+
+    ExportJobResponseDTO getJob(String jobId);
+
+    /**
+     * Returns the spooled file of a completed job.
+     */
+    Path getJobFile(String jobId);
+}
@@ -0,0 +1,232 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.dto.Response.ExportJobResponseDTO;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportCompression;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportJobStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportType;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ExportCapacityExceededException;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ExportJobNotFoundException;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ExportJobNotReadyException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs CSV exports as background jobs. Each job streams its rows into a file in the spool
+ * directory; the finished file is served from disk, so downloads (and resumed downloads) never
+ * touch the database again.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ExportJobServiceImpl implements ExportJobService {
+
+    private final EmployeeService employeeService;
+    private final UserService userService;
+
+    @Qualifier("exportJobExecutor")
+    private final TaskExecutor exportJobExecutor;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${employee.export.spool-dir}")
+    private String spoolDir;
+
+    @Value("${employee.export.job.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${employee.export.admission.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    @Override
+    public ExportJobResponseDTO startJob(ExportType type, ExportCompression compression) {
+        String jobId = UUID.randomUUID().toString();
+        ExportJob job = new ExportJob(jobId, type, compression);
+        jobs.put(jobId, job);
+
+        try {
+            exportJobExecutor.execute(() -> runJob(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(jobId);
+            log.warn("Export job {} for {} rejected, executor is saturated", jobId, type);
+            throw new ExportCapacityExceededException("Too many export jobs in progress, please retry later", retryAfterSeconds);
+        }
+
+        log.info("Export job {} queued for {} with compression {}", jobId, type, compression);
+        return job.toResponse();
+    }
+
+    @Override
+    public ExportJobResponseDTO getJob(String jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    @Override
+    public Path getJobFile(String jobId) {
+        ExportJob job = findJob(jobId);
+
+        if (job.status != ExportJobStatus.COMPLETED) {
+            throw new ExportJobNotReadyException("Export job " + jobId + " is " + job.status + ", file is not available");
+        }
+        return job.file;
+    }
+
+    private ExportJob findJob(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            log.warn("Export job not found with ID={}", jobId);
+            throw new ExportJobNotFoundException("Export job not found with ID " + jobId);
+        }
+        return job;
+    }
+
+    private void runJob(ExportJob job) {
+        job.markRunning();
+        log.info("Export job {} started for {}", job.id, job.type);
+
+        Path partFile = null;
+        try {
+            Path directory = Files.createDirectories(Paths.get(spoolDir));
+            partFile = directory.resolve(job.id + job.compression.getFileExtension() + ".part");
+            Path finalFile = directory.resolve(job.id + job.compression.getFileExtension());
+
+            try (OutputStream out = job.compression.wrap(
+                    new BufferedOutputStream(Files.newOutputStream(partFile)), job.baseFileName() + ".csv")) {
+                if (job.type == ExportType.EMPLOYEES) {
+                    employeeService.writeEmployeesCsv(out, rows -> job.rowsWritten = rows);
+                } else {
+                    userService.writeUsersCsv(out, rows -> job.rowsWritten = rows);
+                }
+                ExportCompression.finish(out);
+            }
+
+            Files.move(partFile, finalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.markCompleted(finalFile);
+            log.info("Export job {} completed, {} rows in {}", job.id, job.rowsWritten, finalFile);
+
+        } catch (Exception e) {
+            log.error("Export job {} failed", job.id, e);
+            job.markFailed(e.getMessage());
+            deleteQuietly(partFile);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.export.job.cleanup-interval-ms:600000}")
+    public void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt != null && job.finishedAt.isBefore(cutoff);
+            if (expired) {
+                log.info("Purging expired export job {}", job.id);
+                deleteQuietly(job.file);
+            }
+            return expired;
+        });
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spool file {}", file, e);
+        }
+    }
+
+    private static final class ExportJob {
+        private final String id;
+        private final ExportType type;
+        private final ExportCompression compression;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile ExportJobStatus status = ExportJobStatus.QUEUED;
+        private volatile long rowsWritten;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile Path file;
+        private volatile String errorMessage;
+
+        private ExportJob(String id, ExportType type, ExportCompression compression) {
+            this.id = id;
+            this.type = type;
+            this.compression = compression;
+        }
+
+        private void markRunning() {
+            startedAt = LocalDateTime.now();
+            status = ExportJobStatus.RUNNING;
+        }
+
+        private void markCompleted(Path file) {
+            this.file = file;
+            finishedAt = LocalDateTime.now();
+            status = ExportJobStatus.COMPLETED;
+        }
+
+        private void markFailed(String errorMessage) {
+            this.errorMessage = errorMessage;
+            finishedAt = LocalDateTime.now();
+            status = ExportJobStatus.FAILED;
+        }
+
+        private ExportJobResponseDTO toResponse() {
+            Long fileSize = null;
+            try {
+                fileSize = file != null ? Files.size(file) : null;
+            } catch (IOException ignored) {
+                // the file was purged between the status check and the size lookup
+            }
+
+            return ExportJobResponseDTO.builder()
+                    .jobId(id)
+                    .type(type)
+                    .compression(compression)
+                    .status(status)
+                    .rowsWritten(rowsWritten)
+                    .rowsPerSecond(rowsPerSecond())
+                    .fileSizeBytes(fileSize)
+                    .fileName(baseFileName() + compression.getFileExtension())
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .errorMessage(errorMessage)
+                    .build();
+        }
+
+        private double rowsPerSecond() {
+            if (startedAt == null) {
+                return 0;
+            }
+            LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+            long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+            return rowsWritten * 1000.0 / millis;
+        }
+
+        private String baseFileName() {
+            String timestamp = createdAt.format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            String prefix = type == ExportType.EMPLOYEES ? "employees" : "users";
+            return String.format("%s_export_%s", prefix, timestamp);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Enum.IdSequence;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table-backed hi/lo allocator. Each node leases blocks of {@code block-size} ids through
+ * {@link AllocationLeaser} and hands them out from memory, so an id is known before the row is
+ * inserted and Hibernate can batch the inserts. Ids still unused when a node stops are skipped.
+ */
+@Component
+public class IdBlockAllocator {
+
+    private final AllocationLeaser allocationLeaser;
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+    private final Map<IdSequence, Block> blocks = new ConcurrentHashMap<>();
+
+    public IdBlockAllocator(AllocationLeaser allocationLeaser,
+                            JdbcTemplate jdbcTemplate,
+                            @Value("${employee.id-allocation.block-size:50}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Id block size must be at least 1");
+        }
+        this.allocationLeaser = allocationLeaser;
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Next id of {@code sequence}; touches the database only when the current block is used up.
+     */
+    public long next(IdSequence sequence) {
+        Block block = blocks.computeIfAbsent(sequence, key -> new Block());
+        synchronized (block) {
+            if (block.next == block.end) {
+                block.next = lease(sequence, blockSize);
+                block.end = block.next + blockSize;
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * Leases {@code count} consecutive ids for a bulk insert and returns the first one. The range
+     * is taken straight from the table and does not touch the in-memory block.
+     */
+    public long reserve(IdSequence sequence, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Id count must be at least 1");
+        }
+        return lease(sequence, count);
+    }
+
+    private long lease(IdSequence sequence, long count) {
+        // The table name comes from the enum, never from input
+        return allocationLeaser.lease(sequence.getKey(), count, () -> jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) + 1 FROM " + sequence.getTable(), Long.class));
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+}
@@ -0,0 +1,91 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel export over the id space: {@code [minId, maxId]} is cut into consecutive ranges that are
+ * read and encoded concurrently on {@code executor}, each into its own buffer, and written to the
+ * output strictly in id order.
+ *
+ * <p>At most {@code window} ranges are in flight; a new range is only started once the oldest one
+ * has been written, so a slow client throttles the readers and memory stays bounded by
+ * {@code window} encoded ranges. Encoding tasks never block on each other, so the executor can be
+ * shared between concurrent exports without risk of deadlock.
+ */
+final class IdRangePartitions {
+
+    @FunctionalInterface
+    interface RangeEncoder {
+        /**
+         * Reads and encodes the rows with {@code afterId < id <= upToId}.
+         */
+        EncodedRange encode(long afterId, long upToId) throws IOException;
+    }
+
+    static final class EncodedRange {
+        private final byte[] bytes;
+        private final int rows;
+
+        EncodedRange(byte[] bytes, int rows) {
+            this.bytes = bytes;
+            this.rows = rows;
+        }
+    }
+
+    private IdRangePartitions() {
+    }
+
+    static void writeInOrder(long minId, long maxId, long rangeWidth, int window, Executor executor,
+                             RangeEncoder encoder, OutputStream out, IntConsumer rowsWritten) throws IOException {
+        Deque<CompletableFuture<EncodedRange>> inFlight = new ArrayDeque<>(window);
+        long nextAfterId = minId - 1;
+
+        try {
+            while (nextAfterId < maxId || !inFlight.isEmpty()) {
+                while (nextAfterId < maxId && inFlight.size() < window) {
+                    long afterId = nextAfterId;
+                    long upToId = maxId - afterId <= rangeWidth ? maxId : afterId + rangeWidth;
+                    inFlight.addLast(CompletableFuture.supplyAsync(() -> encode(encoder, afterId, upToId), executor));
+                    nextAfterId = upToId;
+                }
+
+                EncodedRange range = await(inFlight.removeFirst());
+                out.write(range.bytes);
+                rowsWritten.accept(range.rows);
+            }
+        } catch (IOException | RuntimeException e) {
+            inFlight.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    private static EncodedRange encode(RangeEncoder encoder, long afterId, long upToId) {
+        try {
+            return encoder.encode(afterId, upToId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static EncodedRange await(CompletableFuture<EncodedRange> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException cause) {
+                throw cause.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
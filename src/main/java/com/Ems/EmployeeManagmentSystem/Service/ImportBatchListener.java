@@ -0,0 +1,29 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Hook into the batches of an employee import.
+ */
+@FunctionalInterface
+public interface ImportBatchListener {
+
+    /**
+     * A rejected row with its raw values in import column order (First Name, Last Name, Email,
+     * Department, Status, Date of Joining) and the reasons it was rejected.
+     */
+    record RejectedRow(long rowNumber, List<String> values, String message) {
+
+        public String email() {
+            return values.get(2);
+        }
+    }
+
+    /**
+     * Called inside the batch transaction once the rows are inserted, with the checkpoint already
+     * moved to the batch's last row and the rows rejected since the previous batch. Whatever is
+     * written to the database here commits or rolls back with the batch; an exception rolls it back.
+     */
+    void onBatch(ImportProgress progress, List<RejectedRow> rejectedRows) throws IOException;
+}
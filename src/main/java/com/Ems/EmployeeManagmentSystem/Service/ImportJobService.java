@@ -0,0 +1,28 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Enum.ImportMode;
+import com.Ems.EmployeeManagmentSystem.dto.Response.ImportJobResponseDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface ImportJobService {
+
+    /**
+     * Stores the upload and queues its import in {@code mode}; a resumed job keeps the mode.
+     */
+    ImportJobResponseDTO startJob(MultipartFile file, ImportMode mode) throws IOException;
+
+    ImportJobResponseDTO getJob(String jobId);
+
+    /**
+     * Queues a failed job again; it continues after its last committed batch.
+     */
+    ImportJobResponseDTO resumeJob(String jobId);
+
+    /**
+     * Returns the CSV of the rows a finished job rejected, with their validation messages.
+     */
+    Path getRejectedRowsFile(String jobId);
+}
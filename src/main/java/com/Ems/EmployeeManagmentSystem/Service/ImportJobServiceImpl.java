@@ -0,0 +1,331 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Csv.CsvRowWriter;
+import com.Ems.EmployeeManagmentSystem.Entity.ImportJob;
+import com.Ems.EmployeeManagmentSystem.Enum.ImportJobStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.ImportMode;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ImportCapacityExceededException;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ImportJobNotFoundException;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ImportJobNotReadyException;
+import com.Ems.EmployeeManagmentSystem.Repository.ImportJobRepository;
+import com.Ems.EmployeeManagmentSystem.dto.Response.ImportJobResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs employee CSV imports as background jobs. The upload is copied to the spool directory and
+ * imported from there; each committed batch moves the job's checkpoint in the same transaction,
+ * so a failed or interrupted job is resumed after its last committed batch instead of from row
+ * one. Rejected rows are appended to a CSV next to the upload, whose length is part of the
+ * checkpoint, so a resumed job neither loses nor repeats them.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ImportJobServiceImpl implements ImportJobService {
+
+    private static final String[] REJECTED_ROWS_HEADER =
+            {"Row Number", "First Name", "Last Name", "Email", "Department", "Status", "Date of Joining", "Error"};
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    private final EmployeeImportService employeeImportService;
+    private final ImportJobRepository importJobRepository;
+
+    @Qualifier("importJobExecutor")
+    private final TaskExecutor importJobExecutor;
+
+    // Live counters of the jobs running on this node; the table only has the last checkpoint
+    private final Map<String, ImportProgress> running = new ConcurrentHashMap<>();
+
+    @Value("${employee.import.spool-dir}")
+    private String spoolDir;
+
+    @Value("${employee.import.job.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    @Value("${employee.import.job.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    @Override
+    public ImportJobResponseDTO startJob(MultipartFile file, ImportMode mode) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("CSV file is required");
+        }
+        String jobId = UUID.randomUUID().toString();
+        Path source = sourceFile(jobId);
+        Files.createDirectories(source.getParent());
+        // The upload only lives as long as the request; the job and any resume read this copy
+        file.transferTo(source);
+
+        ImportJob job = new ImportJob();
+        job.setId(jobId);
+        job.setFileName(file.getOriginalFilename());
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setMode(mode);
+        job = importJobRepository.save(job);
+
+        try {
+            submit(job);
+        } catch (ImportCapacityExceededException e) {
+            importJobRepository.deleteById(jobId);
+            deleteQuietly(source);
+            throw e;
+        }
+
+        log.info("Import job {} queued for {} ({} bytes) in {} mode", jobId, file.getOriginalFilename(), file.getSize(), mode);
+        return toResponse(job, null);
+    }
+
+    @Override
+    public ImportJobResponseDTO getJob(String jobId) {
+        return toResponse(findJob(jobId), running.get(jobId));
+    }
+
+    @Override
+    public ImportJobResponseDTO resumeJob(String jobId) {
+        ImportJob job = findJob(jobId);
+
+        if (job.getStatus() != ImportJobStatus.FAILED) {
+            throw new ImportJobNotReadyException("Import job " + jobId + " is " + job.getStatus() + ", only failed jobs can be resumed");
+        }
+        if (!Files.exists(sourceFile(jobId))) {
+            throw new ImportJobNotReadyException("The uploaded file of import job " + jobId + " is no longer available");
+        }
+        if (importJobRepository.transition(jobId, ImportJobStatus.FAILED, ImportJobStatus.QUEUED) == 0) {
+            throw new ImportJobNotReadyException("Import job " + jobId + " is already being resumed");
+        }
+
+        try {
+            submit(job);
+        } catch (ImportCapacityExceededException e) {
+            importJobRepository.transition(jobId, ImportJobStatus.QUEUED, ImportJobStatus.FAILED);
+            throw e;
+        }
+
+        log.info("Import job {} queued to resume after row {}", jobId, job.getLastCommittedRow());
+        job.setStatus(ImportJobStatus.QUEUED);
+        return toResponse(job, null);
+    }
+
+    @Override
+    public Path getRejectedRowsFile(String jobId) {
+        ImportJob job = findJob(jobId);
+
+        if (job.getStatus() != ImportJobStatus.COMPLETED && job.getStatus() != ImportJobStatus.FAILED) {
+            throw new ImportJobNotReadyException("Import job " + jobId + " is " + job.getStatus() + ", rejected rows are available once it has finished");
+        }
+        Path file = rejectedRowsFile(jobId);
+        if (!Files.exists(file)) {
+            throw new ImportJobNotReadyException("Import job " + jobId + " has no rejected rows file");
+        }
+        return file;
+    }
+
+    /**
+     * Picks up the jobs a restart interrupted. Only jobs whose upload is in this node's spool
+     * directory are taken; with a spool directory per node, the others belong to another node.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        List<ImportJob> interrupted = importJobRepository.findByStatusIn(List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING));
+
+        for (ImportJob job : interrupted) {
+            if (!Files.exists(sourceFile(job.getId()))) {
+                continue;
+            }
+            if (job.getStatus() == ImportJobStatus.RUNNING
+                    && importJobRepository.transition(job.getId(), ImportJobStatus.RUNNING, ImportJobStatus.QUEUED) == 0) {
+                continue;
+            }
+            try {
+                submit(job);
+                log.info("Import job {} resumed after restart from row {}", job.getId(), job.getLastCommittedRow());
+            } catch (ImportCapacityExceededException e) {
+                finish(job.getId(), ImportJobStatus.FAILED, "Interrupted by a restart, resume the job to continue");
+            }
+        }
+    }
+
+    private void submit(ImportJob job) {
+        ImportProgress progress = checkpointOf(job);
+        try {
+            importJobExecutor.execute(() -> runJob(job.getId(), progress));
+        } catch (TaskRejectedException e) {
+            log.warn("Import job {} rejected, executor is saturated", job.getId());
+            throw new ImportCapacityExceededException("Too many import jobs in progress, please retry later", retryAfterSeconds);
+        }
+    }
+
+    private ImportJob findJob(String jobId) {
+        return importJobRepository.findById(jobId).orElseThrow(() -> {
+            log.warn("Import job not found with ID={}", jobId);
+            return new ImportJobNotFoundException("Import job not found with ID " + jobId);
+        });
+    }
+
+    private void runJob(String jobId, ImportProgress progress) {
+        if (importJobRepository.transition(jobId, ImportJobStatus.QUEUED, ImportJobStatus.RUNNING) == 0) {
+            log.warn("Import job {} is no longer queued, skipping", jobId);
+            return;
+        }
+        ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+        job.setStartedAt(LocalDateTime.now());
+        job.setFinishedAt(null);
+        job.setErrorMessage(null);
+        job.setResumedFromRow(job.getLastCommittedRow());
+        importJobRepository.save(job);
+        running.put(jobId, progress);
+        log.info("Import job {} started from row {}", jobId, job.getLastCommittedRow() + 1);
+
+        try (FileChannel rejected = FileChannel.open(rejectedRowsFile(jobId), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             InputStream in = new BufferedInputStream(Files.newInputStream(sourceFile(jobId)))) {
+
+            // Anything past the checkpoint was written by batches that never committed
+            rejected.truncate(job.getRejectedFileSize());
+            rejected.position(job.getRejectedFileSize());
+            CsvRowWriter writer = new CsvRowWriter(Channels.newOutputStream(rejected));
+            if (job.getRejectedFileSize() == 0) {
+                writer.bom().header(REJECTED_ROWS_HEADER);
+            }
+
+            employeeImportService.importEmployees(in, job.getMode(), progress, (batchProgress, rejectedRows) -> {
+                for (ImportBatchListener.RejectedRow row : rejectedRows) {
+                    writer.field(row.rowNumber());
+                    for (String value : row.values()) {
+                        writer.field(value);
+                    }
+                    writer.field(row.message()).endRow();
+                }
+                writer.flush();
+                importJobRepository.updateCheckpoint(jobId, batchProgress.getRowsValid(), batchProgress.getRowsInserted(),
+                        batchProgress.getRowsUpdated(), batchProgress.getRowsUnchanged(), batchProgress.getRowsRejected(),
+                        batchProgress.getLastCommittedRow(), rejected.position());
+            });
+
+            finish(jobId, ImportJobStatus.COMPLETED, null);
+            // Only failed jobs are resumed, a completed one no longer needs its upload
+            deleteQuietly(sourceFile(jobId));
+            log.info("Import job {} completed, {} rows inserted, {} updated, {} unchanged and {} rejected",
+                    jobId, progress.getRowsInserted(), progress.getRowsUpdated(), progress.getRowsUnchanged(),
+                    progress.getRowsRejected());
+
+        } catch (Exception e) {
+            log.error("Import job {} failed after row {}", jobId, progress.getLastCommittedRow(), e);
+            finish(jobId, ImportJobStatus.FAILED, e.getMessage());
+        } finally {
+            running.remove(jobId);
+        }
+    }
+
+    /**
+     * Records the outcome on a fresh copy of the row, so the checkpoint written by the batches is
+     * kept as it is.
+     */
+    private void finish(String jobId, ImportJobStatus status, String errorMessage) {
+        importJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setFinishedAt(LocalDateTime.now());
+            job.setErrorMessage(errorMessage != null && errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH
+                    ? errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH)
+                    : errorMessage);
+            importJobRepository.save(job);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${employee.import.job.cleanup-interval-ms:600000}")
+    public void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+
+        List<ImportJob> expired = importJobRepository.findByStatusInAndFinishedAtBefore(
+                List.of(ImportJobStatus.COMPLETED, ImportJobStatus.FAILED), cutoff);
+
+        for (ImportJob job : expired) {
+            log.info("Purging expired import job {}", job.getId());
+            deleteQuietly(sourceFile(job.getId()));
+            deleteQuietly(rejectedRowsFile(job.getId()));
+            importJobRepository.deleteById(job.getId());
+        }
+    }
+
+    private Path sourceFile(String jobId) {
+        return Paths.get(spoolDir).resolve(jobId + ".csv");
+    }
+
+    private Path rejectedRowsFile(String jobId) {
+        return Paths.get(spoolDir).resolve(jobId + "-rejected.csv");
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spool file {}", file, e);
+        }
+    }
+
+    private static ImportProgress checkpointOf(ImportJob job) {
+        return ImportProgress.resumeFrom(job.getLastCommittedRow(), job.getRowsValid(), job.getRowsInserted(),
+                job.getRowsUpdated(), job.getRowsUnchanged(), job.getRowsRejected());
+    }
+
+    private static ImportJobResponseDTO toResponse(ImportJob job, ImportProgress live) {
+        ImportProgress progress = live != null ? live : checkpointOf(job);
+
+        return ImportJobResponseDTO.builder()
+                .jobId(job.getId())
+                .fileName(job.getFileName())
+                .status(job.getStatus())
+                .mode(job.getMode())
+                .rowsParsed(progress.getRowsParsed())
+                .rowsValid(progress.getRowsValid())
+                .rowsInserted(progress.getRowsInserted())
+                .rowsUpdated(progress.getRowsUpdated())
+                .rowsUnchanged(progress.getRowsUnchanged())
+                .rowsRejected(progress.getRowsRejected())
+                .lastCommittedRow(progress.getLastCommittedRow())
+                .rowsPerSecond(rowsPerSecond(job, progress))
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .errorMessage(job.getErrorMessage())
+                .stages(live != null ? live.getStages() : null)
+                .build();
+    }
+
+    /**
+     * Throughput of the current run only; rows skipped up to the resume checkpoint do not count.
+     */
+    private static double rowsPerSecond(ImportJob job, ImportProgress progress) {
+        if (job.getStartedAt() == null) {
+            return 0;
+        }
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+        return (progress.getRowsParsed() - job.getResumedFromRow()) * 1000.0 / millis;
+    }
+}
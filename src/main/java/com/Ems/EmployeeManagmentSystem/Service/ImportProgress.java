@@ -0,0 +1,76 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.dto.Response.ImportStageDTO;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Live counters of one employee import, read by status polls. Rows are numbered from 1, header
+ * excluded. {@code rowsParsed} is written by the parsing thread only and runs ahead; the other
+ * counters move when a batch commits, one batch at a time in file order, so they always match
+ * the checkpoint. Updated and unchanged rows only occur in merge mode.
+ */
+@Getter
+public class ImportProgress {
+
+    private volatile long rowsParsed;
+    private volatile long rowsValid;
+    private volatile long rowsInserted;
+    private volatile long rowsUpdated;
+    private volatile long rowsUnchanged;
+    private volatile long rowsRejected;
+    /** Last row covered by a committed batch; a resumed import skips up to here. */
+    private volatile long lastCommittedRow;
+
+    @Getter(AccessLevel.NONE)
+    private volatile List<ImportStageStats> stageStats = List.of();
+    @Getter(AccessLevel.NONE)
+    private volatile long pipelineStartNanos;
+
+    public ImportProgress() {
+    }
+
+    /**
+     * Progress restored from a checkpoint, for resuming an import after its last committed batch.
+     */
+    public static ImportProgress resumeFrom(long lastCommittedRow, long rowsValid, long rowsInserted, long rowsUpdated,
+                                            long rowsUnchanged, long rowsRejected) {
+        ImportProgress progress = new ImportProgress();
+        progress.rowsParsed = lastCommittedRow;
+        progress.rowsValid = rowsValid;
+        progress.rowsInserted = rowsInserted;
+        progress.rowsUpdated = rowsUpdated;
+        progress.rowsUnchanged = rowsUnchanged;
+        progress.rowsRejected = rowsRejected;
+        progress.lastCommittedRow = lastCommittedRow;
+        return progress;
+    }
+
+    /**
+     * Throughput and queue depth of each pipeline stage since the import started; empty before.
+     */
+    public List<ImportStageDTO> getStages() {
+        long elapsed = System.nanoTime() - pipelineStartNanos;
+        return stageStats.stream().map(stage -> stage.snapshot(elapsed)).toList();
+    }
+
+    void startPipeline(List<ImportStageStats> stages) {
+        pipelineStartNanos = System.nanoTime();
+        stageStats = List.copyOf(stages);
+    }
+
+    long nextRow() {
+        return ++rowsParsed;
+    }
+
+    void committed(long validRows, long insertedRows, long updatedRows, long unchangedRows, long rejectedRows, long upToRow) {
+        rowsValid += validRows;
+        rowsInserted += insertedRows;
+        rowsUpdated += updatedRows;
+        rowsUnchanged += unchangedRows;
+        rowsRejected += rejectedRows;
+        lastCommittedRow = upToRow;
+    }
+}
@@ -0,0 +1,46 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.dto.Response.ImportStageDTO;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of one stage of the import pipeline: rows handled and time spent on them, excluding
+ * time blocked on the queues around the stage. Updated by all threads of the stage.
+ */
+public class ImportStageStats {
+
+    private final String name;
+    private final int threads;
+    private final BlockingQueue<?> input;
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+
+    /**
+     * @param input queue the stage takes its work from, or null for the first stage
+     */
+    ImportStageStats(String name, int threads, BlockingQueue<?> input) {
+        this.name = name;
+        this.threads = threads;
+        this.input = input;
+    }
+
+    void record(long rowCount, long nanos) {
+        rows.addAndGet(rowCount);
+        busyNanos.addAndGet(nanos);
+    }
+
+    ImportStageDTO snapshot(long elapsedNanos) {
+        long elapsed = Math.max(1, elapsedNanos);
+        return ImportStageDTO.builder()
+                .stage(name)
+                .threads(threads)
+                .rowsProcessed(rows.get())
+                .rowsPerSecond(rows.get() * 1_000_000_000.0 / elapsed)
+                .utilization(Math.min(1.0, busyNanos.get() / ((double) elapsed * threads)))
+                .queueDepth(input != null ? input.size() : 0)
+                .queueCapacity(input != null ? input.size() + input.remainingCapacity() : 0)
+                .build();
+    }
+}
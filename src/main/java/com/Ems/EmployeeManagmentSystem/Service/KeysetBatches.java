@@ -0,0 +1,70 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Walks a table in keyset batches, fetching the next batch on {@code prefetchExecutor} while the
+ * current one is being encoded, compressed and written. At most two batches are held at a time.
+ * The key is whatever the fetcher seeks past: the id for full exports, the (updatedAt, id)
+ * watermark for delta exports.
+ */
+final class KeysetBatches {
+
+    @FunctionalInterface
+    interface BatchHandler<T> {
+        void handle(List<T> batch) throws IOException;
+    }
+
+    private KeysetBatches() {
+    }
+
+    static <K, T> void forEach(BiFunction<K, Limit, List<T>> fetcher,
+                               K start,
+                               Function<T, K> keyOf,
+                               int batchSize,
+                               Executor prefetchExecutor,
+                               BatchHandler<T> handler) throws IOException {
+        Limit limit = Limit.of(batchSize);
+        List<T> batch = fetcher.apply(start, limit);
+
+        while (true) {
+            K lastKey = batch.isEmpty() ? null : keyOf.apply(batch.get(batch.size() - 1));
+            CompletableFuture<List<T>> next = batch.size() == batchSize && lastKey != null
+                    ? CompletableFuture.supplyAsync(() -> fetcher.apply(lastKey, limit), prefetchExecutor)
+                    : null;
+
+            try {
+                handler.handle(batch);
+            } catch (IOException | RuntimeException e) {
+                if (next != null) {
+                    next.cancel(true);
+                }
+                throw e;
+            }
+
+            if (next == null) {
+                return;
+            }
+            batch = await(next);
+        }
+    }
+
+    private static <T> List<T> await(CompletableFuture<List<T>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
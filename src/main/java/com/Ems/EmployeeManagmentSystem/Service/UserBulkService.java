@@ -0,0 +1,26 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.dto.Request.UserRequestDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface UserBulkService {
+
+    /**
+     * Fails fast with {@code IllegalArgumentException} when {@code requests} is empty or larger
+     * than {@code users.bulk.max-items}, so the caller can answer before it starts streaming.
+     */
+    void checkRequestSize(List<UserRequestDTO> requests);
+
+    /**
+     * Registers {@code requests} in batches of {@code users.bulk.batch-size}, each batch hashed on
+     * the password hash executor and inserted in its own transaction, and writes one
+     * {@code UserBulkItemResultDTO} per user to {@code out} as newline-delimited JSON, in request
+     * order, as each batch commits. Invalid users, unknown roles and taken emails are rejected
+     * per user. If {@code out} fails the remaining users are not registered; committed batches
+     * stay.
+     */
+    void registerUsers(List<UserRequestDTO> requests, OutputStream out) throws IOException;
+}
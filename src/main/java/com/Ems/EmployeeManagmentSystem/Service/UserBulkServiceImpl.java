@@ -0,0 +1,314 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.dto.Request.UserRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.UserBulkItemResultDTO;
+import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import com.Ems.EmployeeManagmentSystem.Enum.BulkItemStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import com.Ems.EmployeeManagmentSystem.Enum.Role;
+import com.Ems.EmployeeManagmentSystem.Repository.UsersRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class UserBulkServiceImpl implements UserBulkService {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final UsersRepository usersRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EmailIndexService emailIndexService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+    // Shared by every bulk request, so together they never submit more than the executor queue holds.
+    // A slot is freed before its worker thread is, so the pool threads cannot be counted as well
+    private final Semaphore hashSlots;
+
+    @Value("${users.bulk.max-items:5000}")
+    private int maxItems;
+
+    @Value("${users.bulk.batch-size:100}")
+    private int batchSize;
+
+    public UserBulkServiceImpl(UsersRepository usersRepository,
+                               PasswordEncoder passwordEncoder,
+                               EmailIndexService emailIndexService,
+                               Validator validator,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper,
+                               @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor) {
+        this.usersRepository = usersRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.emailIndexService = emailIndexService;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.hashSlots = new Semaphore(passwordHashExecutor.getQueueCapacity());
+    }
+
+    @Override
+    public void checkRequestSize(List<UserRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one user is required");
+        }
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException(
+                    "At most " + maxItems + " users can be registered at once, got " + requests.size());
+        }
+    }
+
+    @Override
+    public void registerUsers(List<UserRequestDTO> requests, OutputStream out) throws IOException {
+        checkRequestSize(requests);
+        long startTime = System.currentTimeMillis();
+        log.info("Bulk registration of {} users in batches of {}", requests.size(), batchSize);
+
+        Set<String> emails = new HashSet<>();
+        int created = 0;
+        Batch current = null;
+        Batch following = null;
+        try {
+            // The next batch is checked and hashing while the current one is inserted and written
+            current = prepare(requests, 0, emails);
+            while (current != null) {
+                int next = current.start + current.results.length;
+                following = next < requests.size() ? prepare(requests, next, emails) : null;
+                created += write(current);
+                writeResults(current, out);
+                current = following;
+                following = null;
+            }
+        } catch (IOException | RuntimeException e) {
+            cancel(current);
+            cancel(following);
+            log.warn("Bulk registration stopped after {} users created", created, e);
+            throw e;
+        }
+
+        log.info("Bulk registration finished: {} of {} users created in {}ms", created, requests.size(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Validates one batch, drops the emails already taken and queues the remaining passwords on the
+     * hash executor. Blocks while the executor is full.
+     */
+    private Batch prepare(List<UserRequestDTO> requests, int start, Set<String> emails) {
+        int end = Math.min(start + batchSize, requests.size());
+        Batch batch = new Batch(start, end - start);
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            UserRequestDTO request = requests.get(i);
+            String error = validate(request);
+            if (error == null && !emails.add(request.getEmail().toLowerCase(Locale.ROOT))) {
+                error = "Duplicate email in request: " + request.getEmail();
+            }
+            if (error != null) {
+                batch.results[i - start] = rejected(i, request, error);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        // Only emails the index cannot rule out cost a query, and taken emails are never hashed
+        Set<String> existingEmails = findExistingEmails(accepted.stream().map(i -> requests.get(i).getEmail()).toList());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i : accepted) {
+            UserRequestDTO request = requests.get(i);
+            if (existingEmails.contains(request.getEmail().toLowerCase(Locale.ROOT))) {
+                batch.results[i - start] = rejected(i, request, "User already exists with email " + request.getEmail());
+                continue;
+            }
+            Users user = new Users();
+            user.setEmail(request.getEmail());
+            user.setRole(Role.valueOf(request.getRole().trim().toUpperCase(Locale.ROOT)));
+            user.setIsActive(true);
+            user.setIsDeleted(false);
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            batch.add(i, user, hash(request.getPassword()));
+        }
+        return batch;
+    }
+
+    private CompletableFuture<String> hash(String password) {
+        try {
+            hashSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the password hash executor", e);
+        }
+        // The slot is freed when the task leaves the executor, whether it hashed or was cancelled
+        CompletableFuture<String> hash = new CompletableFuture<>();
+        try {
+            passwordHashExecutor.execute(() -> {
+                try {
+                    if (!hash.isDone()) {
+                        hash.complete(passwordEncoder.encode(password));
+                    }
+                } catch (RuntimeException e) {
+                    hash.completeExceptionally(e);
+                } finally {
+                    hashSlots.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            hashSlots.release();
+            throw e;
+        }
+        return hash;
+    }
+
+    /**
+     * Waits for the batch's hashes and inserts its users in one transaction. A user registered by
+     * someone else since the batch was checked fails the whole insert; the batch is then checked
+     * against the table again and inserted without the taken emails.
+     */
+    private int write(Batch batch) {
+        for (int k = 0; k < batch.users.size(); k++) {
+            batch.users.get(k).setPassword(join(batch.hashes.get(k)));
+        }
+        if (batch.users.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> usersRepository.insertBatch(batch.users));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Bulk registration batch at user {} raced another registration, retrying without taken emails",
+                    batch.start);
+            Set<String> taken = usersRepository.findExistingEmails(batch.users.stream().map(Users::getEmail).toList());
+            emailIndexService.addAll(EmailScope.USER, taken);
+            for (int k = batch.users.size() - 1; k >= 0; k--) {
+                Users user = batch.users.get(k);
+                if (taken.contains(user.getEmail().toLowerCase(Locale.ROOT))) {
+                    int index = batch.positions.get(k);
+                    batch.results[index - batch.start] = new UserBulkItemResultDTO(index, BulkItemStatus.REJECTED,
+                            null, user.getEmail(), user.getRole().name(), "User already exists with email " + user.getEmail());
+                    batch.users.remove(k);
+                    batch.positions.remove(k);
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> usersRepository.insertBatch(batch.users));
+        }
+        emailIndexService.addAll(EmailScope.USER, batch.users.stream().map(Users::getEmail).toList());
+
+        for (int k = 0; k < batch.users.size(); k++) {
+            Users user = batch.users.get(k);
+            int index = batch.positions.get(k);
+            batch.results[index - batch.start] = new UserBulkItemResultDTO(index, BulkItemStatus.CREATED,
+                    user.getId(), user.getEmail(), user.getRole().name(), null);
+        }
+        return batch.users.size();
+    }
+
+    private void writeResults(Batch batch, OutputStream out) throws IOException {
+        for (UserBulkItemResultDTO result : batch.results) {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write(NEWLINE);
+        }
+        out.flush();
+    }
+
+    private String validate(UserRequestDTO request) {
+        if (request == null) {
+            return "User is required";
+        }
+        Set<ConstraintViolation<UserRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        String role = request.getRole();
+        boolean knownRole = role != null && Arrays.stream(Role.values()).anyMatch(r -> r.name().equalsIgnoreCase(role.trim()));
+        return knownRole ? null : "Role must be one of " + Arrays.toString(Role.values());
+    }
+
+    private Set<String> findExistingEmails(List<String> emails) {
+        List<String> candidates = emailIndexService.filterMightExist(EmailScope.USER, emails);
+        return candidates.isEmpty() ? Set.of() : usersRepository.findExistingEmails(candidates);
+    }
+
+    private static String join(CompletableFuture<String> hash) {
+        try {
+            return hash.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Password hashing was cancelled", e);
+        }
+    }
+
+    private static void cancel(Batch batch) {
+        if (batch != null) {
+            batch.cancel();
+        }
+    }
+
+    private static UserBulkItemResultDTO rejected(int index, UserRequestDTO request, String error) {
+        String email = request != null ? request.getEmail() : null;
+        String role = request != null ? request.getRole() : null;
+        return new UserBulkItemResultDTO(index, BulkItemStatus.REJECTED, null, email, role, error);
+    }
+
+    /**
+     * Consecutive users of the request, from {@code start}: a result slot for each, and the users
+     * still to insert with their request positions and pending password hashes.
+     */
+    private static final class Batch {
+        private final int start;
+        private final UserBulkItemResultDTO[] results;
+        private final List<Users> users = new ArrayList<>();
+        private final List<Integer> positions = new ArrayList<>();
+        private final List<CompletableFuture<String>> hashes = new ArrayList<>();
+
+        Batch(int start, int size) {
+            this.start = start;
+            this.results = new UserBulkItemResultDTO[size];
+        }
+
+        void add(int position, Users user, CompletableFuture<String> hash) {
+            users.add(user);
+            positions.add(position);
+            hashes.add(hash);
+        }
+
+        // Queued hashes are skipped; one already running finishes and is dropped
+        void cancel() {
+            hashes.forEach(hash -> hash.cancel(false));
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.Ems.EmployeeManagmentSystem.Service;
 
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
 import com.Ems.EmployeeManagmentSystem.dto.Request.LoginRequestDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Request.UserRequestDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Response.JwtResponse;
 import com.Ems.EmployeeManagmentSystem.dto.Response.UserResponseDTO;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportCompression;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
 
 public interface UserService {
 
@@ -16,5 +20,23 @@ public interface UserService {
 
     UserResponseDTO deleteUser(Long id);
 
-    void exportUsersPaginated(HttpServletResponse response) throws IOException;
+    default void exportUsersPaginated(HttpServletResponse response) throws IOException {
+        exportUsersPaginated(response, ExportCompression.NONE);
+    }
+
+    void exportUsersPaginated(HttpServletResponse response, ExportCompression compression) throws IOException;
+
+    /**
+     * Writes the users CSV to {@code outputStream} without closing it. The listener receives
+     * the running row count after every batch. Returns the total number of rows written.
+     */
+    long writeUsersCsv(OutputStream outputStream, LongConsumer progressListener) throws IOException;
+
+    /**
+     * Delta export: streams every user saved after {@code since}, soft-deleted ones included. The
+     * watermark to pass on the next sync is set on the response headers before the body and also
+     * returned.
+     */
+    ExportWatermark exportUserChanges(HttpServletResponse response, ExportWatermark since,
+                                      ExportCompression compression) throws IOException;
 }
@@ -1,26 +1,27 @@
 package com.Ems.EmployeeManagmentSystem.Service;
 
+import com.Ems.EmployeeManagmentSystem.Csv.CsvRowWriter;
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
 import com.Ems.EmployeeManagmentSystem.dto.Request.LoginRequestDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Request.UserRequestDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Response.JwtResponse;
 import com.Ems.EmployeeManagmentSystem.dto.Response.UserResponseDTO;
 import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportCompression;
 import com.Ems.EmployeeManagmentSystem.Exceptions.AuthenticationFailedException;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ConstraintViolations;
 import com.Ems.EmployeeManagmentSystem.Exceptions.UserAlreadyExistsException;
 import com.Ems.EmployeeManagmentSystem.Exceptions.UserNotFoundException;
 import com.Ems.EmployeeManagmentSystem.Mapper.UserMapper;
 import com.Ems.EmployeeManagmentSystem.Repository.UsersRepository;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -31,12 +32,16 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
 
 @Service
 @RequiredArgsConstructor
@@ -48,36 +53,55 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final EmailIndexService emailIndexService;
+
+    @Qualifier("exportPrefetchExecutor")
+    private final Executor exportPrefetchExecutor;
     private String tokenType = "Bearer";
 
     @Value("${employee.import.batch-size}")
     private int BATCH_SIZE;
 
+    // Longer than the longest write transaction plus the clock skew between nodes
+    @Value("${employee.export.delta.safety-lag-ms:300000}")
+    private long deltaSafetyLagMs;
+
     @Override
     public UserResponseDTO createUser(UserRequestDTO userRequestDTO) {
-        Optional<Users> existingUserOpt = usersRepository.findByEmail(userRequestDTO.getEmail());
-
-        if (existingUserOpt.isPresent()) {
-            Users existingUser = existingUserOpt.get();
-
-            if (existingUser.getRole().toString().equals(userRequestDTO.getRole())){
-                log.info("User already exists with email {} and role {}", userRequestDTO.getEmail(), userRequestDTO.getRole());
-                throw new UserAlreadyExistsException("User already exists with email " + userRequestDTO.getEmail() + " and role " + userRequestDTO.getRole());
-            }
-
-            log.info("User already exists with email {}", userRequestDTO.getEmail());
-            throw new UserAlreadyExistsException("User already exists with email " + userRequestDTO.getEmail());
-        }
-
         Users newUser = userMapper.toEntity(userRequestDTO);
         newUser.setPassword(passwordEncoder.encode(newUser.getPassword()));
         newUser.setIsActive(true);
         newUser.setIsDeleted(false);
-        Users savedUser = usersRepository.save(newUser);
+
+        // The unique constraint on the email decides; no query ahead of the insert
+        Users savedUser;
+        try {
+            savedUser = usersRepository.save(newUser);
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintViolations.violates(e, Users.EMAIL_CONSTRAINT)) {
+                throw e;
+            }
+            throw userAlreadyExists(userRequestDTO);
+        }
+        emailIndexService.add(EmailScope.USER, savedUser.getEmail());
 
         return userMapper.toDto(savedUser);
     }
 
+    // Only reached on a conflict, so the extra lookup for the message costs nothing on the normal path
+    private UserAlreadyExistsException userAlreadyExists(UserRequestDTO userRequestDTO) {
+        emailIndexService.add(EmailScope.USER, userRequestDTO.getEmail());
+        Optional<Users> existingUser = usersRepository.findByEmail(userRequestDTO.getEmail());
+
+        if (existingUser.isPresent() && existingUser.get().getRole().toString().equals(userRequestDTO.getRole())) {
+            log.info("User already exists with email {} and role {}", userRequestDTO.getEmail(), userRequestDTO.getRole());
+            return new UserAlreadyExistsException("User already exists with email " + userRequestDTO.getEmail() + " and role " + userRequestDTO.getRole());
+        }
+
+        log.info("User already exists with email {}", userRequestDTO.getEmail());
+        return new UserAlreadyExistsException("User already exists with email " + userRequestDTO.getEmail());
+    }
+
     @Override
     public JwtResponse login(LoginRequestDTO loginRequestDTO) {
         log.info("Login user with email : {}", loginRequestDTO.getEmail());
@@ -105,77 +129,123 @@ public class UserServiceImpl implements UserService {
         }
     }
 
-    @Transactional
-    public void exportUsersPaginated(HttpServletResponse response) throws IOException {
-        log.info("Starting CSV export for all users");
-        long startTime = System.currentTimeMillis();
+    @Override
+    public void exportUsersPaginated(HttpServletResponse response, ExportCompression compression) throws IOException {
+        log.info("Starting CSV export for all users with compression {}", compression);
 
         try {
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String filename = String.format("users_export_%s.csv", timestamp);
+            String baseName = String.format("users_export_%s", timestamp);
+            String filename = baseName + compression.getFileExtension();
 
-            response.setContentType("text/csv; charset=UTF-8");
-            response.setCharacterEncoding("UTF-8");
+            response.setContentType(compression.getContentType());
+            if (compression == ExportCompression.NONE) {
+                response.setCharacterEncoding("UTF-8");
+            }
             response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
 
-            Writer writer = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
-
-            // Add BOM for Excel compatibility
-            writer.write('\ufeff');
+            OutputStream out = compression.wrap(response.getOutputStream(), baseName + ".csv");
+            writeUsersCsv(out, rowsWritten -> { });
+            ExportCompression.finish(out);
 
-            // CSV Header
-            CSVFormat csvFormat = CSVFormat.DEFAULT.builder()
-                    .setHeader("User ID", "Email", "Role", "Is Active", "Is Deleted", "Created At", "Updated At")
-                    .setDelimiter(',')
-                    .setRecordSeparator("\r\n")
-                    .setQuoteMode(org.apache.commons.csv.QuoteMode.MINIMAL)
-                    .build();
+        } catch (IOException e) {
+            log.error("IO error during user CSV export", e);
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error during user CSV export", e);
+            throw new RuntimeException("Failed to export users to CSV", e);
+        }
+    }
 
-            try (CSVPrinter csvPrinter = new CSVPrinter(writer, csvFormat)) {
+    @Override
+    public long writeUsersCsv(OutputStream outputStream, LongConsumer progressListener) throws IOException {
+        long startTime = System.currentTimeMillis();
 
-                int pageNumber = 0;
-                int batchSize = BATCH_SIZE;
-                int totalExported = 0;
-                Page<Users> page;
+        long totalExported = writeUserRows(outputStream, usersRepository::findExportBatch, 0L, Users::getId,
+                progressListener);
 
-                do {
-                    Pageable pageable = PageRequest.of(pageNumber, batchSize, Sort.by(Sort.Direction.ASC, "id"));
-                    page = usersRepository.findAll(pageable);
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("User CSV export completed. Total users: {}, Duration: {}ms", totalExported, duration);
+        return totalExported;
+    }
 
-                    log.debug("Processing batch {}: {} users", pageNumber + 1, page.getNumberOfElements());
+    @Override
+    public ExportWatermark exportUserChanges(HttpServletResponse response, ExportWatermark since,
+                                             ExportCompression compression) throws IOException {
+        log.info("Starting delta CSV export for users changed after {}", since);
 
-                    for (Users user : page.getContent()) {
-                        csvPrinter.printRecord(
-                                user.getId() != null ? user.getId() : "",
-                                user.getEmail() != null ? user.getEmail() : "",
-                                user.getRole() != null ? user.getRole().name() : "",
-                                user.getIsActive() != null ? user.getIsActive().toString() : "false",
-                                user.getIsDeleted() != null ? user.getIsDeleted().toString() : "false",
-                                user.getCreatedAt() != null ? user.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) : "",
-                                user.getUpdatedAt() != null ? user.getUpdatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) : ""
-                        );
-                        totalExported++;
-                    }
+        try {
+            // Fixing the upper bound first lets the next watermark go out in the headers; rows
+            // saved while this export streams are left for the next sync. updated_at is stamped
+            // before commit, so rows younger than the safety lag may still have uncommitted
+            // siblings with older stamps and are left for the next sync too
+            ExportWatermark upTo = usersRepository.findLatestWatermark(LocalDateTime.now().minus(deltaSafetyLagMs, ChronoUnit.MILLIS))
+                    .filter(latest -> latest.isAfter(since))
+                    .orElse(since);
 
-                    pageNumber++;
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            String baseName = String.format("users_changes_%s", timestamp);
+            String filename = baseName + compression.getFileExtension();
 
-                } while (page.hasNext());
+            response.setContentType(compression.getContentType());
+            if (compression == ExportCompression.NONE) {
+                response.setCharacterEncoding("UTF-8");
+            }
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+            response.setHeader(ExportWatermark.NEXT_SINCE_HEADER, upTo.getUpdatedAt().toString());
+            response.setHeader(ExportWatermark.NEXT_AFTER_ID_HEADER, upTo.getId().toString());
 
-                csvPrinter.flush();
+            long startTime = System.currentTimeMillis();
+            OutputStream out = compression.wrap(response.getOutputStream(), baseName + ".csv");
+            long totalExported = writeUserRows(out,
+                    (after, limit) -> usersRepository.findChangedBatch(after, upTo, limit),
+                    since, user -> new ExportWatermark(user.getUpdatedAt(), user.getId()),
+                    rowsWritten -> { });
+            ExportCompression.finish(out);
 
-                long duration = System.currentTimeMillis() - startTime;
-                log.info("User CSV export completed. Total users: {}, Duration: {}ms", totalExported, duration);
-            }
+            log.info("Delta CSV export completed. Changed users: {}, next watermark: {}, Duration: {}ms",
+                    totalExported, upTo, System.currentTimeMillis() - startTime);
+            return upTo;
 
         } catch (IOException e) {
-            log.error("IO error during user CSV export", e);
+            log.error("IO error during user delta CSV export", e);
             throw e;
         } catch (Exception e) {
-            log.error("Unexpected error during user CSV export", e);
-            throw new RuntimeException("Failed to export users to CSV", e);
+            log.error("Unexpected error during user delta CSV export", e);
+            throw new RuntimeException("Failed to export changed users to CSV", e);
         }
     }
 
+    private <K> long writeUserRows(OutputStream outputStream, BiFunction<K, Limit, List<Users>> fetcher, K start,
+                                   Function<Users, K> keyOf, LongConsumer progressListener) throws IOException {
+        CsvRowWriter csv = new CsvRowWriter(outputStream);
+
+        // BOM for Excel compatibility, then the header row
+        csv.bom().header("User ID", "Email", "Role", "Is Active", "Is Deleted", "Created At", "Updated At");
+
+        long[] totalExported = {0};
+
+        KeysetBatches.forEach(fetcher, start, keyOf, BATCH_SIZE, exportPrefetchExecutor, batch -> {
+            log.debug("Processing batch of {} users", batch.size());
+
+            for (Users user : batch) {
+                csv.field(user.getId())
+                        .field(user.getEmail())
+                        .field(user.getRole())
+                        .field(user.getIsActive())
+                        .field(user.getIsDeleted())
+                        .field(user.getCreatedAt())
+                        .field(user.getUpdatedAt())
+                        .endRow();
+            }
+            totalExported[0] += batch.size();
+            progressListener.accept(totalExported[0]);
+        });
+
+        csv.flush();
+        return totalExported[0];
+    }
+
     @Override
     public UserResponseDTO deleteUser(Long id) {
         log.info("Deleting user with ID: {}", id);
@@ -0,0 +1,19 @@
+package com.Ems.EmployeeManagmentSystem.dto.Request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One item of {@code PUT /employee/bulk}: the full employee, as for {@code PUT /employee/{id}},
+ * plus the id it replaces.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class EmployeeBulkUpdateRequestDTO extends EmployeeRequestDTO {
+
+    @NotNull(message = "Employee id is required")
+    private Long id;
+}
@@ -0,0 +1,67 @@
+package com.Ems.EmployeeManagmentSystem.dto.Request;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeSortField;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the cursor listing: rows are ordered by {@code (sortBy, id)} descending and a cursor
+ * points just past the last row a client has seen. Clients get it as an opaque URL-safe token and
+ * send it back unchanged with the same filters and sortBy.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class EmployeeCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private EmployeeSortField sortBy;
+    private String key;
+    private Long id;
+
+    public static EmployeeCursor after(EmployeeSortField sortBy, Employee employee) {
+        return new EmployeeCursor(sortBy, sortBy.keyOf(employee), employee.getId());
+    }
+
+    // The key goes last since a name or email may contain the separator
+    public String encode() {
+        String raw = sortBy.getProperty() + SEPARATOR + id + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a token written by {@link #encode}, checking it was issued for {@code expectedSortBy}.
+     * Throws {@code IllegalArgumentException} for anything else.
+     */
+    public static EmployeeCursor decode(String token, EmployeeSortField expectedSortBy) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!expectedSortBy.getProperty().equals(parts[0])) {
+            throw new IllegalArgumentException("Cursor was issued for sortBy=" + parts[0]
+                    + ", not sortBy=" + expectedSortBy.getProperty());
+        }
+        EmployeeCursor cursor;
+        try {
+            cursor = new EmployeeCursor(expectedSortBy, parts[2], Long.valueOf(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        expectedSortBy.parseKey(cursor.key);
+        return cursor;
+    }
+}
@@ -0,0 +1,36 @@
+package com.Ems.EmployeeManagmentSystem.dto.Request;
+
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeExportColumn;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.MatchMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Row filters and column selection for the employee export. The filters match the admin listing
+ * ({@code EmployeeSpecifications.matching}); a null filter is not applied.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeExportFilter {
+
+    private String name;
+    @Builder.Default
+    private MatchMode matchMode = MatchMode.PREFIX;
+    private EmployeeStatus status;
+    private String department;
+    private Boolean isActive;
+
+    @Builder.Default
+    private List<EmployeeExportColumn> columns = EmployeeExportColumn.defaults();
+
+    public static EmployeeExportFilter all() {
+        return EmployeeExportFilter.builder().build();
+    }
+}
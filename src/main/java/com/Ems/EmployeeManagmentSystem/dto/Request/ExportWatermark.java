@@ -0,0 +1,40 @@
+package com.Ems.EmployeeManagmentSystem.dto.Request;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position in a delta export: rows are ordered by {@code (updatedAt, id)} and a watermark points
+ * just past the last row a client has seen. The id breaks ties between rows saved within the
+ * same timestamp.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ExportWatermark {
+
+    public static final String NEXT_SINCE_HEADER = "X-Export-Next-Since";
+    public static final String NEXT_AFTER_ID_HEADER = "X-Export-Next-After-Id";
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private LocalDateTime updatedAt;
+    private Long id;
+
+    /**
+     * Watermark before every row, for a client's first sync.
+     */
+    public static ExportWatermark initial() {
+        return new ExportWatermark(EPOCH, 0L);
+    }
+
+    public boolean isAfter(ExportWatermark other) {
+        int byTime = updatedAt.compareTo(other.updatedAt);
+        return byTime > 0 || (byTime == 0 && id > other.id);
+    }
+}
@@ -0,0 +1,22 @@
+package com.Ems.EmployeeManagmentSystem.dto.Response;
+
+import com.Ems.EmployeeManagmentSystem.Enum.BulkItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBulkItemResultDTO {
+    /** Position of the item in the request array, from 0. */
+    private int index;
+    private BulkItemStatus status;
+    private Long id;
+    private String employeeCode;
+    private String email;
+    /** Why the item was rejected; null otherwise. */
+    private String error;
+}
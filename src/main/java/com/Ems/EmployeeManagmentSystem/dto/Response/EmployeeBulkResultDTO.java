@@ -0,0 +1,22 @@
+package com.Ems.EmployeeManagmentSystem.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeBulkResultDTO {
+    private int totalItems;
+    private int succeededItems;
+    private int rejectedItems;
+    /** One result per request item, in request order. */
+    private List<EmployeeBulkItemResultDTO> items;
+}
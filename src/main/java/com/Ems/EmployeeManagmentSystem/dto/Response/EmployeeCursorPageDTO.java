@@ -0,0 +1,22 @@
+package com.Ems.EmployeeManagmentSystem.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeCursorPageDTO {
+    private List<EmployeeResponseDTO> content;
+    private int size;
+    private boolean hasNext;
+    /** Pass as {@code cursor} to get the next page; null on the last page. */
+    private String nextCursor;
+}
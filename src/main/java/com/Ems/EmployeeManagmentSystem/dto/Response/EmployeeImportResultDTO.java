@@ -0,0 +1,27 @@
+package com.Ems.EmployeeManagmentSystem.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeImportResultDTO {
+    private long totalRows;
+    private long importedRows;
+    /** Merge mode only: existing employees whose fields changed, and those left as they were. */
+    private long updatedRows;
+    private long unchangedRows;
+    private long rejectedRows;
+    private long durationMs;
+    /** The first rejected rows with their reasons; rejectedRows has the full count. */
+    private List<ImportRowErrorDTO> errors;
+    private List<ImportStageDTO> stages;
+}
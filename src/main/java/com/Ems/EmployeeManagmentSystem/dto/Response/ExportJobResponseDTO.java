@@ -0,0 +1,34 @@
+package com.Ems.EmployeeManagmentSystem.dto.Response;
+
+import com.Ems.EmployeeManagmentSystem.Enum.ExportCompression;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportJobStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportJobResponseDTO {
+    private String jobId;
+    private ExportType type;
+    private ExportCompression compression;
+    private ExportJobStatus status;
+    private long rowsWritten;
+    private double rowsPerSecond;
+    private Long fileSizeBytes;
+    private String fileName;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+}
@@ -0,0 +1,40 @@
+package com.Ems.EmployeeManagmentSystem.dto.Response;
+
+import com.Ems.EmployeeManagmentSystem.Enum.ImportJobStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.ImportMode;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobResponseDTO {
+    private String jobId;
+    private String fileName;
+    private ImportJobStatus status;
+    private ImportMode mode;
+    private long rowsParsed;
+    private long rowsValid;
+    private long rowsInserted;
+    private long rowsUpdated;
+    private long rowsUnchanged;
+    private long rowsRejected;
+    private long lastCommittedRow;
+    private double rowsPerSecond;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+    /** Pipeline stages of the run in progress on this node; absent once the job has finished. */
+    private List<ImportStageDTO> stages;
+}
@@ -0,0 +1,16 @@
+package com.Ems.EmployeeManagmentSystem.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDTO {
+    private long rowNumber;
+    private String email;
+    private String message;
+}
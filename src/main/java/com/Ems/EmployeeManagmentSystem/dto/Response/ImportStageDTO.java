@@ -0,0 +1,27 @@
+package com.Ems.EmployeeManagmentSystem.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Throughput of one stage of the import pipeline. The bottleneck is the stage whose utilization
+ * is close to 1 and whose input queue stays full; the stages after it wait on an empty queue.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportStageDTO {
+    private String stage;
+    private int threads;
+    private long rowsProcessed;
+    private double rowsPerSecond;
+    /** Share of the stage's thread time spent working rather than waiting on a queue, 0 to 1. */
+    private double utilization;
+    private int queueDepth;
+    private int queueCapacity;
+}
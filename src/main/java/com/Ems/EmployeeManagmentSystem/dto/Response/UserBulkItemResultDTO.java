@@ -0,0 +1,25 @@
+package com.Ems.EmployeeManagmentSystem.dto.Response;
+
+import com.Ems.EmployeeManagmentSystem.Enum.BulkItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One line of the {@code POST /users/bulk} response stream.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBulkItemResultDTO {
+    /** Position of the user in the request array, from 0. */
+    private int index;
+    private BulkItemStatus status;
+    private Long id;
+    private String email;
+    private String role;
+    /** Why the user was rejected; null otherwise. */
+    private String error;
+}
@@ -1,13 +0,0 @@
-CREATE TABLE employee (
-                          id BIGINT AUTO_INCREMENT PRIMARY KEY,
-                          employee_code VARCHAR(20) NOT NULL UNIQUE,
-                          first_name VARCHAR(50) NOT NULL,
-                          last_name VARCHAR(50) NOT NULL,
-                          email VARCHAR(100) NOT NULL UNIQUE,
-                          department VARCHAR(100) NOT NULL,
-                          status VARCHAR(50) NOT NULL,
-                          date_of_joining DATE NOT NULL,
-                          is_active BOOLEAN NOT NULL DEFAULT TRUE,
-                          created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                          updated_at TIMESTAMP NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
-);
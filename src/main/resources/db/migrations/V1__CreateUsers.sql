@@ -0,0 +1,15 @@
+CREATE TABLE users (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    email      VARCHAR(100) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    role       VARCHAR(20)  NOT NULL,
+    is_active  BOOLEAN      NOT NULL DEFAULT TRUE,
+    is_deleted BOOLEAN      NOT NULL DEFAULT FALSE,
+    created_at DATETIME(6)  NOT NULL,
+    updated_at DATETIME(6)  NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- Incremental user export: rows changed after a (updated_at, id) watermark
+CREATE INDEX idx_users_updated_at ON users (updated_at, id);
@@ -0,0 +1,24 @@
+-- Ids come from id_allocation (IdBlockAllocator), so there is no AUTO_INCREMENT
+CREATE TABLE employee (
+    id              BIGINT       NOT NULL,
+    employee_code   VARCHAR(20),
+    first_name      VARCHAR(50)  NOT NULL,
+    last_name       VARCHAR(50)  NOT NULL,
+    email           VARCHAR(100) NOT NULL,
+    department      VARCHAR(100) NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    date_of_joining DATE         NOT NULL,
+    is_active       BOOLEAN      NOT NULL DEFAULT TRUE,
+    is_deleted      BOOLEAN      NOT NULL DEFAULT FALSE,
+    user_id         BIGINT,
+    created_at      DATETIME(6)  NOT NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    CONSTRAINT pk_employee PRIMARY KEY (id),
+    CONSTRAINT uk_employee_email UNIQUE (email),
+    CONSTRAINT uk_employee_employee_code UNIQUE (employee_code),
+    CONSTRAINT uk_employee_user_id UNIQUE (user_id),
+    CONSTRAINT fk_employee_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Incremental employee export: rows changed after a (updated_at, id) watermark
+CREATE INDEX idx_employee_updated_at ON employee (updated_at, id);
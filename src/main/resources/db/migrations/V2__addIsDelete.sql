@@ -1 +0,0 @@
-ALTER TABLE employee ADD COLUMN is_deleted BOOLEAN DEFAULT FALSE;
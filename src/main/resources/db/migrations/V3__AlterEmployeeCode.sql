@@ -1 +0,0 @@
-ALTER TABLE employee MODIFY employee_code VARCHAR(20) NULL;
@@ -0,0 +1,6 @@
+-- One row per id sequence, created on the first lease
+CREATE TABLE id_allocation (
+    name       VARCHAR(64) NOT NULL,
+    next_value BIGINT      NOT NULL,
+    CONSTRAINT pk_id_allocation PRIMARY KEY (name)
+);
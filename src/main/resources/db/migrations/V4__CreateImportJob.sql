@@ -0,0 +1,20 @@
+CREATE TABLE import_job (
+    id                 VARCHAR(36)   NOT NULL,
+    file_name          VARCHAR(255),
+    status             VARCHAR(16)   NOT NULL,
+    mode               VARCHAR(16)   NOT NULL,
+    rows_valid         BIGINT        NOT NULL,
+    rows_inserted      BIGINT        NOT NULL,
+    rows_updated       BIGINT        NOT NULL,
+    rows_unchanged     BIGINT        NOT NULL,
+    rows_rejected      BIGINT        NOT NULL,
+    last_committed_row BIGINT        NOT NULL,
+    rejected_file_size BIGINT        NOT NULL,
+    resumed_from_row   BIGINT        NOT NULL,
+    started_at         DATETIME(6),
+    finished_at        DATETIME(6),
+    error_message      VARCHAR(1000),
+    created_at         DATETIME(6)   NOT NULL,
+    updated_at         DATETIME(6)   NOT NULL,
+    CONSTRAINT pk_import_job PRIMARY KEY (id)
+);
@@ -0,0 +1,12 @@
+-- Admin listing (EmployeeSpecifications). The equality filters lead and created_at, the default
+-- sortBy, follows, so a page is read in order from the index instead of sorting every match.
+CREATE INDEX idx_employee_active_created ON employee (is_active, created_at);
+CREATE INDEX idx_employee_status_active_created ON employee (status, is_active, created_at);
+CREATE INDEX idx_employee_department_active_created ON employee (department, is_active, created_at);
+
+-- Name prefix search: MySQL merges the two for first_name LIKE 'x%' OR last_name LIKE 'x%'
+CREATE INDEX idx_employee_first_name ON employee (first_name);
+CREATE INDEX idx_employee_last_name ON employee (last_name);
+
+-- Export scan: filtered exports seek id > :lastId in id order within the active or inactive rows
+CREATE INDEX idx_employee_active_id ON employee (is_active, id);
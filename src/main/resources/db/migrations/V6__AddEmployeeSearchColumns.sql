@@ -0,0 +1,25 @@
+-- Lower-cased copies of the searched columns, written by the application (Employee setters and
+-- the JDBC import). Searches compare them as stored, so no LOWER() per row and the indexes apply.
+ALTER TABLE employee ADD COLUMN first_name_norm VARCHAR(50) DEFAULT '' NOT NULL;
+ALTER TABLE employee ADD COLUMN last_name_norm VARCHAR(50) DEFAULT '' NOT NULL;
+ALTER TABLE employee ADD COLUMN department_norm VARCHAR(100) DEFAULT '' NOT NULL;
+
+UPDATE employee
+SET first_name_norm = LOWER(TRIM(first_name)),
+    last_name_norm  = LOWER(TRIM(last_name)),
+    department_norm = LOWER(TRIM(department));
+
+-- The defaults only served the backfill; every insert has to supply the values
+ALTER TABLE employee ALTER COLUMN first_name_norm DROP DEFAULT;
+ALTER TABLE employee ALTER COLUMN last_name_norm DROP DEFAULT;
+ALTER TABLE employee ALTER COLUMN department_norm DROP DEFAULT;
+
+-- The search no longer reads the raw name and department columns
+DROP INDEX idx_employee_first_name ON employee;
+DROP INDEX idx_employee_last_name ON employee;
+DROP INDEX idx_employee_department_active_created ON employee;
+
+-- Prefix search is a range scan on each; MySQL merges the two for the OR of first and last name
+CREATE INDEX idx_employee_first_name_norm ON employee (first_name_norm);
+CREATE INDEX idx_employee_last_name_norm ON employee (last_name_norm);
+CREATE INDEX idx_employee_department_norm_active_created ON employee (department_norm, is_active, created_at);
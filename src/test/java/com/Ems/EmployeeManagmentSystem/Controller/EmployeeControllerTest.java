@@ -2,10 +2,18 @@ package com.Ems.EmployeeManagmentSystem.Controller;
 
 import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeRequestDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Response.CommonResponse;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeBulkItemResultDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeBulkResultDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeCursorPageDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeResponseDTO;
+import com.Ems.EmployeeManagmentSystem.Enum.BulkItemStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeSortField;
 import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.MatchMode;
+import com.Ems.EmployeeManagmentSystem.Service.EmployeeBulkService;
 import com.Ems.EmployeeManagmentSystem.Service.EmployeeServiceImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +23,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -36,6 +47,9 @@ class EmployeeControllerTest {
     @Mock
     private EmployeeServiceImpl employeeService;
 
+    @Mock
+    private EmployeeBulkService employeeBulkService;
+
     @InjectMocks
     private EmployeeController employeeController;
 
@@ -46,7 +60,7 @@ class EmployeeControllerTest {
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(employeeController).build();
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
 
         // Setup valid EmployeeRequestDTO
         validEmployeeRequest = new EmployeeRequestDTO();
@@ -234,7 +248,7 @@ class EmployeeControllerTest {
     void getEmployees_WithFilters_ShouldReturnPaginatedResponse() throws Exception {
         // Arrange
         Page<EmployeeResponseDTO> employeePage = new PageImpl<>(List.of(employeeResponseDTO));
-        when(employeeService.getEmployee(anyString(), any(), anyString(), anyBoolean(), anyInt(), anyInt(), anyString()))
+        when(employeeService.getEmployee(anyString(), any(), any(), anyString(), anyBoolean(), anyInt(), anyInt(), anyString()))
                 .thenReturn(employeePage);
 
         // Act & Assert
@@ -252,7 +266,7 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.data.content[0].id").value(1))
                 .andExpect(jsonPath("$.data.content[0].firstName").value("John"));
 
-        verify(employeeService, times(1)).getEmployee("John", EmployeeStatus.ACTIVE, "Engineering", true, 0, 10, "createdAt");
+        verify(employeeService, times(1)).getEmployee("John", MatchMode.PREFIX, EmployeeStatus.ACTIVE, "Engineering", true, 0, 10, "createdAt");
     }
 
     @Test
@@ -260,7 +274,7 @@ class EmployeeControllerTest {
     void getEmployees_WithDefaultParameters_ShouldReturnPaginatedResponse() throws Exception {
         // Arrange
         Page<EmployeeResponseDTO> employeePage = new PageImpl<>(List.of(employeeResponseDTO));
-        when(employeeService.getEmployee(isNull(), isNull(), isNull(), eq(true), eq(0), eq(10), eq("createdAt")))
+        when(employeeService.getEmployee(isNull(), eq(MatchMode.PREFIX), isNull(), isNull(), eq(true), eq(0), eq(10), eq("createdAt")))
                 .thenReturn(employeePage);
 
         // Act & Assert
@@ -270,7 +284,72 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.message").value("Employees fetched successfully"))
                 .andExpect(jsonPath("$.data.content[0].id").value(1));
 
-        verify(employeeService, times(1)).getEmployee(null, null, null, true, 0, 10, "createdAt");
+        verify(employeeService, times(1)).getEmployee(null, MatchMode.PREFIX, null, null, true, 0, 10, "createdAt");
+    }
+
+    @Test
+    @DisplayName("GET /employee/admin - Should pass the contains match mode to the service")
+    void getEmployees_WithContainsMatchMode_ShouldSearchAnywhereInName() throws Exception {
+        // Arrange
+        Page<EmployeeResponseDTO> employeePage = new PageImpl<>(List.of(employeeResponseDTO), PageRequest.of(0, 10), 1);
+        when(employeeService.getEmployee(eq("ohn"), eq(MatchMode.CONTAINS), isNull(), isNull(), eq(true), eq(0), eq(10), eq("createdAt")))
+                .thenReturn(employeePage);
+
+        // Act & Assert
+        mockMvc.perform(get("/employee/admin")
+                .param("name", "ohn")
+                .param("matchMode", "contains"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].firstName").value("John"));
+
+        verify(employeeService, times(1)).getEmployee("ohn", MatchMode.CONTAINS, null, null, true, 0, 10, "createdAt");
+    }
+
+    @Test
+    @DisplayName("GET /employee/admin - Should skip the total with withTotal=false")
+    void getEmployees_WithoutTotal_ShouldReturnSlice() throws Exception {
+        // Arrange
+        Slice<EmployeeResponseDTO> employeeSlice = new SliceImpl<>(List.of(employeeResponseDTO), PageRequest.of(0, 10), true);
+        when(employeeService.getEmployeeSlice(isNull(), eq(MatchMode.PREFIX), isNull(), isNull(), eq(true), eq(0), eq(10), eq("createdAt")))
+                .thenReturn(employeeSlice);
+
+        // Act & Assert
+        mockMvc.perform(get("/employee/admin")
+                .param("withTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(1))
+                .andExpect(jsonPath("$.data.last").value(false))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+
+        verify(employeeService, never()).getEmployee(any(), any(), any(), any(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("GET /employee/admin/cursor - Should return a page with the next cursor")
+    void scrollEmployees_WithCursor_ShouldReturnNextCursor() throws Exception {
+        // Arrange
+        EmployeeCursorPageDTO cursorPage = EmployeeCursorPageDTO.builder()
+                .content(List.of(employeeResponseDTO))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("next")
+                .build();
+        when(employeeService.scrollEmployees(isNull(), eq(MatchMode.PREFIX), isNull(), eq("IT"), eq(true), eq(1),
+                eq(EmployeeSortField.LAST_NAME), eq("previous")))
+                .thenReturn(cursorPage);
+
+        // Act & Assert
+        mockMvc.perform(get("/employee/admin/cursor")
+                .param("department", "IT")
+                .param("size", "1")
+                .param("sortBy", "lastName")
+                .param("cursor", "previous"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(1))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").value("next"));
+
+        verify(employeeService, never()).getEmployee(any(), any(), any(), any(), any(), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -282,7 +361,7 @@ class EmployeeControllerTest {
                 .param("size", "10"))
                 .andExpect(status().isBadRequest());
 
-        verify(employeeService, never()).getEmployee(anyString(), any(), anyString(), anyBoolean(), anyInt(), anyInt(), anyString());
+        verify(employeeService, never()).getEmployee(anyString(), any(), any(), anyString(), anyBoolean(), anyInt(), anyInt(), anyString());
     }
 
     @Test
@@ -294,7 +373,7 @@ class EmployeeControllerTest {
                 .param("size", "0"))
                 .andExpect(status().isBadRequest());
 
-        verify(employeeService, never()).getEmployee(anyString(), any(), anyString(), anyBoolean(), anyInt(), anyInt(), anyString());
+        verify(employeeService, never()).getEmployee(anyString(), any(), any(), anyString(), anyBoolean(), anyInt(), anyInt(), anyString());
     }
 
     @Test
@@ -306,7 +385,7 @@ class EmployeeControllerTest {
                 .param("size", "101"))
                 .andExpect(status().isBadRequest());
 
-        verify(employeeService, never()).getEmployee(anyString(), any(), anyString(), anyBoolean(), anyInt(), anyInt(), anyString());
+        verify(employeeService, never()).getEmployee(anyString(), any(), any(), anyString(), anyBoolean(), anyInt(), anyInt(), anyString());
     }
 
     // ===========================================
@@ -472,7 +551,7 @@ class EmployeeControllerTest {
     void getEmployees_WithInvalidStatus_ShouldHandleGracefully() throws Exception {
         // Arrange
         Page<EmployeeResponseDTO> employeePage = new PageImpl<>(List.of());
-        when(employeeService.getEmployee(isNull(), isNull(), isNull(), eq(true), eq(0), eq(10), eq("createdAt")))
+        when(employeeService.getEmployee(isNull(), eq(MatchMode.PREFIX), isNull(), isNull(), eq(true), eq(0), eq(10), eq("createdAt")))
                 .thenReturn(employeePage);
 
         // Act & Assert - Invalid status should be ignored or cause bad request depending on implementation
@@ -480,7 +559,7 @@ class EmployeeControllerTest {
                 .param("status", "INVALID_STATUS"))
                 .andExpect(status().isOk()); // or .isBadRequest() depending on your enum handling
 
-        verify(employeeService, times(1)).getEmployee(null, null, null, true, 0, 10, "createdAt");
+        verify(employeeService, times(1)).getEmployee(null, MatchMode.PREFIX, null, null, true, 0, 10, "createdAt");
     }
 
     @Test
@@ -524,4 +603,37 @@ class EmployeeControllerTest {
                 request.getStatus().equals("ACTIVE")
         ));
     }
-}
\ No newline at end of file
+
+    // ===========================================
+    // BULK TESTS
+    // ===========================================
+
+    @Test
+    @DisplayName("POST /employee/bulk - Should return per-item results without validating the body up front")
+    void addEmployees_ShouldReturnPerItemResults() throws Exception {
+        // Arrange
+        EmployeeRequestDTO invalidRequest = new EmployeeRequestDTO();
+        invalidRequest.setEmail("not-an-email");
+        EmployeeBulkResultDTO result = EmployeeBulkResultDTO.builder()
+                .totalItems(2)
+                .succeededItems(1)
+                .rejectedItems(1)
+                .items(List.of(
+                        new EmployeeBulkItemResultDTO(0, BulkItemStatus.CREATED, 1L, "EMP-2024-000001", "john.doe@example.com", null),
+                        new EmployeeBulkItemResultDTO(1, BulkItemStatus.REJECTED, null, null, "not-an-email", "Please enter Valid email")))
+                .build();
+        when(employeeBulkService.createEmployees(anyList())).thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(post("/employee/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(validEmployeeRequest, invalidRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Bulk create processed"))
+                .andExpect(jsonPath("$.data.succeededItems").value(1))
+                .andExpect(jsonPath("$.data.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.data.items[1].error").value("Please enter Valid email"));
+
+        verify(employeeBulkService, times(1)).createEmployees(argThat(requests -> requests.size() == 2));
+    }
+}
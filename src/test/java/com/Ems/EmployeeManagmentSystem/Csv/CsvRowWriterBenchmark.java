@@ -0,0 +1,95 @@
+package com.Ems.EmployeeManagmentSystem.Csv;
+
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.QuoteMode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous CSVPrinter export path with {@link CsvRowWriter} on the employee schema.
+ * Scores are rows per second; run {@link #main} to include the GC profiler, whose
+ * {@code gc.alloc.rate.norm} is the bytes allocated per row.
+ * Not part of the test suite: {@code mvn test-compile} then run the main method.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvRowWriterBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private String[] codes;
+    private String[] firstNames;
+    private String[] emails;
+    private LocalDate[] joinDates;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        codes = new String[ROWS];
+        firstNames = new String[ROWS];
+        emails = new String[ROWS];
+        joinDates = new LocalDate[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            codes[i] = String.format("EMP-2025-%06d", i);
+            firstNames[i] = "First" + i;
+            emails[i] = "employee" + i + "@company.com";
+            joinDates[i] = LocalDate.of(2020, 1, 1).plusDays(i % 1500);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void csvPrinter() throws IOException {
+        Writer writer = new OutputStreamWriter(sink, StandardCharsets.UTF_8);
+        CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
+                .setRecordSeparator("\r\n")
+                .setQuoteMode(QuoteMode.MINIMAL)
+                .build());
+        for (int i = 0; i < ROWS; i++) {
+            printer.printRecord(codes[i], firstNames[i], "Doe", emails[i], "Engineering",
+                    EmployeeStatus.ACTIVE.name(),
+                    joinDates[i].format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
+                    Boolean.TRUE.toString(), emails[i]);
+        }
+        printer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void csvRowWriter() throws IOException {
+        CsvRowWriter csv = new CsvRowWriter(sink);
+        for (int i = 0; i < ROWS; i++) {
+            csv.field(codes[i]).field(firstNames[i]).field("Doe").field(emails[i]).field("Engineering")
+                    .field(EmployeeStatus.ACTIVE).field(joinDates[i]).field(Boolean.TRUE).field(emails[i])
+                    .endRow();
+        }
+        csv.flush();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CsvRowWriterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.Ems.EmployeeManagmentSystem.Csv;
+
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRowWriterTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    private String written() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void writesHeaderAndTypedFields() throws IOException {
+        CsvRowWriter csv = new CsvRowWriter(out);
+
+        csv.header("Code", "Id", "Status", "Joined", "Active", "Created");
+        csv.field("EMP-2025-000001")
+                .field(42L)
+                .field(EmployeeStatus.ACTIVE)
+                .field(LocalDate.of(2024, 1, 5))
+                .field(Boolean.TRUE)
+                .field(LocalDateTime.of(2025, 3, 9, 7, 4, 59))
+                .endRow();
+        csv.flush();
+
+        assertEquals("Code,Id,Status,Joined,Active,Created\r\n" +
+                "EMP-2025-000001,42,ACTIVE,2024-01-05,true,2025-03-09 07:04:59\r\n", written());
+    }
+
+    @Test
+    void writesNullsAsEmptyFieldsAndNullBooleanAsFalse() throws IOException {
+        CsvRowWriter csv = new CsvRowWriter(out);
+
+        csv.field((String) null).field((Long) null).field((Boolean) null).field((LocalDate) null).endRow();
+        csv.flush();
+
+        assertEquals(",,false,\r\n", written());
+    }
+
+    @Test
+    void quotesOnlyWhenNeededAndEscapesQuotes() throws IOException {
+        CsvRowWriter csv = new CsvRowWriter(out);
+
+        csv.field("plain")
+                .field("Research, Development")
+                .field("The \"A\" team")
+                .field("line\nbreak")
+                .field(" padded")
+                .endRow();
+        csv.flush();
+
+        assertEquals("plain,\"Research, Development\",\"The \"\"A\"\" team\",\"line\nbreak\",\" padded\"\r\n", written());
+    }
+
+    @Test
+    void encodesNonAsciiAsUtf8() throws IOException {
+        CsvRowWriter csv = new CsvRowWriter(out);
+
+        csv.field("José").field("Zoë, Ltd").field("日本").field("😀").endRow();
+        csv.flush();
+
+        assertEquals("José,\"Zoë, Ltd\",日本,😀\r\n", written());
+    }
+
+    @Test
+    void writesBomAndNegativeAndExtremeNumbers() throws IOException {
+        CsvRowWriter csv = new CsvRowWriter(out);
+
+        csv.bom().field(-7L).field(0L).field(Long.MIN_VALUE).field(Long.MAX_VALUE).endRow();
+        csv.flush();
+
+        assertEquals("\ufeff-7,0,-9223372036854775808,9223372036854775807\r\n", written());
+    }
+
+    @Test
+    void drainsBufferWhenFull() throws IOException {
+        CsvRowWriter csv = new CsvRowWriter(out, 16);
+        String longValue = "x".repeat(100);
+
+        csv.field(longValue).field(longValue).endRow();
+        csv.flush();
+
+        assertEquals(longValue + "," + longValue + "\r\n", written());
+    }
+}
@@ -0,0 +1,122 @@
+package com.Ems.EmployeeManagmentSystem.Entity;
+
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A valid, active employee for tests, with every field overridable:
+ * {@code EmployeeFixture.employee(7).department("HR").build()}. Defaults derive from the id
+ * (code {@code EMP-2025-000007}, {@code First7 Last7}, {@code employee7@test.com}) so rows built
+ * from different ids never collide on a unique column. The audit timestamps stay null unless set,
+ * since a JPA save fills them in; JDBC inserts need {@link Builder#timestamps}.
+ */
+public final class EmployeeFixture {
+
+    private EmployeeFixture() {
+    }
+
+    public static Builder employee(long id) {
+        return new Builder(id);
+    }
+
+    public static final class Builder {
+        private final long id;
+        private String employeeCode;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String department = "IT";
+        private EmployeeStatus status = EmployeeStatus.ACTIVE;
+        private LocalDate dateOfJoining = LocalDate.of(2024, 1, 15);
+        private boolean active = true;
+        private boolean deleted;
+        private Users user;
+        private LocalDateTime timestamps;
+
+        private Builder(long id) {
+            this.id = id;
+            this.employeeCode = String.format("EMP-2025-%06d", id);
+            this.firstName = "First" + id;
+            this.lastName = "Last" + id;
+            this.email = "employee" + id + "@test.com";
+        }
+
+        public Builder employeeCode(String employeeCode) {
+            this.employeeCode = employeeCode;
+            return this;
+        }
+
+        public Builder firstName(String firstName) {
+            this.firstName = firstName;
+            return this;
+        }
+
+        public Builder lastName(String lastName) {
+            this.lastName = lastName;
+            return this;
+        }
+
+        public Builder email(String email) {
+            this.email = email;
+            return this;
+        }
+
+        public Builder department(String department) {
+            this.department = department;
+            return this;
+        }
+
+        public Builder status(EmployeeStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder dateOfJoining(LocalDate dateOfJoining) {
+            this.dateOfJoining = dateOfJoining;
+            return this;
+        }
+
+        public Builder active(boolean active) {
+            this.active = active;
+            return this;
+        }
+
+        /** Deleted employees are inactive as well, as a soft delete leaves them. */
+        public Builder deleted(boolean deleted) {
+            this.deleted = deleted;
+            this.active = !deleted;
+            return this;
+        }
+
+        public Builder user(Users user) {
+            this.user = user;
+            return this;
+        }
+
+        /** Sets both {@code createdAt} and {@code updatedAt}. */
+        public Builder timestamps(LocalDateTime timestamps) {
+            this.timestamps = timestamps;
+            return this;
+        }
+
+        public Employee build() {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setEmployeeCode(employeeCode);
+            employee.setFirstName(firstName);
+            employee.setLastName(lastName);
+            employee.setEmail(email);
+            employee.setDepartment(department);
+            employee.setStatus(status);
+            employee.setDateOfJoining(dateOfJoining);
+            employee.setIsActive(active);
+            employee.setIsDeleted(deleted);
+            employee.setUser(user);
+            employee.setCreatedAt(timestamps);
+            employee.setUpdatedAt(timestamps);
+            return employee;
+        }
+    }
+}
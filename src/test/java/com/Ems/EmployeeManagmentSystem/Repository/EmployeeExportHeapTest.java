@@ -0,0 +1,91 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeExportFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams 1M real rows through {@link StatelessBatchReader} the way the full export does. The
+ * rows take several times the heap the export-heap surefire execution allows (-Xmx256m), so the
+ * test only gets through if each batch is released before the next one is read. The table lives
+ * in an H2 file database, so the rows themselves are not on the heap.
+ */
+@Tag("export-heap")
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/export-heap/ems;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeExportHeapTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int INSERT_CHUNK = 100_000;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE employee");
+        // One statement per 100k rows, so no single transaction holds the whole table
+        for (int from = 1; from <= ROWS; from += INSERT_CHUNK) {
+            jdbcTemplate.update("""
+                    INSERT INTO employee (id, employee_code, first_name, last_name, email, department, status,
+                                          date_of_joining, is_active, is_deleted, created_at, updated_at,
+                                          first_name_norm, last_name_norm, department_norm)
+                    SELECT x, CONCAT('EMP-2025-', LPAD(x, 7, '0')), CONCAT('First', x), CONCAT('Last', x),
+                           CONCAT('employee', x, '@test.com'), 'Engineering', 'ACTIVE', DATE '2024-01-15', TRUE,
+                           FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CONCAT('first', x), CONCAT('last', x),
+                           'engineering'
+                    -- DATABASE_TO_LOWER folds x, SYSTEM_RANGE names its column X
+                    FROM (SELECT "X" AS x FROM SYSTEM_RANGE(?, ?))
+                    """, from, from + INSERT_CHUNK - 1);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE TABLE employee");
+    }
+
+    @Test
+    void findExportRows_ShouldStreamEveryRowWithinTheHeapCap() {
+        // Holding every row would need well over this, so a leak fails with an OutOfMemoryError
+        assertThat(Runtime.getRuntime().maxMemory()).isLessThanOrEqualTo(256L * 1024 * 1024);
+        EmployeeExportFilter filter = EmployeeExportFilter.all();
+
+        long rows = 0;
+        long lastId = 0;
+        List<Object[]> batch;
+        while (!(batch = employeeRepository.findExportRows(filter, lastId, Limit.of(BATCH_SIZE))).isEmpty()) {
+            long firstId = (Long) batch.get(0)[0];
+            assertThat(firstId).isEqualTo(lastId + 1);
+            rows += batch.size();
+            lastId = (Long) batch.get(batch.size() - 1)[0];
+        }
+
+        assertThat(rows).isEqualTo(ROWS);
+        assertThat(lastId).isEqualTo(ROWS);
+    }
+}
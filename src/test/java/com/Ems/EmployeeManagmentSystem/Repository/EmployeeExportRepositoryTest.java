@@ -0,0 +1,178 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Entity.EmployeeFixture;
+import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeExportColumn;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.Role;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeExportFilter;
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Range;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the export projection against N+1 lookups: each batch must be a single SQL statement.
+ * Runs without a test transaction because the stateless session reads on its own connection.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeExportRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.saveAll(IntStream.rangeClosed(1, 5).mapToObj(this::employeeWithUser).toList());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void findExportRows_ShouldLoadBatchWithUserEmailsInOneStatement() {
+        List<Object[]> rows = employeeRepository.findExportRows(EmployeeExportFilter.all(), 0L, Limit.of(100));
+
+        assertThat(rows).hasSize(5);
+        assertThat(rows).extracting(row -> row[EmployeeExportColumn.USER_EMAIL.ordinal() + 1])
+                .containsExactly("user1@test.com", "user2@test.com", "user3@test.com", "user4@test.com", "user5@test.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findExportRows_ShouldSeekPastLastIdWithOneStatementPerBatch() {
+        EmployeeExportFilter filter = EmployeeExportFilter.all();
+        List<Object[]> firstBatch = employeeRepository.findExportRows(filter, 0L, Limit.of(3));
+        Long lastId = (Long) firstBatch.get(firstBatch.size() - 1)[0];
+        List<Object[]> secondBatch = employeeRepository.findExportRows(filter, lastId, Limit.of(3));
+
+        assertThat(firstBatch).hasSize(3);
+        assertThat(secondBatch).hasSize(2);
+        assertThat(secondBatch).allSatisfy(row -> assertThat((Long) row[0]).isGreaterThan(lastId));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findExportRows_ShouldApplyFiltersAndSelectOnlyRequestedColumns() {
+        Employee inactive = employeeWithUser(6);
+        inactive.setIsActive(false);
+        Employee hr = employeeWithUser(7);
+        hr.setDepartment("Human Resources");
+        employeeRepository.saveAll(List.of(inactive, hr));
+
+        EmployeeExportFilter filter = EmployeeExportFilter.builder()
+                .name("First")
+                .department("Engineering")
+                .isActive(true)
+                .columns(List.of(EmployeeExportColumn.EMAIL, EmployeeExportColumn.STATUS))
+                .build();
+
+        List<Object[]> rows = employeeRepository.findExportRows(filter, 0L, Limit.of(100));
+
+        assertThat(rows).hasSize(5);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row).hasSize(3);
+            assertThat((String) row[1]).startsWith("employee");
+            assertThat(row[2]).isEqualTo(EmployeeStatus.ACTIVE);
+        });
+    }
+
+    @Test
+    void findExportRowsInRange_ShouldStayWithinIdBounds() {
+        Range<Long> idRange = employeeRepository.findIdRange().orElseThrow();
+        long minId = idRange.getLowerBound().getValue().orElseThrow();
+        long maxId = idRange.getUpperBound().getValue().orElseThrow();
+
+        List<Object[]> middle = employeeRepository.findExportRowsInRange(
+                EmployeeExportFilter.all(), minId, minId + 2, Limit.of(100));
+
+        assertThat(maxId - minId).isEqualTo(4);
+        assertThat(middle).extracting(row -> row[0]).containsExactly(minId + 1, minId + 2);
+    }
+
+    @Test
+    void findChangedRows_ShouldReturnRowsBetweenWatermarksInUpdateOrder() {
+        List<EmployeeExportColumn> columns = List.of(EmployeeExportColumn.EMAIL, EmployeeExportColumn.UPDATED_AT);
+        ExportWatermark latest = employeeRepository.findLatestWatermark(LocalDateTime.now().plusMinutes(1)).orElseThrow();
+
+        List<Object[]> all = employeeRepository.findChangedRows(columns, ExportWatermark.initial(), latest, Limit.of(100));
+
+        assertThat(all).hasSize(5);
+        Object[] last = all.get(all.size() - 1);
+        assertThat(new ExportWatermark((LocalDateTime) last[2], (Long) last[0])).isEqualTo(latest);
+
+        Object[] third = all.get(2);
+        ExportWatermark afterThird = new ExportWatermark((LocalDateTime) third[2], (Long) third[0]);
+        List<Object[]> remaining = employeeRepository.findChangedRows(columns, afterThird, latest, Limit.of(100));
+        List<Object[]> upToThird = employeeRepository.findChangedRows(columns, ExportWatermark.initial(), afterThird, Limit.of(100));
+
+        assertThat(remaining).extracting(row -> row[0]).containsExactly(all.get(3)[0], all.get(4)[0]);
+        assertThat(upToThird).hasSize(3);
+    }
+
+    @Test
+    void findLatestWatermark_ShouldLeaveRowsInsideTheSafetyLagForTheNextSync() {
+        List<EmployeeExportColumn> columns = List.of(EmployeeExportColumn.UPDATED_AT);
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+        jdbcTemplate.update("UPDATE employee SET updated_at = ? WHERE id < 5", now.minusHours(1));
+        jdbcTemplate.update("UPDATE employee SET updated_at = ? WHERE id = 5", now);
+
+        // The export reads its bound while another transaction, stamped before row 5, is still open
+        ExportWatermark upTo = employeeRepository.findLatestWatermark(now.minusMinutes(5)).orElseThrow();
+        List<Object[]> firstSync = employeeRepository.findChangedRows(columns, ExportWatermark.initial(), upTo, Limit.of(100));
+        employeeRepository.save(employeeWithUser(6));
+        jdbcTemplate.update("UPDATE employee SET updated_at = ? WHERE id = 6", now.minusSeconds(30));
+
+        ExportWatermark nextUpTo = employeeRepository.findLatestWatermark(now.plusMinutes(10)).orElseThrow();
+        List<Object[]> secondSync = employeeRepository.findChangedRows(columns, upTo, nextUpTo, Limit.of(100));
+
+        assertThat(upTo).isEqualTo(new ExportWatermark(now.minusHours(1), 4L));
+        assertThat(firstSync).extracting(row -> row[0]).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(secondSync).extracting(row -> row[0]).containsExactly(6L, 5L);
+    }
+
+    private Employee employeeWithUser(int index) {
+        Users user = new Users();
+        user.setEmail("user" + index + "@test.com");
+        user.setPassword("encoded");
+        user.setRole(Role.USER);
+        user.setIsActive(true);
+        user.setIsDeleted(false);
+
+        return EmployeeFixture.employee(index).department("Engineering").user(user).build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Entity.EmployeeFixture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class EmployeeImportRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private static Employee employee(int i) {
+        return EmployeeFixture.employee(100 + i)
+                .email("import" + i + "@test.com")
+                .dateOfJoining(LocalDate.of(2024, 1, i))
+                .timestamps(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void insertBatch_ShouldInsertRowsWithAssignedIdsAndCodes() {
+        List<Employee> employees = IntStream.rangeClosed(1, 3).mapToObj(EmployeeImportRepositoryTest::employee).toList();
+
+        employeeRepository.insertBatch(employees);
+
+        assertThat(employeeRepository.findById(103L))
+                .get()
+                .satisfies(employee -> {
+                    assertThat(employee.getEmail()).isEqualTo("import3@test.com");
+                    assertThat(employee.getEmployeeCode()).isEqualTo("EMP-2025-000103");
+                    assertThat(employee.isNew()).isFalse();
+                });
+        assertThat(employeeRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void findExistingEmails_ShouldReturnOnlyTakenEmailsLowerCased() {
+        employeeRepository.insertBatch(List.of(employee(1)));
+
+        assertThat(employeeRepository.findExistingEmails(List.of("import1@test.com", "free@test.com")))
+                .containsExactly("import1@test.com");
+        assertThat(employeeRepository.findExistingEmails(List.of())).isEmpty();
+    }
+}
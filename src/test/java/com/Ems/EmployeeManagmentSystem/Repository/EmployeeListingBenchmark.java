@@ -0,0 +1,190 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one admin listing page, the page query plus the count query behind it, on a
+ * 1M-row employee table in H2 (MySQL mode) migrated to the latest schema. With
+ * {@code queryIndexes=false} the listing and search indexes are dropped first, so the two runs of
+ * each benchmark show what the indexes buy.
+ * Not part of the test suite: {@code mvn test-compile} then run the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EmployeeListingBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 10;
+
+    // Same shape as the SQL Hibernate generates for EmployeeSpecifications with the default sort
+    private static final String COLUMNS = "id, employee_code, first_name, last_name, email, department, status, "
+            + "date_of_joining, is_active, is_deleted, user_id, created_at, updated_at, first_name_norm, "
+            + "last_name_norm, department_norm";
+
+    private static final String NAME_FILTER =
+            "(first_name_norm LIKE ? ESCAPE '!' OR last_name_norm LIKE ? ESCAPE '!') AND is_active = ?";
+
+    @Param({"true", "false"})
+    public boolean queryIndexes;
+
+    private Connection connection;
+    private PreparedStatement activePage;
+    private PreparedStatement activeCount;
+    private PreparedStatement statusPage;
+    private PreparedStatement statusCount;
+    private PreparedStatement departmentPage;
+    private PreparedStatement departmentCount;
+    private PreparedStatement namePage;
+    private PreparedStatement nameCount;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:listing_" + queryIndexes + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migrations")
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            // One in eight inactive, one in ten INACTIVE status, 20 departments, one row per second
+            statement.execute("""
+                    INSERT INTO employee (id, employee_code, first_name, last_name, email, department, status,
+                                          date_of_joining, is_active, is_deleted, created_at, updated_at,
+                                          first_name_norm, last_name_norm, department_norm)
+                    SELECT x, CONCAT('EMP-2025-', LPAD(x, 7, '0')), CONCAT('First', MOD(x, 5000)),
+                           CONCAT('Last', MOD(x, 7919)), CONCAT('employee', x, '@company.com'),
+                           CONCAT('Department', MOD(x, 20)),
+                           CASE WHEN MOD(x, 10) = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END,
+                           DATEADD('DAY', MOD(x, 1500), DATE '2020-01-01'), MOD(x, 8) <> 0, FALSE,
+                           DATEADD('SECOND', x, TIMESTAMP '2020-01-01 00:00:00'),
+                           DATEADD('SECOND', x, TIMESTAMP '2020-01-01 00:00:00'),
+                           CONCAT('first', MOD(x, 5000)), CONCAT('last', MOD(x, 7919)),
+                           CONCAT('department', MOD(x, 20))
+                    FROM SYSTEM_RANGE(1, %d)
+                    """.formatted(ROWS));
+            if (!queryIndexes) {
+                // Everything but the primary key, unique constraints and the export watermark index
+                List<String> indexes = new ArrayList<>();
+                try (ResultSet rows = statement.executeQuery("""
+                        SELECT index_name FROM information_schema.indexes
+                        WHERE table_name = 'employee' AND index_type_name = 'INDEX'
+                          AND index_name LIKE 'idx!_employee!_%' ESCAPE '!' AND index_name <> 'idx_employee_updated_at'
+                        """)) {
+                    while (rows.next()) {
+                        indexes.add(rows.getString(1));
+                    }
+                }
+                for (String index : indexes) {
+                    statement.execute("DROP INDEX " + index);
+                }
+            }
+            statement.execute("ANALYZE");
+        }
+
+        activePage = page("is_active = ?");
+        activeCount = count("is_active = ?");
+        statusPage = page("status = ? AND is_active = ?");
+        statusCount = count("status = ? AND is_active = ?");
+        departmentPage = page("department_norm = ? AND is_active = ?");
+        departmentCount = count("department_norm = ? AND is_active = ?");
+        namePage = page(NAME_FILTER);
+        nameCount = count(NAME_FILTER);
+        for (PreparedStatement statement : new PreparedStatement[]{activePage, activeCount}) {
+            statement.setBoolean(1, true);
+        }
+        for (PreparedStatement statement : new PreparedStatement[]{statusPage, statusCount}) {
+            statement.setString(1, "INACTIVE");
+            statement.setBoolean(2, true);
+        }
+        for (PreparedStatement statement : new PreparedStatement[]{departmentPage, departmentCount}) {
+            statement.setString(1, "department7");
+            statement.setBoolean(2, true);
+        }
+        for (PreparedStatement statement : new PreparedStatement[]{namePage, nameCount}) {
+            statement.setString(1, "first12%");
+            statement.setString(2, "first12%");
+            statement.setBoolean(3, true);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        connection.close();
+    }
+
+    /** The listing as it opens: active employees, newest first. */
+    @Benchmark
+    public void defaultListing(Blackhole blackhole) throws SQLException {
+        read(activePage, activeCount, blackhole);
+    }
+
+    @Benchmark
+    public void statusListing(Blackhole blackhole) throws SQLException {
+        read(statusPage, statusCount, blackhole);
+    }
+
+    @Benchmark
+    public void departmentListing(Blackhole blackhole) throws SQLException {
+        read(departmentPage, departmentCount, blackhole);
+    }
+
+    /** A prefix name search, as sent by the listing's default match mode. */
+    @Benchmark
+    public void nameListing(Blackhole blackhole) throws SQLException {
+        read(namePage, nameCount, blackhole);
+    }
+
+    private PreparedStatement page(String where) throws SQLException {
+        return connection.prepareStatement("SELECT " + COLUMNS + " FROM employee WHERE " + where
+                + " ORDER BY created_at DESC LIMIT " + PAGE_SIZE);
+    }
+
+    private PreparedStatement count(String where) throws SQLException {
+        return connection.prepareStatement("SELECT COUNT(*) FROM employee WHERE " + where);
+    }
+
+    private static void read(PreparedStatement page, PreparedStatement count, Blackhole blackhole) throws SQLException {
+        try (ResultSet rows = page.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getLong(1));
+                blackhole.consume(rows.getString(5));
+            }
+        }
+        try (ResultSet total = count.executeQuery()) {
+            total.next();
+            blackhole.consume(total.getLong(1));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EmployeeListingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
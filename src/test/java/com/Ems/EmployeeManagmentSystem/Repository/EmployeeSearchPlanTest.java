@@ -0,0 +1,215 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeCursor;
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Entity.EmployeeFixture;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeSortField;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.MatchMode;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The admin search must only emit the filters it was given, and H2 must be able to serve the
+ * common combinations from the indexes the migrations create. The SQL Hibernate generates is
+ * captured and run through {@code EXPLAIN} with the same arguments, so a predicate that stops
+ * being sargable shows up here as a table scan.
+ *
+ * <p>H2 is only a proxy for MySQL here. Its planner picks among the same indexes but costs them
+ * differently (it cannot merge the two name indexes, for one), so a passing plan shows the index
+ * is usable, not that MySQL will choose it. Changes to the indexes or the search predicates still
+ * need an {@code EXPLAIN} of the captured SQL on MySQL.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.Ems.EmployeeManagmentSystem.Repository.EmployeeSearchPlanTest$SelectCapture"
+})
+class EmployeeSearchPlanTest {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.saveAll(List.of(
+                EmployeeFixture.employee(1).firstName("John").lastName("Smith").build(),
+                EmployeeFixture.employee(2).firstName("Anna").lastName("Jones").status(EmployeeStatus.INACTIVE).build(),
+                EmployeeFixture.employee(3).firstName("Bojo").lastName("Brown").department("HR").active(false).build(),
+                EmployeeFixture.employee(4).firstName("Sean").lastName("O_Neil").department("HR").build(),
+                EmployeeFixture.employee(5).firstName("Sean").lastName("OXNeil").department("Human Resources").build()));
+        employeeRepository.flush();
+        SelectCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    void matching_ShouldOnlyEmitSuppliedFilters() {
+        List<Employee> all = search(EmployeeSpecifications.matching(" ", null, null, "", null));
+
+        assertThat(all).hasSize(5);
+        assertThat(lastSelect()).doesNotContainIgnoringCase("where");
+    }
+
+    @Test
+    void matching_ShouldMatchNamePrefixOnFirstOrLastName() {
+        List<Employee> result = search(EmployeeSpecifications.matching("Jo", MatchMode.PREFIX, null, null, null));
+
+        assertThat(result).extracting(Employee::getFirstName).containsExactlyInAnyOrder("John", "Anna");
+        assertThat(lastSelect()).doesNotContainIgnoringCase("lower(");
+    }
+
+    @Test
+    void matching_ShouldTreatLikeWildcardsInNameLiterally() {
+        assertThat(search(EmployeeSpecifications.matching("O_", null, null, null, null)))
+                .extracting(Employee::getLastName).containsExactly("O_Neil");
+        assertThat(search(EmployeeSpecifications.matching("%", MatchMode.CONTAINS, null, null, null))).isEmpty();
+    }
+
+    @Test
+    void matching_ShouldIgnoreCaseOfNameInput() {
+        assertThat(search(EmployeeSpecifications.matching("jOH", null, null, null, null)))
+                .extracting(Employee::getFirstName).containsExactly("John");
+    }
+
+    @Test
+    void matching_ShouldMatchAnywhereInNameInContainsMode() {
+        assertThat(search(EmployeeSpecifications.matching("ea", MatchMode.CONTAINS, null, null, null)))
+                .extracting(Employee::getId).containsExactlyInAnyOrder(4L, 5L);
+        assertThat(search(EmployeeSpecifications.matching("ea", MatchMode.PREFIX, null, null, null))).isEmpty();
+    }
+
+    @Test
+    void matching_ShouldMatchDepartmentExactlyIgnoringCase() {
+        assertThat(search(EmployeeSpecifications.matching(null, null, null, "hr", null)))
+                .extracting(Employee::getId).containsExactlyInAnyOrder(3L, 4L);
+    }
+
+    @Test
+    void namePrefix_ShouldBeAnIndexRangeScan() {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT id FROM employee WHERE first_name_norm LIKE 'jo%'", String.class);
+
+        assertThat(plan).containsIgnoringCase("idx_employee_first_name_norm").doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void activeFilter_ShouldUseAnActiveIndex() {
+        search(EmployeeSpecifications.matching(null, null, null, null, true));
+
+        // idx_employee_active_created or idx_employee_active_id, both lead with is_active
+        assertThat(explainLastSelect(true)).containsIgnoringCase("idx_employee_active_")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void statusAndActiveFilters_ShouldUseStatusActiveCreatedIndex() {
+        search(EmployeeSpecifications.matching(null, null, EmployeeStatus.ACTIVE, null, true));
+
+        assertThat(explainLastSelect(EmployeeStatus.ACTIVE.name(), true))
+                .containsIgnoringCase("idx_employee_status_active_created")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void departmentAndActiveFilters_ShouldUseDepartmentNormActiveCreatedIndex() {
+        search(EmployeeSpecifications.matching(null, null, null, "IT", true));
+
+        assertThat(explainLastSelect("it", true)).containsIgnoringCase("idx_employee_department_norm_active_created")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void nameAndActiveFilters_ShouldStillUseAnIndex() {
+        // H2 cannot merge the two name indexes like MySQL does, so the active flag carries the plan here
+        search(EmployeeSpecifications.matching("Jo", null, null, null, true));
+
+        assertThat(explainLastSelect("jo%", "jo%", true)).containsIgnoringCase("idx_employee_")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void after_ShouldWalkTiedKeysInIdOrderWithoutGapsOrRepeats() {
+        // Department descending: IT (2, 1), Human Resources (5), HR (4, 3)
+        List<Long> seen = new ArrayList<>();
+        EmployeeCursor cursor = null;
+        do {
+            List<Employee> page = scroll(EmployeeSortField.DEPARTMENT, cursor, 2);
+            page.forEach(employee -> seen.add(employee.getId()));
+            cursor = page.size() < 2 ? null : EmployeeCursor.after(EmployeeSortField.DEPARTMENT, page.get(1));
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(2L, 1L, 5L, 4L, 3L);
+    }
+
+    @Test
+    void after_ShouldSeekById() {
+        assertThat(scroll(EmployeeSortField.ID, new EmployeeCursor(EmployeeSortField.ID, "4", 4L), 2))
+                .extracting(Employee::getId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void activeCursor_ShouldSeekOnActiveCreatedIndex() {
+        LocalDateTime createdAt = employeeRepository.findById(3L).orElseThrow().getCreatedAt();
+        EmployeeCursor cursor = new EmployeeCursor(EmployeeSortField.CREATED_AT, createdAt.toString(), 3L);
+        employeeRepository.findAll(EmployeeSpecifications.matching(null, null, null, null, true)
+                .and(EmployeeSpecifications.after(cursor)), EmployeeSpecifications.newestFirst(EmployeeSortField.CREATED_AT));
+
+        assertThat(explainLastSelect(true, createdAt, createdAt, 3L)).containsIgnoringCase("idx_employee_active_")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    private List<Employee> scroll(EmployeeSortField sortBy, EmployeeCursor cursor, int size) {
+        return employeeRepository.findBy(EmployeeSpecifications.after(cursor),
+                query -> query.sortBy(EmployeeSpecifications.newestFirst(sortBy)).limit(size).all());
+    }
+
+    private List<Employee> search(Specification<Employee> specification) {
+        return employeeRepository.findAll(specification, NEWEST_FIRST);
+    }
+
+    private String lastSelect() {
+        assertThat(SelectCapture.STATEMENTS).isNotEmpty();
+        return SelectCapture.STATEMENTS.get(SelectCapture.STATEMENTS.size() - 1);
+    }
+
+    /**
+     * Plans the last captured select with {@code args} bound to its parameters, in order.
+     */
+    private String explainLastSelect(Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + lastSelect(), String.class, args);
+    }
+
+    /**
+     * Records the employee selects Hibernate sends, for the tests to inspect and explain.
+     */
+    public static class SelectCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.regionMatches(true, 0, "select", 0, 6) && sql.contains("employee")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
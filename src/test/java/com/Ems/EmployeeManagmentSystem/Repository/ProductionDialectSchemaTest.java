@@ -0,0 +1,39 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts JPA on the migrated schema with the MySQL dialect from application.yml instead of the
+ * H2Dialect the other repository tests use, so {@code ddl-auto: validate} checks the column types
+ * production maps the entities to. The context fails to load if any of them disagree.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ems_mysql_dialect;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQL8Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductionDialectSchemaTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void validate_ShouldAcceptMigratedSchemaWithProductionDialect() {
+        assertThat(entityManagerFactory.getProperties())
+                .containsEntry("hibernate.dialect", "org.hibernate.dialect.MySQL8Dialect");
+        assertThat(entityManagerFactory.getMetamodel().getEntities())
+                .extracting(EntityType::getName)
+                .contains("Employee", "Users", "ImportJob", "IdAllocation");
+    }
+}
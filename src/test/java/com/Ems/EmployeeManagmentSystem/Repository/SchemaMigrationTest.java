@@ -0,0 +1,224 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Config.FlywayConfig;
+import com.Ems.EmployeeManagmentSystem.Config.V7__AlignLegacySchema;
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Entity.EmployeeFixture;
+import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the db/migrations scripts on H2 in MySQL mode, the closest the tests get to production.
+ * The context only starts if Hibernate validates the entities against the migrated schema, so
+ * these tests check what validation does not: the indexes, and the MySQL-only SQL of the import.
+ * {@link FlywayConfig} is imported for the Java migrations, which the slice does not scan.
+ * {@link ProductionDialectSchemaTest} validates with the dialect production uses.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ems_migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(FlywayConfig.class)
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void migrate_ShouldApplyEveryMigration() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("7");
+        // V7 only touches databases ddl-auto built
+        assertThat(uniqueConstraints(jdbcTemplate, "employee"))
+                .containsExactlyInAnyOrder(Employee.EMAIL_CONSTRAINT, "uk_employee_employee_code", "uk_employee_user_id");
+    }
+
+    @Test
+    void listingIndexes_ShouldLeadWithFiltersAndEndWithDefaultSort() {
+        assertThat(indexColumns("idx_employee_active_created")).containsExactly("is_active", "created_at");
+        assertThat(indexColumns("idx_employee_status_active_created"))
+                .containsExactly("status", "is_active", "created_at");
+        assertThat(indexColumns("idx_employee_department_norm_active_created"))
+                .containsExactly("department_norm", "is_active", "created_at");
+    }
+
+    @Test
+    void nameIndexes_ShouldCoverNormalizedColumnsOnly() {
+        assertThat(indexColumns("idx_employee_first_name_norm")).containsExactly("first_name_norm");
+        assertThat(indexColumns("idx_employee_last_name_norm")).containsExactly("last_name_norm");
+        assertThat(indexColumns("idx_employee_first_name")).isEmpty();
+        assertThat(indexColumns("idx_employee_last_name")).isEmpty();
+    }
+
+    @Test
+    void exportIndexes_ShouldSeekInIdOrder() {
+        assertThat(indexColumns("idx_employee_active_id")).containsExactly("is_active", "id");
+        assertThat(indexColumns("idx_employee_updated_at")).containsExactly("updated_at", "id");
+        assertThat(indexColumns("idx_users_updated_at")).containsExactly("updated_at", "id");
+    }
+
+    @Test
+    void defaultListing_ShouldReadPageFromIndex() {
+        employeeRepository.insertBatch(List.of(inserted(1), inserted(2)));
+
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT id FROM employee WHERE is_active = TRUE ORDER BY created_at DESC LIMIT 10",
+                String.class);
+
+        assertThat(plan).containsIgnoringCase("idx_employee_active_").doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void mergeQueries_ShouldRunOnMigratedSchema() {
+        employeeRepository.insertBatch(List.of(inserted(1), inserted(2)));
+
+        assertThat(employeeRepository.findMergeTargets(List.of("employee1@test.com"), List.of("EMP-2025-000002")))
+                .extracting(Employee::getId)
+                .containsExactlyInAnyOrder(1L, 2L);
+        employeeRepository.updateBatch(List.of(
+                EmployeeFixture.employee(1).firstName("Renamed").timestamps(LocalDateTime.now()).build()));
+
+        assertThat(employeeRepository.findById(1L)).get().satisfies(employee -> {
+            assertThat(employee.getFirstName()).isEqualTo("Renamed");
+            assertThat(employee.getFirstNameNorm()).isEqualTo("renamed");
+        });
+        assertThat(employeeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void findMaxEmployeeNumber_ShouldCompareNumericCodesAsNumbers() {
+        employeeRepository.insertBatch(List.of(inserted(999_999), inserted(1_000_000),
+                EmployeeFixture.employee(7).employeeCode("EMP-2025-LEGACY7").timestamps(LocalDateTime.now()).build(),
+                EmployeeFixture.employee(8).employeeCode("EMP-2025-12A").timestamps(LocalDateTime.now()).build()));
+
+        assertThat(employeeRepository.findMaxEmployeeNumber("EMP-2025-")).isEqualTo(1_000_000L);
+        assertThat(employeeRepository.findMaxEmployeeNumber("EMP-2026-")).isNull();
+    }
+
+    @Test
+    void searchColumnsMigration_ShouldBackfillExistingRows() {
+        String url = "jdbc:h2:mem:ems_backfill;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        migrate(url, "5");
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbc.update("""
+                INSERT INTO employee (id, first_name, last_name, email, department, status, date_of_joining,
+                                      is_active, is_deleted, created_at, updated_at)
+                VALUES (1, ' John ', 'McDONALD', 'john@test.com', 'Human Resources', 'ACTIVE', DATE '2024-01-15',
+                        TRUE, FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                """);
+
+        migrate(url, "6");
+
+        assertThat(jdbc.queryForMap("SELECT first_name_norm, last_name_norm, department_norm FROM employee"))
+                .containsEntry("first_name_norm", "john")
+                .containsEntry("last_name_norm", "mcdonald")
+                .containsEntry("department_norm", "human resources");
+    }
+
+    @Test
+    void legacyDatabase_ShouldGetLaterTablesAndNamedConstraints() {
+        String url = "jdbc:h2:mem:ems_legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        // The tables as ddl-auto built them, with generated constraint names and no schema history
+        jdbc.execute("""
+                CREATE TABLE users (
+                    id BIGINT NOT NULL AUTO_INCREMENT, created_at DATETIME(6) NOT NULL,
+                    updated_at DATETIME(6) NOT NULL, email VARCHAR(100) NOT NULL, is_active BIT NOT NULL,
+                    is_deleted BIT NOT NULL, password VARCHAR(255) NOT NULL,
+                    role ENUM('ADMIN', 'USER') NOT NULL, PRIMARY KEY (id))
+                """);
+        jdbc.execute("ALTER TABLE users ADD CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)");
+        jdbc.execute("""
+                CREATE TABLE employee (
+                    id BIGINT NOT NULL AUTO_INCREMENT, created_at DATETIME(6) NOT NULL,
+                    updated_at DATETIME(6) NOT NULL, date_of_joining DATE NOT NULL,
+                    department VARCHAR(100) NOT NULL, email VARCHAR(100) NOT NULL, employee_code VARCHAR(20),
+                    first_name VARCHAR(50) NOT NULL, is_active BIT NOT NULL, is_deleted BIT NOT NULL,
+                    last_name VARCHAR(50) NOT NULL, status ENUM('ACTIVE', 'INACTIVE') NOT NULL, user_id BIGINT,
+                    PRIMARY KEY (id))
+                """);
+        jdbc.execute("ALTER TABLE employee ADD CONSTRAINT UKfopic1oh5oln2khj8eat6ino0 UNIQUE (email)");
+        jdbc.execute("ALTER TABLE employee ADD CONSTRAINT UKkbgk2r0x5rh8jwp3c8k5l0s1e UNIQUE (employee_code)");
+        jdbc.execute("ALTER TABLE employee ADD CONSTRAINT UKmpps3d3r9pdvyjx3iqixi96fi UNIQUE (user_id)");
+        jdbc.execute("""
+                ALTER TABLE employee ADD CONSTRAINT FK6lk0xml9r7okjdq0onka4ytju
+                FOREIGN KEY (user_id) REFERENCES users (id)
+                """);
+
+        // As application.yml configures it
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migrations")
+                .javaMigrations(new V7__AlignLegacySchema())
+                .baselineOnMigrate(true)
+                .baselineVersion("2")
+                .load()
+                .migrate();
+
+        assertThat(jdbc.queryForList("""
+                SELECT LOWER(table_name) FROM information_schema.tables
+                WHERE LOWER(table_name) IN ('id_allocation', 'import_job')
+                """, String.class)).containsExactlyInAnyOrder("id_allocation", "import_job");
+        // The names ConstraintViolations looks for; MySQL reports a violated key under its constraint name
+        assertThat(uniqueConstraints(jdbc, "users")).containsExactly(Users.EMAIL_CONSTRAINT);
+        assertThat(uniqueConstraints(jdbc, "employee"))
+                .containsExactlyInAnyOrder(Employee.EMAIL_CONSTRAINT, "uk_employee_employee_code", "uk_employee_user_id");
+        assertThat(indexColumns(jdbc, "idx_users_updated_at")).containsExactly("updated_at", "id");
+        assertThat(indexColumns(jdbc, "idx_employee_updated_at")).containsExactly("updated_at", "id");
+        assertThat(indexColumns(jdbc, "idx_employee_first_name_norm")).containsExactly("first_name_norm");
+    }
+
+    private static void migrate(String url, String version) {
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migrations")
+                .target(version)
+                .load()
+                .migrate();
+    }
+
+    private List<String> indexColumns(String indexName) {
+        return indexColumns(jdbcTemplate, indexName);
+    }
+
+    private static List<String> uniqueConstraints(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForList("""
+                SELECT LOWER(constraint_name) FROM information_schema.table_constraints
+                WHERE constraint_type = 'UNIQUE' AND LOWER(table_name) = ?
+                """, String.class, table);
+    }
+
+    private static List<String> indexColumns(JdbcTemplate jdbc, String indexName) {
+        return jdbc.queryForList("""
+                SELECT LOWER(column_name) FROM information_schema.index_columns
+                WHERE LOWER(index_name) = ? ORDER BY ordinal_position
+                """, String.class, indexName);
+    }
+
+    // The JDBC insert bypasses auditing, so the timestamps are set here
+    private static Employee inserted(long id) {
+        return EmployeeFixture.employee(id).timestamps(LocalDateTime.now()).build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.Ems.EmployeeManagmentSystem.Repository;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import com.Ems.EmployeeManagmentSystem.Enum.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class UsersImportRepositoryTest {
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    private static Users user(int i) {
+        LocalDateTime now = LocalDateTime.now();
+        Users user = new Users();
+        user.setEmail("bulk" + i + "@test.com");
+        user.setPassword("hashed" + i);
+        user.setRole(Role.USER);
+        user.setIsActive(true);
+        user.setIsDeleted(false);
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    @Test
+    void insertBatch_ShouldInsertRowsAndSetGeneratedIds() {
+        List<Users> users = IntStream.rangeClosed(1, 3).mapToObj(UsersImportRepositoryTest::user).toList();
+
+        usersRepository.insertBatch(users);
+
+        assertThat(users).allSatisfy(user -> assertThat(user.getId()).isNotNull());
+        assertThat(usersRepository.findById(users.get(2).getId()))
+                .get()
+                .satisfies(user -> {
+                    assertThat(user.getEmail()).isEqualTo("bulk3@test.com");
+                    assertThat(user.getPassword()).isEqualTo("hashed3");
+                });
+        assertThat(usersRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void findExistingEmails_ShouldReturnOnlyTakenEmailsLowerCased() {
+        usersRepository.insertBatch(List.of(user(1)));
+
+        assertThat(usersRepository.findExistingEmails(List.of("bulk1@test.com", "free@test.com")))
+                .containsExactly("bulk1@test.com");
+    }
+}
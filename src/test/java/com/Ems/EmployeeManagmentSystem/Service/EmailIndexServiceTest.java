@@ -0,0 +1,68 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Entity.EmployeeFixture;
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import com.Ems.EmployeeManagmentSystem.Repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class EmailIndexServiceTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void mightExist_ShouldSendEveryEmailToTheDatabaseUntilLoaded() {
+        EmailIndexService index = new EmailIndexService(jdbcTemplate, 2);
+
+        assertThat(index.mightExist(EmailScope.EMPLOYEE, "anyone@test.com")).isTrue();
+        assertThat(index.filterMightExist(EmailScope.EMPLOYEE, List.of("a@test.com", "b@test.com")))
+                .containsExactly("a@test.com", "b@test.com");
+    }
+
+    @Test
+    void load_ShouldReadEveryPageAndMatchCaseInsensitively() {
+        IntStream.rangeClosed(1, 5).forEach(id -> employeeRepository.save(EmployeeFixture.employee(id).build()));
+        employeeRepository.flush();
+        EmailIndexService index = new EmailIndexService(jdbcTemplate, 2);
+
+        index.load();
+
+        assertThat(index.size(EmailScope.EMPLOYEE)).isEqualTo(5);
+        assertThat(index.mightExist(EmailScope.EMPLOYEE, "employee5@test.com")).isTrue();
+        assertThat(index.mightExist(EmailScope.EMPLOYEE, " Employee1@TEST.com")).isTrue();
+        assertThat(index.mightExist(EmailScope.EMPLOYEE, "employee6@test.com")).isFalse();
+        // Scopes are separate: an employee email says nothing about users
+        assertThat(index.mightExist(EmailScope.USER, "employee1@test.com")).isFalse();
+        assertThat(index.filterMightExist(EmailScope.EMPLOYEE, List.of("new@test.com", "employee3@test.com")))
+                .containsExactly("employee3@test.com");
+    }
+
+    @Test
+    void addAndRemove_ShouldKeepEveryOtherEmailFindableAsTheIndexGrows() {
+        EmailIndexService index = new EmailIndexService(jdbcTemplate, 100);
+        index.load();
+        List<String> emails = IntStream.range(0, 5000).mapToObj(i -> "user" + i + "@test.com").toList();
+
+        index.addAll(EmailScope.USER, emails);
+        for (int i = 0; i < emails.size(); i += 2) {
+            index.remove(EmailScope.USER, emails.get(i));
+        }
+
+        assertThat(index.size(EmailScope.USER)).isEqualTo(2500);
+        for (int i = 0; i < emails.size(); i++) {
+            assertThat(index.mightExist(EmailScope.USER, emails.get(i))).isEqualTo(i % 2 == 1);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Entity.EmployeeFixture;
+import com.Ems.EmployeeManagmentSystem.Enum.BulkItemStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.IdSequence;
+import com.Ems.EmployeeManagmentSystem.Mapper.EmployeeMapper;
+import com.Ems.EmployeeManagmentSystem.Repository.EmployeeRepository;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeBulkUpdateRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeBulkItemResultDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeBulkResultDTO;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmployeeBulkServiceImpl - Bulk create and update")
+class EmployeeBulkServiceImplTest {
+
+    private static ValidatorFactory validatorFactory;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private IdBlockAllocator idBlockAllocator;
+    @Mock
+    private EmployeeCodeGenerator employeeCodeGenerator;
+    @Mock
+    private EmailIndexService emailIndexService;
+    @Mock
+    private EmployeeCountCache employeeCountCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeBulkServiceImpl employeeBulkService;
+
+    @BeforeAll
+    static void createValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        employeeBulkService = new EmployeeBulkServiceImpl(employeeRepository, Mappers.getMapper(EmployeeMapper.class),
+                idBlockAllocator, employeeCodeGenerator, emailIndexService, employeeCountCache,
+                validatorFactory.getValidator(), transactionManager);
+        ReflectionTestUtils.setField(employeeBulkService, "maxItems", 3);
+
+        AtomicLong nextId = new AtomicLong(1);
+        lenient().when(idBlockAllocator.reserve(eq(IdSequence.EMPLOYEE), anyInt()))
+                .thenAnswer(invocation -> nextId.getAndAdd(invocation.<Integer>getArgument(1)));
+        AtomicLong nextCode = new AtomicLong(1);
+        lenient().when(employeeCodeGenerator.next())
+                .thenAnswer(invocation -> String.format("EMP-2025-%06d", nextCode.getAndIncrement()));
+        lenient().when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        lenient().when(emailIndexService.filterMightExist(eq(EmailScope.EMPLOYEE), anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<String>>getArgument(1)));
+    }
+
+    private static EmployeeRequestDTO request(String email, String status) {
+        return new EmployeeRequestDTO("John", "Doe", email, "IT", status, LocalDate.of(2024, 1, 15));
+    }
+
+    private static EmployeeBulkUpdateRequestDTO update(Long id, String email) {
+        EmployeeBulkUpdateRequestDTO request = new EmployeeBulkUpdateRequestDTO();
+        request.setId(id);
+        request.setFirstName("Jane");
+        request.setLastName("Doe");
+        request.setEmail(email);
+        request.setDepartment("HR");
+        request.setStatus("active");
+        request.setDateOfJoining(LocalDate.of(2024, 1, 15));
+        return request;
+    }
+
+    private static List<BulkItemStatus> statuses(EmployeeBulkResultDTO result) {
+        return result.getItems().stream().map(EmployeeBulkItemResultDTO::getStatus).toList();
+    }
+
+    @Test
+    @DisplayName("Should insert valid items as one batch and report the others per item")
+    void createEmployees_ShouldInsertValidItemsAndRejectTheRest() {
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@test.com"));
+
+        EmployeeBulkResultDTO result = employeeBulkService.createEmployees(List.of(
+                request("new@test.com", "active"),
+                request("Taken@test.com", "ACTIVE"),
+                request("NEW@test.com", "ACTIVE")));
+
+        assertEquals(List.of(BulkItemStatus.CREATED, BulkItemStatus.REJECTED, BulkItemStatus.REJECTED), statuses(result));
+        assertEquals(1, result.getSucceededItems());
+        assertEquals(2, result.getRejectedItems());
+        assertEquals("Employee already exists with email Taken@test.com", result.getItems().get(1).getError());
+        assertEquals("Duplicate email in request: NEW@test.com", result.getItems().get(2).getError());
+
+        EmployeeBulkItemResultDTO created = result.getItems().get(0);
+        assertEquals(1L, created.getId());
+        assertEquals("EMP-2025-000001", created.getEmployeeCode());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Employee>> batch = ArgumentCaptor.forClass(List.class);
+        verify(employeeRepository).insertBatch(batch.capture());
+        Employee inserted = batch.getValue().get(0);
+        assertEquals(EmployeeStatus.ACTIVE, inserted.getStatus());
+        assertNotNull(inserted.getCreatedAt());
+        assertNull(inserted.getUser());
+        verify(emailIndexService).addAll(EmailScope.EMPLOYEE, List.of("new@test.com"));
+        verify(employeeCountCache).invalidate();
+    }
+
+    @Test
+    @DisplayName("Should reject emails created since the check and insert the rest when the batch fails on them")
+    void createEmployees_ShouldRetryWithoutEmailsTakenSinceTheCheck() {
+        List<List<String>> inserted = new ArrayList<>();
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry 'raced@test.com' for key 'employee.uk_employee_email'")))
+                .doAnswer(invocation -> {
+                    inserted.add(invocation.<List<Employee>>getArgument(0).stream().map(Employee::getEmail).toList());
+                    return null;
+                })
+                .when(employeeRepository).insertBatch(anyList());
+        when(employeeRepository.findExistingEmails(anyCollection()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("raced@test.com"));
+
+        EmployeeBulkResultDTO result = employeeBulkService.createEmployees(List.of(
+                request("new@test.com", "ACTIVE"),
+                request("Raced@test.com", "ACTIVE")));
+
+        assertEquals(List.of(BulkItemStatus.CREATED, BulkItemStatus.REJECTED), statuses(result));
+        assertEquals("Employee already exists with email Raced@test.com", result.getItems().get(1).getError());
+        assertEquals(List.of(List.of("new@test.com")), inserted);
+        verify(emailIndexService).addAll(EmailScope.EMPLOYEE, Set.of("raced@test.com"));
+        verify(emailIndexService).addAll(EmailScope.EMPLOYEE, List.of("new@test.com"));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should not retry a batch that failed on anything but the email")
+    void createEmployees_ShouldRethrowOtherConstraintViolations() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Column 'status' cannot be null");
+        doThrow(violation).when(employeeRepository).insertBatch(anyList());
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> employeeBulkService.createEmployees(List.of(request("new@test.com", "ACTIVE")))));
+        verify(employeeRepository, times(1)).insertBatch(anyList());
+        verify(employeeCountCache, never()).invalidate();
+    }
+
+    @Test
+    @DisplayName("Should report constraint violations without touching the database")
+    void createEmployees_ShouldRejectInvalidItems() {
+        EmployeeBulkResultDTO result = employeeBulkService.createEmployees(List.of(request("not-an-email", "ACTIVE")));
+
+        assertEquals(List.of(BulkItemStatus.REJECTED), statuses(result));
+        assertEquals("Please enter Valid email", result.getItems().get(0).getError());
+        verify(employeeRepository, never()).findExistingEmails(anyCollection());
+        verify(employeeRepository, never()).insertBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Should refuse empty requests and requests over the item limit")
+    void createEmployees_ShouldRejectEmptyOrOversizedRequests() {
+        List<EmployeeRequestDTO> tooMany = Collections.nCopies(4, request("a@test.com", "ACTIVE"));
+
+        assertThrows(IllegalArgumentException.class, () -> employeeBulkService.createEmployees(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> employeeBulkService.createEmployees(tooMany));
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    @DisplayName("Should update found employees and reject missing, deleted and repeated ones")
+    void updateEmployees_ShouldUpdateInOneBatchAndRejectPerItem() {
+        ReflectionTestUtils.setField(employeeBulkService, "maxItems", 4);
+        Employee active = EmployeeFixture.employee(1).email("one@test.com").build();
+        Employee deleted = EmployeeFixture.employee(2).email("two@test.com").deleted(true).build();
+        when(employeeRepository.findAllById(anyCollection())).thenReturn(List.of(active, deleted));
+
+        EmployeeBulkResultDTO result = employeeBulkService.updateEmployees(List.of(
+                update(1L, "one.new@test.com"),
+                update(2L, "two@test.com"),
+                update(3L, "three@test.com"),
+                update(1L, "one@test.com")));
+
+        assertEquals(List.of(BulkItemStatus.UPDATED, BulkItemStatus.REJECTED, BulkItemStatus.REJECTED,
+                BulkItemStatus.REJECTED), statuses(result));
+        assertEquals("Cannot update inactive or deleted employee with ID 2", result.getItems().get(1).getError());
+        assertEquals("Employee not found with ID 3", result.getItems().get(2).getError());
+        assertEquals("Duplicate employee id in request: 1", result.getItems().get(3).getError());
+        assertEquals("EMP-2025-000001", result.getItems().get(0).getEmployeeCode());
+        assertEquals("one.new@test.com", result.getItems().get(0).getEmail());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Employee>> batch = ArgumentCaptor.forClass(List.class);
+        verify(employeeRepository).updateBatch(batch.capture());
+        Employee written = batch.getValue().get(0);
+        assertEquals(1, batch.getValue().size());
+        assertEquals(1L, written.getId());
+        assertEquals("Jane", written.getFirstName());
+        assertEquals("one.new@test.com", written.getEmail());
+        assertEquals(EmployeeStatus.ACTIVE, written.getStatus());
+        assertNotNull(written.getUpdatedAt());
+        // The loaded employee is left as it was, so Hibernate does not write it a second time
+        assertEquals("First1", active.getFirstName());
+        verify(employeeRepository, never()).flush();
+        verify(emailIndexService).addAll(EmailScope.EMPLOYEE, List.of("one.new@test.com"));
+        verify(emailIndexService).remove(EmailScope.EMPLOYEE, "one@test.com");
+        verify(employeeCountCache).invalidate();
+    }
+
+    @Test
+    @DisplayName("Should reject a changed email held by another employee or claimed by an earlier item")
+    void updateEmployees_ShouldRejectTakenEmails() {
+        Employee first = EmployeeFixture.employee(1).email("one@test.com").build();
+        Employee second = EmployeeFixture.employee(2).email("two@test.com").build();
+        Employee third = EmployeeFixture.employee(3).email("three@test.com").build();
+        when(employeeRepository.findAllById(anyCollection())).thenReturn(List.of(first, second, third));
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@test.com"));
+
+        EmployeeBulkResultDTO result = employeeBulkService.updateEmployees(List.of(
+                update(1L, "Taken@test.com"),
+                update(2L, "free@test.com"),
+                update(3L, "FREE@test.com")));
+
+        assertEquals(List.of(BulkItemStatus.REJECTED, BulkItemStatus.UPDATED, BulkItemStatus.REJECTED), statuses(result));
+        assertEquals("Email Taken@test.com is already in use.", result.getItems().get(0).getError());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Employee>> batch = ArgumentCaptor.forClass(List.class);
+        verify(employeeRepository).updateBatch(batch.capture());
+        assertEquals(List.of("free@test.com"), batch.getValue().stream().map(Employee::getEmail).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject emails taken since the check and update the rest when the batch fails on them")
+    void updateEmployees_ShouldRetryWithoutEmailsTakenSinceTheCheck() {
+        when(employeeRepository.findAllById(anyCollection())).thenReturn(List.of(
+                EmployeeFixture.employee(1).email("one@test.com").build(),
+                EmployeeFixture.employee(2).email("two@test.com").build()));
+        List<List<String>> updated = new ArrayList<>();
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry 'raced@test.com' for key 'employee.uk_employee_email'")))
+                .doAnswer(invocation -> {
+                    updated.add(invocation.<List<Employee>>getArgument(0).stream().map(Employee::getEmail).toList());
+                    return null;
+                })
+                .when(employeeRepository).updateBatch(anyList());
+        when(employeeRepository.findExistingEmails(anyCollection()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("raced@test.com"));
+
+        EmployeeBulkResultDTO result = employeeBulkService.updateEmployees(List.of(
+                update(1L, "new@test.com"),
+                update(2L, "Raced@test.com")));
+
+        assertEquals(List.of(BulkItemStatus.UPDATED, BulkItemStatus.REJECTED), statuses(result));
+        assertEquals("Email Raced@test.com is already in use.", result.getItems().get(1).getError());
+        assertEquals(List.of(List.of("new@test.com")), updated);
+        verify(transactionManager).rollback(any());
+        verify(emailIndexService).addAll(EmailScope.EMPLOYEE, List.of("new@test.com"));
+        verify(emailIndexService).remove(EmailScope.EMPLOYEE, "one@test.com");
+        verify(emailIndexService, never()).remove(EmailScope.EMPLOYEE, "two@test.com");
+    }
+
+    @Test
+    @DisplayName("Should report an unchanged employee as updated without writing it")
+    void updateEmployees_ShouldNotWriteUnchangedEmployees() {
+        when(employeeRepository.findAllById(anyCollection())).thenReturn(List.of(EmployeeFixture.employee(1)
+                .firstName("Jane").lastName("Doe").email("one@test.com").department("HR").build()));
+
+        EmployeeBulkResultDTO result = employeeBulkService.updateEmployees(List.of(update(1L, "one@test.com")));
+
+        assertEquals(List.of(BulkItemStatus.UPDATED), statuses(result));
+        verify(employeeRepository, never()).updateBatch(anyList());
+        verify(employeeCountCache, never()).invalidate();
+    }
+
+    @Test
+    @DisplayName("Should not query for emails when no item changes its email")
+    void updateEmployees_ShouldSkipEmailCheckForUnchangedEmails() {
+        when(employeeRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(EmployeeFixture.employee(1).email("one@test.com").build()));
+
+        EmployeeBulkResultDTO result = employeeBulkService.updateEmployees(List.of(update(1L, "ONE@test.com")));
+
+        assertEquals(List.of(BulkItemStatus.UPDATED), statuses(result));
+        verify(employeeRepository, never()).findExistingEmails(anyCollection());
+        verify(emailIndexService, never()).remove(any(), any());
+    }
+}
@@ -0,0 +1,146 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmployeeCodeGenerator - Leased Code Blocks")
+class EmployeeCodeGeneratorTest {
+
+    private static final Clock CLOCK_2025 = Clock.fixed(Instant.parse("2025-06-01T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private AllocationLeaser allocationLeaser;
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    // Stands in for the id_allocation table: one counter per row, seeded on first use
+    private final Map<String, AtomicLong> table = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(allocationLeaser.lease(anyString(), anyLong(), any())).thenAnswer(invocation -> {
+            LongSupplier initialValue = invocation.getArgument(2);
+            AtomicLong row = table.computeIfAbsent(invocation.getArgument(0), key -> new AtomicLong(initialValue.getAsLong()));
+            return row.getAndAdd(invocation.<Long>getArgument(1));
+        });
+    }
+
+    @Test
+    @DisplayName("Should hand out consecutive codes across blocks, prefetching each next block")
+    void next_ShouldContinueAcrossBlocks() {
+        EmployeeCodeGenerator generator = new EmployeeCodeGenerator(allocationLeaser, employeeRepository,
+                Runnable::run, 4, CLOCK_2025);
+
+        List<String> codes = IntStream.range(0, 9).mapToObj(i -> generator.next()).toList();
+
+        assertEquals("EMP-2025-000001", codes.get(0));
+        assertEquals("EMP-2025-000009", codes.get(8));
+        assertEquals(9, Set.copyOf(codes).size());
+        // Blocks [1,5), [5,9) and [9,13): each leased once, before the previous one ran out
+        verify(allocationLeaser, times(3)).lease(eq("employee_code_2025"), eq(4L), any());
+    }
+
+    @Test
+    @DisplayName("Should lease the next block in the background, off the caller's path")
+    void next_ShouldRefillAsynchronously() {
+        Queue<Runnable> refills = new ArrayDeque<>();
+        EmployeeCodeGenerator generator = new EmployeeCodeGenerator(allocationLeaser, employeeRepository,
+                refills::add, 4, CLOCK_2025);
+
+        for (int i = 0; i < 3; i++) {
+            generator.next();
+        }
+        assertTrue(refills.isEmpty());
+
+        // The last code of the block queues the refill instead of leasing inline
+        assertEquals("EMP-2025-000004", generator.next());
+        assertEquals(1, refills.size());
+        verify(allocationLeaser, times(1)).lease(anyString(), anyLong(), any());
+
+        refills.poll().run();
+        assertEquals("EMP-2025-000005", generator.next());
+        verify(allocationLeaser, times(2)).lease(anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should start a new year's counter after the highest code already used that year")
+    void next_ShouldSeedFromExistingCodes() {
+        when(employeeRepository.findMaxEmployeeNumber("EMP-2025-")).thenReturn(41L);
+        EmployeeCodeGenerator generator = new EmployeeCodeGenerator(allocationLeaser, employeeRepository,
+                Runnable::run, 10, CLOCK_2025);
+
+        assertEquals("EMP-2025-000042", generator.next());
+    }
+
+    @Test
+    @DisplayName("Should switch to a new counter when the year changes")
+    void next_ShouldRollOverOnNewYear() {
+        Clock clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(Instant.parse("2025-12-31T23:59:59Z"), Instant.parse("2026-01-01T00:00:01Z"));
+        EmployeeCodeGenerator generator = new EmployeeCodeGenerator(allocationLeaser, employeeRepository,
+                Runnable::run, 10, clock);
+
+        assertEquals("EMP-2025-000001", generator.next());
+        assertEquals("EMP-2026-000001", generator.next());
+        verify(allocationLeaser).lease(eq("employee_code_2026"), eq(10L), any());
+    }
+
+    @Test
+    @DisplayName("Should never hand out the same code twice under concurrent inserts")
+    void next_ShouldBeUniqueUnderConcurrency() throws Exception {
+        ExecutorService refillPool = Executors.newSingleThreadExecutor();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            EmployeeCodeGenerator generator = new EmployeeCodeGenerator(allocationLeaser, employeeRepository,
+                    refillPool, 16, CLOCK_2025);
+            Set<String> codes = ConcurrentHashMap.newKeySet();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(callers.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        codes.add(generator.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            assertEquals(4000, codes.size());
+        } finally {
+            callers.shutdownNow();
+            refillPool.shutdownNow();
+        }
+    }
+}
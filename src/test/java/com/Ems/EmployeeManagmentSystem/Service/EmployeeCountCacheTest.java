@@ -0,0 +1,103 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.MatchMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeCountCacheTest {
+
+    private final Clock clock = mock(Clock.class);
+    private final AtomicLong counts = new AtomicLong();
+    private EmployeeCountCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenReturn(0L);
+        cache = new EmployeeCountCache(1000, 10, clock);
+    }
+
+    private long count(String name, String department) {
+        return cache.count(name, MatchMode.PREFIX, EmployeeStatus.ACTIVE, department, true, counts::incrementAndGet);
+    }
+
+    @Test
+    @DisplayName("Searches differing only in case, spaces or blank filters share a count")
+    void count_ShouldReuseCountForNormalizedFilters() {
+        assertEquals(1, count("John", "IT"));
+        assertEquals(1, count(" john ", "it"));
+        assertEquals(2, count("John", " "));
+        assertEquals(2, count("John", null));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    @DisplayName("A count older than the staleness window is loaded again")
+    void count_ShouldExpireAfterStaleness() {
+        count("John", "IT");
+        when(clock.millis()).thenReturn(999L);
+        assertEquals(1, count("John", "IT"));
+
+        when(clock.millis()).thenReturn(1000L);
+        assertEquals(2, count("John", "IT"));
+    }
+
+    @Test
+    @DisplayName("Invalidation drops every count")
+    void invalidate_ShouldDropCounts() {
+        count("John", "IT");
+        count("Anna", "HR");
+
+        cache.invalidate();
+
+        assertEquals(3, count("John", "IT"));
+        assertEquals(4, count("Anna", "HR"));
+    }
+
+    @Test
+    @DisplayName("Invalidation in a transaction drops counts again when it completes")
+    void invalidate_ShouldDropCountsTakenBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate();
+            // Taken by another request before the write commits
+            count("John", "IT");
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2, count("John", "IT"));
+    }
+
+    @Test
+    @DisplayName("A count loaded while an invalidation happens is not cached")
+    void count_ShouldNotCacheCountRacingAWrite() {
+        cache.count("John", null, null, null, true, () -> {
+            cache.invalidate();
+            return counts.incrementAndGet();
+        });
+
+        assertEquals(2, cache.count("John", null, null, null, true, counts::incrementAndGet));
+    }
+
+    @Test
+    @DisplayName("Zero staleness counts every time")
+    void count_WithZeroStaleness_ShouldNotCache() {
+        cache = new EmployeeCountCache(0, 10, clock);
+
+        assertEquals(1, count("John", "IT"));
+        assertEquals(2, count("John", "IT"));
+    }
+}
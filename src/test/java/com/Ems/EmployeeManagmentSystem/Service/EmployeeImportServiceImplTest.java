@@ -0,0 +1,435 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Entity.EmployeeFixture;
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.IdSequence;
+import com.Ems.EmployeeManagmentSystem.Enum.ImportMode;
+import com.Ems.EmployeeManagmentSystem.Repository.EmployeeRepository;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeImportResultDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.ImportRowErrorDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.ImportStageDTO;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmployeeImportServiceImpl - CSV Import")
+class EmployeeImportServiceImplTest {
+
+    private static final String HEADER = "First Name,Last Name,Email,Department,Status,Date of Joining\n";
+
+    private static ValidatorFactory validatorFactory;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private IdBlockAllocator idBlockAllocator;
+    @Mock
+    private EmployeeCodeGenerator employeeCodeGenerator;
+    @Mock
+    private EmailIndexService emailIndexService;
+    @Mock
+    private EmployeeCountCache employeeCountCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeImportServiceImpl employeeImportService;
+    // Written by the pipeline's writer threads
+    private final List<List<Employee>> insertedBatches = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeAll
+    static void createValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = validatorFactory.getValidator();
+        employeeImportService = new EmployeeImportServiceImpl(employeeRepository, idBlockAllocator, employeeCodeGenerator,
+                emailIndexService, employeeCountCache, validator,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(employeeImportService, "BATCH_SIZE", 2);
+        ReflectionTestUtils.setField(employeeImportService, "validatorThreads", 2);
+        ReflectionTestUtils.setField(employeeImportService, "writerThreads", 1);
+        ReflectionTestUtils.setField(employeeImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(employeeImportService, "queueCapacity", 2);
+
+        // Lease consecutive ids the way the allocation table would and keep a copy of every batch
+        AtomicLong nextId = new AtomicLong(1);
+        lenient().when(idBlockAllocator.reserve(eq(IdSequence.EMPLOYEE), anyInt()))
+                .thenAnswer(invocation -> nextId.getAndAdd(invocation.<Integer>getArgument(1)));
+        AtomicLong nextCode = new AtomicLong(1);
+        lenient().when(employeeCodeGenerator.next())
+                .thenAnswer(invocation -> String.format("EMP-2025-%06d", nextCode.getAndIncrement()));
+        lenient().doAnswer(invocation -> {
+            insertedBatches.add(List.copyOf(invocation.<List<Employee>>getArgument(0)));
+            return null;
+        }).when(employeeRepository).insertBatch(anyList());
+        lenient().when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        // Every email is a possible duplicate unless a test says otherwise, so the database decides
+        lenient().when(emailIndexService.filterMightExist(eq(EmailScope.EMPLOYEE), anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<String>>getArgument(1)));
+    }
+
+    // Same fields as the CSV rows below unless a test overrides them
+    private static EmployeeFixture.Builder existing(long id, String firstName, String email) {
+        return EmployeeFixture.employee(id)
+                .employeeCode(String.format("EMP-2024-%06d", id))
+                .firstName(firstName)
+                .lastName("Doe")
+                .email(email);
+    }
+
+    private static MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "employees.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should insert valid rows in JDBC batches of batch-size and set their codes")
+    void importEmployees_ShouldInsertInBatches() throws Exception {
+        MockMultipartFile file = csv(HEADER +
+                "John,Doe,john@test.com,IT,ACTIVE,2024-01-15\n" +
+                "Jane,Smith,jane@test.com,HR,active,2024-02-20\n" +
+                "Bob,Brown,bob@test.com,Sales,INACTIVE,2024-03-10\n");
+
+        EmployeeImportResultDTO result = employeeImportService.importEmployees(file);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(3, result.getImportedRows());
+        assertEquals(0, result.getRejectedRows());
+        assertTrue(result.getErrors().isEmpty());
+
+        assertEquals(2, insertedBatches.size());
+        assertEquals(2, insertedBatches.get(0).size());
+        assertEquals(1, insertedBatches.get(1).size());
+
+        Employee jane = insertedBatches.get(0).get(1);
+        assertEquals(EmployeeStatus.ACTIVE, jane.getStatus());
+        assertEquals("EMP-2025-000002", jane.getEmployeeCode());
+        assertTrue(jane.getIsActive());
+        assertFalse(jane.getIsDeleted());
+        assertNotNull(jane.getCreatedAt());
+
+        assertEquals(3L, insertedBatches.get(1).get(0).getId());
+        verify(idBlockAllocator).reserve(IdSequence.EMPLOYEE, 2);
+        verify(idBlockAllocator).reserve(IdSequence.EMPLOYEE, 1);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should skip and report invalid rows, in-file duplicates and existing emails")
+    void importEmployees_ShouldReportRejectedRows() throws Exception {
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@test.com"));
+        MockMultipartFile file = csv(HEADER +
+                "John,Doe,john@test.com,IT,ACTIVE,2024-01-15\n" +
+                ",Smith,not-an-email,HR,ACTIVE,2024-02-20\n" +
+                "Bob,Brown,bob@test.com,Sales,RETIRED,2024-03-10\n" +
+                "Ann,Lee,ann@test.com,IT,ACTIVE,15/01/2024\n" +
+                "Johnny,Doe,JOHN@test.com,IT,ACTIVE,2024-01-15\n" +
+                "Tom,Taken,Taken@test.com,IT,ACTIVE,2024-01-15\n");
+
+        EmployeeImportResultDTO result = employeeImportService.importEmployees(file);
+
+        assertEquals(6, result.getTotalRows());
+        assertEquals(1, result.getImportedRows());
+        assertEquals(5, result.getRejectedRows());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L),
+                result.getErrors().stream().map(ImportRowErrorDTO::getRowNumber).sorted().toList());
+
+        ImportRowErrorDTO invalid = result.getErrors().stream().filter(e -> e.getRowNumber() == 2).findFirst().orElseThrow();
+        assertTrue(invalid.getMessage().contains("First name is required"));
+        assertTrue(invalid.getMessage().contains("Please enter Valid email"));
+
+        ImportRowErrorDTO duplicate = result.getErrors().stream().filter(e -> e.getRowNumber() == 5).findFirst().orElseThrow();
+        assertTrue(duplicate.getMessage().startsWith("Duplicate email in file"));
+
+        ImportRowErrorDTO taken = result.getErrors().stream().filter(e -> e.getRowNumber() == 6).findFirst().orElseThrow();
+        assertEquals("Employee already exists with email Taken@test.com", taken.getMessage());
+
+        assertEquals(List.of("john@test.com"),
+                insertedBatches.stream().flatMap(List::stream).map(Employee::getEmail).toList());
+    }
+
+    @Test
+    @DisplayName("Should accept an employee export file: BOM, header case and extra columns")
+    void importEmployees_ShouldAcceptExportFormat() throws Exception {
+        MockMultipartFile file = csv("\uFEFFEmployee Code,FIRST NAME,last name,Email,Department,Status,Date of Joining,Is Active\r\n" +
+                "EMP-2024-000001,John,Doe,john@test.com,IT,ACTIVE,2024-01-15,true\r\n" +
+                "\r\n" +
+                "EMP-2024-000002,\"Jane, Jr\",Smith,jane@test.com,HR,ACTIVE,2024-02-20,false\r\n");
+
+        EmployeeImportResultDTO result = employeeImportService.importEmployees(file);
+
+        assertEquals(2, result.getImportedRows());
+        assertEquals(0, result.getRejectedRows());
+        assertEquals("Jane, Jr", insertedBatches.get(0).get(1).getFirstName());
+    }
+
+    @Test
+    @DisplayName("Should reject a file without the required columns before inserting anything")
+    void importEmployees_ShouldRejectMissingColumns() {
+        MockMultipartFile file = csv("First Name,Last Name,Email\nJohn,Doe,john@test.com\n");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> employeeImportService.importEmployees(file));
+
+        assertEquals("CSV file is missing required columns: Department, Status, Date of Joining", exception.getMessage());
+        verifyNoInteractions(employeeRepository, idBlockAllocator, employeeCodeGenerator);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty upload")
+    void importEmployees_ShouldRejectEmptyFile() {
+        assertThrows(IllegalArgumentException.class, () -> employeeImportService.importEmployees(csv("")));
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    @DisplayName("Should check existing emails once per batch")
+    @SuppressWarnings("unchecked")
+    void importEmployees_ShouldQueryExistingEmailsPerBatch() throws Exception {
+        MockMultipartFile file = csv(HEADER +
+                "John,Doe,john@test.com,IT,ACTIVE,2024-01-15\n" +
+                "Jane,Smith,jane@test.com,HR,ACTIVE,2024-02-20\n");
+
+        employeeImportService.importEmployees(file);
+
+        ArgumentCaptor<List<String>> emails = ArgumentCaptor.forClass(List.class);
+        verify(employeeRepository, times(1)).findExistingEmails(emails.capture());
+        assertEquals(List.of("john@test.com", "jane@test.com"), emails.getValue());
+    }
+
+    @Test
+    @DisplayName("Should only query the emails the email index cannot rule out")
+    void importEmployees_ShouldQueryOnlyEmailsTheIndexMightHold() throws Exception {
+        when(emailIndexService.filterMightExist(eq(EmailScope.EMPLOYEE), anyCollection())).thenReturn(List.of("jane@test.com"));
+        MockMultipartFile file = csv(HEADER +
+                "John,Doe,john@test.com,IT,ACTIVE,2024-01-15\n" +
+                "Jane,Smith,jane@test.com,HR,ACTIVE,2024-02-20\n");
+
+        employeeImportService.importEmployees(file);
+
+        verify(employeeRepository).findExistingEmails(List.of("jane@test.com"));
+        verify(emailIndexService).addAll(EmailScope.EMPLOYEE, List.of("john@test.com", "jane@test.com"));
+    }
+
+    @Test
+    @DisplayName("Should retry a batch with every email checked when a duplicate slipped past the index")
+    void importEmployees_ShouldRetryBatchWhenIndexMissedDuplicate() throws Exception {
+        when(emailIndexService.filterMightExist(eq(EmailScope.EMPLOYEE), anyCollection())).thenReturn(List.of());
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("john@test.com"));
+        doThrow(new DataIntegrityViolationException("Duplicate entry 'john@test.com'"))
+                .doAnswer(invocation -> {
+                    insertedBatches.add(List.copyOf(invocation.<List<Employee>>getArgument(0)));
+                    return null;
+                })
+                .when(employeeRepository).insertBatch(anyList());
+        MockMultipartFile file = csv(HEADER +
+                "John,Doe,john@test.com,IT,ACTIVE,2024-01-15\n" +
+                "Jane,Smith,jane@test.com,HR,ACTIVE,2024-02-20\n");
+
+        EmployeeImportResultDTO result = employeeImportService.importEmployees(file);
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals(List.of(1L), result.getErrors().stream().map(ImportRowErrorDTO::getRowNumber).toList());
+        assertEquals(List.of("jane@test.com"),
+                insertedBatches.stream().flatMap(List::stream).map(Employee::getEmail).toList());
+        verify(employeeRepository).findExistingEmails(List.of("john@test.com", "jane@test.com"));
+        // The missed email is learned, so the next batch catches it without a failed insert
+        verify(emailIndexService).addAll(EmailScope.EMPLOYEE, Set.of("john@test.com"));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should merge on code or email and write only new and changed rows")
+    @SuppressWarnings("unchecked")
+    void importEmployees_ShouldMergeOnCodeOrEmail() throws Exception {
+        ReflectionTestUtils.setField(employeeImportService, "BATCH_SIZE", 10);
+        when(employeeRepository.findMergeTargets(anyCollection(), anyCollection())).thenReturn(List.of(
+                existing(1, "John", "john@test.com").build(),
+                existing(2, "Jane", "jane@test.com").build(),
+                existing(3, "Bob", "bob@test.com").build(),
+                existing(4, "Old", "old@test.com").deleted(true).build()));
+        MockMultipartFile file = csv("Employee Code," + HEADER +
+                ",John,Doe,john@test.com,IT,ACTIVE,2024-01-15\n" +
+                ",Jane,Doe,jane@test.com,IT,INACTIVE,2024-01-15\n" +
+                "EMP-2024-000003,Bob,Doe,bob.new@test.com,IT,ACTIVE,2024-01-15\n" +
+                ",Ann,Lee,ann@test.com,IT,ACTIVE,2024-01-15\n" +
+                "EMP-2024-000099,Tom,Gone,tom@test.com,IT,ACTIVE,2024-01-15\n" +
+                ",Old,Doe,old@test.com,IT,ACTIVE,2024-01-15\n");
+
+        EmployeeImportResultDTO result = employeeImportService.importEmployees(file, ImportMode.MERGE);
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals(2, result.getUpdatedRows());
+        assertEquals(1, result.getUnchangedRows());
+        assertEquals(2, result.getRejectedRows());
+        assertEquals(List.of("No employee with code EMP-2024-000099", "Employee EMP-2024-000004 is deleted"),
+                result.getErrors().stream().map(ImportRowErrorDTO::getMessage).toList());
+
+        // The changed rows are updated by id and the new one inserted; John is not written at all
+        ArgumentCaptor<List<Employee>> updated = ArgumentCaptor.forClass(List.class);
+        verify(employeeRepository).updateBatch(updated.capture());
+        assertEquals(List.of("jane@test.com", "bob.new@test.com"),
+                updated.getValue().stream().map(Employee::getEmail).toList());
+        assertEquals(List.of(2L, 3L), updated.getValue().stream().map(Employee::getId).toList());
+        assertEquals(List.of("EMP-2024-000002", "EMP-2024-000003"),
+                updated.getValue().stream().map(Employee::getEmployeeCode).toList());
+        assertEquals(1, insertedBatches.size());
+        assertEquals(List.of("ann@test.com"), insertedBatches.get(0).stream().map(Employee::getEmail).toList());
+        assertEquals("EMP-2025-000001", insertedBatches.get(0).get(0).getEmployeeCode());
+        verify(emailIndexService).remove(EmailScope.EMPLOYEE, "bob@test.com");
+    }
+
+    @Test
+    @DisplayName("Should retry a merge batch when an inserted email was taken after the match query")
+    void importEmployees_ShouldRetryMergeBatchOnDuplicateEmail() throws Exception {
+        when(employeeRepository.findMergeTargets(anyCollection(), anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(existing(7, "Other", "john@test.com").build()));
+        doThrow(new DataIntegrityViolationException("Duplicate entry 'john@test.com'"))
+                .doAnswer(invocation -> {
+                    insertedBatches.add(List.copyOf(invocation.<List<Employee>>getArgument(0)));
+                    return null;
+                })
+                .when(employeeRepository).insertBatch(anyList());
+        MockMultipartFile file = csv("Employee Code," + HEADER +
+                ",John,Doe,john@test.com,IT,ACTIVE,2024-01-15\n" +
+                ",Jane,Smith,jane@test.com,HR,ACTIVE,2024-02-20\n");
+
+        EmployeeImportResultDTO result = employeeImportService.importEmployees(file, ImportMode.MERGE);
+
+        // John now matches the employee committed in between and becomes an update of it
+        assertEquals(1, result.getImportedRows());
+        assertEquals(1, result.getUpdatedRows());
+        assertEquals(List.of("jane@test.com"),
+                insertedBatches.stream().flatMap(List::stream).map(Employee::getEmail).toList());
+        verify(employeeRepository).updateBatch(argThat(employees -> employees.size() == 1
+                && employees.get(0).getId() == 7L && "EMP-2024-000007".equals(employees.get(0).getEmployeeCode())));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should skip rows up to the checkpoint and report each batch with its rejections")
+    void importEmployees_ShouldResumeAfterCheckpoint() throws Exception {
+        String content = HEADER +
+                "John,Doe,john@test.com,IT,ACTIVE,2024-01-15\n" +
+                "Jane,Smith,jane@test.com,HR,ACTIVE,2024-02-20\n" +
+                "Bob,Brown,bob@test.com,Sales,RETIRED,2024-03-10\n" +
+                "Ann,Lee,ann@test.com,IT,ACTIVE,2024-04-01\n";
+        ImportProgress progress = ImportProgress.resumeFrom(2, 2, 2, 0, 0, 0);
+        List<Long> checkpoints = new ArrayList<>();
+        List<ImportBatchListener.RejectedRow> rejected = new ArrayList<>();
+
+        employeeImportService.importEmployees(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), progress,
+                (batchProgress, rejectedRows) -> {
+                    checkpoints.add(batchProgress.getLastCommittedRow());
+                    rejected.addAll(rejectedRows);
+                });
+
+        assertEquals(List.of("ann@test.com"),
+                insertedBatches.stream().flatMap(List::stream).map(Employee::getEmail).toList());
+        assertEquals(List.of(4L), checkpoints);
+        assertEquals(1, rejected.size());
+        assertEquals(3, rejected.get(0).rowNumber());
+        assertEquals(List.of("Bob", "Brown", "bob@test.com", "Sales", "RETIRED", "2024-03-10"), rejected.get(0).values());
+        assertEquals(4, progress.getRowsParsed());
+        assertEquals(3, progress.getRowsValid());
+        assertEquals(3, progress.getRowsInserted());
+        assertEquals(1, progress.getRowsRejected());
+    }
+
+    @Test
+    @DisplayName("Should validate and write in parallel but commit batches in file order")
+    void importEmployees_ShouldCommitInFileOrderWithParallelStages() throws Exception {
+        ReflectionTestUtils.setField(employeeImportService, "validatorThreads", 4);
+        ReflectionTestUtils.setField(employeeImportService, "writerThreads", 3);
+        ReflectionTestUtils.setField(employeeImportService, "chunkSize", 7);
+        ReflectionTestUtils.setField(employeeImportService, "BATCH_SIZE", 10);
+        StringBuilder content = new StringBuilder(HEADER);
+        for (int i = 1; i <= 500; i++) {
+            // Every 50th row is invalid
+            String status = i % 50 == 0 ? "RETIRED" : "ACTIVE";
+            content.append("First").append(i).append(",Last,employee").append(i).append("@test.com,IT,")
+                    .append(status).append(",2024-01-15\n");
+        }
+        ImportProgress progress = new ImportProgress();
+        List<Long> checkpoints = new ArrayList<>();
+        List<Long> rejectedRowNumbers = new ArrayList<>();
+
+        employeeImportService.importEmployees(new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8)),
+                progress, (batchProgress, rejectedRows) -> {
+                    checkpoints.add(batchProgress.getLastCommittedRow());
+                    rejectedRows.forEach(row -> rejectedRowNumbers.add(row.rowNumber()));
+                });
+
+        assertEquals(500, progress.getRowsParsed());
+        assertEquals(490, progress.getRowsInserted());
+        assertEquals(10, progress.getRowsRejected());
+        assertEquals(500, progress.getLastCommittedRow());
+        assertEquals(checkpoints.stream().sorted().toList(), checkpoints);
+        assertEquals(LongStream.rangeClosed(1, 10).map(i -> i * 50).boxed().toList(), rejectedRowNumbers);
+        assertEquals(490, insertedBatches.stream().flatMap(List::stream).map(Employee::getId).distinct().count());
+
+        assertEquals(List.of("parse", "validate", "dedupe", "write"),
+                progress.getStages().stream().map(ImportStageDTO::getStage).toList());
+        assertEquals(500, progress.getStages().get(1).getRowsProcessed());
+        assertEquals(490, progress.getStages().get(3).getRowsProcessed());
+    }
+
+    @Test
+    @DisplayName("Should stop every stage and roll back when a batch fails")
+    void importEmployees_ShouldAbortPipelineOnWriteFailure() {
+        doThrow(new IllegalStateException("deadlock")).when(employeeRepository).insertBatch(anyList());
+        MockMultipartFile file = csv(HEADER +
+                "John,Doe,john@test.com,IT,ACTIVE,2024-01-15\n" +
+                "Jane,Smith,jane@test.com,HR,ACTIVE,2024-02-20\n" +
+                "Bob,Brown,bob@test.com,Sales,INACTIVE,2024-03-10\n");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> employeeImportService.importEmployees(file));
+
+        assertEquals("deadlock", exception.getMessage());
+        verify(transactionManager, never()).commit(any());
+        verify(transactionManager).rollback(any());
+    }
+}
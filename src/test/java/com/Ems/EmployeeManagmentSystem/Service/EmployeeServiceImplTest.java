@@ -2,19 +2,31 @@ package com.Ems.EmployeeManagmentSystem.Service;
 
 import com.Ems.EmployeeManagmentSystem.Entity.Employee;
 import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeExportColumn;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeSortField;
 import com.Ems.EmployeeManagmentSystem.Enum.EmployeeStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportCompression;
+import com.Ems.EmployeeManagmentSystem.Enum.IdSequence;
+import com.Ems.EmployeeManagmentSystem.Enum.MatchMode;
 import com.Ems.EmployeeManagmentSystem.Exceptions.EmployeeAlreadyExistsException;
 import com.Ems.EmployeeManagmentSystem.Exceptions.EmployeeNotFoundException;
 import com.Ems.EmployeeManagmentSystem.Exceptions.UserNotFoundException;
 import com.Ems.EmployeeManagmentSystem.Mapper.EmployeeMapper;
 import com.Ems.EmployeeManagmentSystem.Repository.EmployeeRepository;
 import com.Ems.EmployeeManagmentSystem.Repository.UsersRepository;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeCursor;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeExportFilter;
 import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
+import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeCursorPageDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Response.EmployeeResponseDTO;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -23,10 +35,18 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -41,6 +61,12 @@ class EmployeeServiceImplTest {
     @Mock
     private UsersRepository usersRepository;
     @Mock
+    private IdBlockAllocator idBlockAllocator;
+    @Mock
+    private EmployeeCodeGenerator employeeCodeGenerator;
+    @Mock
+    private EmailIndexService emailIndexService;
+    @Mock
     private HttpServletResponse response;
 
     @InjectMocks
@@ -50,10 +76,13 @@ class EmployeeServiceImplTest {
     private Users user;
     private EmployeeRequestDTO requestDTO;
     private EmployeeResponseDTO responseDTO;
+    private EmployeeCountCache employeeCountCache;
 
     @BeforeEach
     void setup() {
-        employeeService = new EmployeeServiceImpl(employeeRepository, employeeMapper, usersRepository);
+        employeeCountCache = new EmployeeCountCache(30_000, 1000);
+        employeeService = new EmployeeServiceImpl(employeeRepository, employeeMapper, usersRepository, idBlockAllocator,
+                employeeCodeGenerator, emailIndexService, employeeCountCache, Runnable::run, Runnable::run);
 
         user = new Users();
         user.setId(1L);
@@ -82,20 +111,31 @@ class EmployeeServiceImplTest {
     void testAddEmployeeSuccess() {
         mockSecurityContext(user);
         when(usersRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(employeeRepository.existsByEmail("emp@test.com")).thenReturn(false);
         when(employeeMapper.toEntity(requestDTO)).thenReturn(employee);
-        when(employeeRepository.save(any(Employee.class))).thenAnswer(inv -> {
-            Employee e = inv.getArgument(0);
-            if (e.getId() == null) e.setId(1L);
-            return e;
-        });
+        when(idBlockAllocator.next(IdSequence.EMPLOYEE)).thenReturn(42L);
+        when(employeeCodeGenerator.next()).thenReturn("EMP-2025-000007");
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(inv -> inv.getArgument(0));
         when(employeeMapper.toResponseDTO(employee)).thenReturn(responseDTO);
 
         EmployeeResponseDTO result = employeeService.addEmployee(requestDTO);
 
         assertNotNull(result);
         assertEquals("emp@test.com", result.getEmail());
-        verify(employeeRepository, times(2)).save(any(Employee.class));
+
+        // One save, with the id and code already set
+        ArgumentCaptor<Employee> saved = ArgumentCaptor.forClass(Employee.class);
+        verify(employeeRepository, times(1)).save(saved.capture());
+        assertEquals(42L, saved.getValue().getId());
+        assertEquals("EMP-2025-000007", saved.getValue().getEmployeeCode());
+        verify(employeeRepository, times(1)).flush();
+        verify(emailIndexService).add(EmailScope.EMPLOYEE, "emp@test.com");
+    }
+
+    // What MySQL reports for a second row with a taken email
+    private static DataIntegrityViolationException emailViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry 'emp@test.com' for key 'employee.uk_employee_email'"));
     }
 
     @Test
@@ -109,8 +149,29 @@ class EmployeeServiceImplTest {
     void testAddEmployee_EmployeeAlreadyExists() {
         mockSecurityContext(user);
         when(usersRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(employeeRepository.existsByEmail("emp@test.com")).thenReturn(true);
+        when(employeeMapper.toEntity(requestDTO)).thenReturn(employee);
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(inv -> inv.getArgument(0));
+        doThrow(emailViolation()).when(employeeRepository).flush();
+
         assertThrows(EmployeeAlreadyExistsException.class, () -> employeeService.addEmployee(requestDTO));
+
+        // The insert is the only duplicate check
+        verify(emailIndexService, never()).mightExist(any(), any());
+    }
+
+    @Test
+    void testAddEmployee_OtherConstraintViolationIsNotADuplicateEmail() {
+        mockSecurityContext(user);
+        when(usersRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(employeeMapper.toEntity(requestDTO)).thenReturn(employee);
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(inv -> inv.getArgument(0));
+        doThrow(new DataIntegrityViolationException("Duplicate entry '1' for key 'employee.uk_employee_user_id'"))
+                .when(employeeRepository).flush();
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> employeeService.addEmployee(requestDTO));
+
+        assertFalse(thrown instanceof EmployeeAlreadyExistsException);
+        verify(emailIndexService, never()).add(any(), any());
     }
 
     @Test
@@ -143,27 +204,134 @@ class EmployeeServiceImplTest {
 
     @Test
     void testGetEmployee_Success() {
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
-        Page<Employee> page = new PageImpl<>(List.of(employee));
-        when(employeeRepository.findByFilters(any(), any(), any(), any(), any())).thenReturn(page);
+        when(employeeRepository.findBy(ArgumentMatchers.<Specification<Employee>>any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(employee)));
         when(employeeMapper.toResponseDTO(employee)).thenReturn(responseDTO);
 
-        Page<EmployeeResponseDTO> result = employeeService.getEmployee("John", EmployeeStatus.ACTIVE, "IT", true, 0, 10, "id");
+        Page<EmployeeResponseDTO> result = employeeService.getEmployee("John", MatchMode.PREFIX, EmployeeStatus.ACTIVE, "IT", true, 0, 10, "id");
 
+        // A first page shorter than the page size is the whole result, so nothing is counted
         assertEquals(1, result.getTotalElements());
         assertEquals("emp@test.com", result.getContent().get(0).getEmail());
+        verify(employeeRepository, never()).count(ArgumentMatchers.<Specification<Employee>>any());
+    }
+
+    @Test
+    void testGetEmployee_PagesOfOneSearchShareTheCount() {
+        Pageable firstPage = PageRequest.of(0, 1);
+        when(employeeRepository.findBy(ArgumentMatchers.<Specification<Employee>>any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(employee), firstPage, true));
+        when(employeeRepository.count(ArgumentMatchers.<Specification<Employee>>any())).thenReturn(42L);
+        when(employeeMapper.toResponseDTO(employee)).thenReturn(responseDTO);
+
+        employeeService.getEmployee("John", MatchMode.PREFIX, null, "IT", true, 0, 1, "createdAt");
+        Page<EmployeeResponseDTO> result = employeeService.getEmployee(" JOHN ", null, null, "it", true, 1, 1, "createdAt");
+
+        assertEquals(42, result.getTotalElements());
+        verify(employeeRepository, times(1)).count(ArgumentMatchers.<Specification<Employee>>any());
+    }
+
+    @Test
+    void testGetEmployee_WriteDropsCachedCount() {
+        when(employeeRepository.findBy(ArgumentMatchers.<Specification<Employee>>any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(employee), PageRequest.of(0, 1), true));
+        when(employeeRepository.count(ArgumentMatchers.<Specification<Employee>>any())).thenReturn(42L, 41L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeMapper.toResponseDTO(employee)).thenReturn(responseDTO);
+
+        employeeService.getEmployee(null, null, null, null, true, 0, 1, "createdAt");
+        employeeService.deleteEmployee(1L);
+        Page<EmployeeResponseDTO> result = employeeService.getEmployee(null, null, null, null, true, 0, 1, "createdAt");
+
+        assertEquals(41, result.getTotalElements());
+    }
+
+    @Test
+    void testGetEmployeeSlice_NeverCounts() {
+        when(employeeRepository.findBy(ArgumentMatchers.<Specification<Employee>>any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(employee), PageRequest.of(0, 1), true));
+        when(employeeMapper.toResponseDTO(employee)).thenReturn(responseDTO);
+
+        Slice<EmployeeResponseDTO> result = employeeService.getEmployeeSlice(null, null, null, null, true, 0, 1, "createdAt");
+
+        assertTrue(result.hasNext());
+        assertEquals("emp@test.com", result.getContent().get(0).getEmail());
+        verify(employeeRepository, never()).count(ArgumentMatchers.<Specification<Employee>>any());
+    }
+
+    @Test
+    void testScrollEmployees_FullPageReturnsCursorAfterLastRow() {
+        Employee second = new Employee();
+        second.setId(2L);
+        Employee third = new Employee();
+        third.setId(3L);
+        when(employeeRepository.findBy(ArgumentMatchers.<Specification<Employee>>any(), any()))
+                .thenReturn(List.of(third, second, employee));
+        when(employeeMapper.toResponseDTO(any(Employee.class))).thenReturn(responseDTO);
+
+        EmployeeCursorPageDTO result = employeeService.scrollEmployees(null, MatchMode.PREFIX, null, null, true, 2,
+                EmployeeSortField.ID, null);
+
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(new EmployeeCursor(EmployeeSortField.ID, "2", 2L),
+                EmployeeCursor.decode(result.getNextCursor(), EmployeeSortField.ID));
+        verify(employeeMapper, never()).toResponseDTO(employee);
+    }
+
+    @Test
+    void testScrollEmployees_LastPageHasNoCursor() {
+        when(employeeRepository.findBy(ArgumentMatchers.<Specification<Employee>>any(), any()))
+                .thenReturn(List.of(employee));
+        when(employeeMapper.toResponseDTO(employee)).thenReturn(responseDTO);
+
+        String cursor = new EmployeeCursor(EmployeeSortField.ID, "5", 5L).encode();
+        EmployeeCursorPageDTO result = employeeService.scrollEmployees(null, MatchMode.PREFIX, null, null, true, 2,
+                EmployeeSortField.ID, cursor);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testScrollEmployees_CursorForOtherSortIsRejected() {
+        String cursor = new EmployeeCursor(EmployeeSortField.ID, "5", 5L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.scrollEmployees(null, MatchMode.PREFIX,
+                null, null, true, 2, EmployeeSortField.CREATED_AT, cursor));
+        verifyNoInteractions(employeeRepository);
     }
 
     @Test
     void testUpdateEmployee_Success() {
+        requestDTO.setEmail("new@test.com");
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
-        when(employeeRepository.existsByEmailAndIdNot("emp@test.com", 1L)).thenReturn(false);
-        when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
+        doAnswer(inv -> {
+            employee.setEmail("new@test.com");
+            return null;
+        }).when(employeeMapper).updateEmployee(requestDTO, employee);
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(employee);
         when(employeeMapper.toResponseDTO(employee)).thenReturn(responseDTO);
 
         EmployeeResponseDTO result = employeeService.updateEmployee(1L, requestDTO);
 
         assertEquals("emp@test.com", result.getEmail());
+        verify(emailIndexService).add(EmailScope.EMPLOYEE, "new@test.com");
+        verify(emailIndexService).remove(EmailScope.EMPLOYEE, "emp@test.com");
+    }
+
+    @Test
+    void testUpdateEmployee_UnchangedEmailLeavesIndexAlone() {
+        requestDTO.setEmail("EMP@test.com");
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(employee);
+        when(employeeMapper.toResponseDTO(employee)).thenReturn(responseDTO);
+
+        employeeService.updateEmployee(1L, requestDTO);
+
+        verify(emailIndexService, never()).add(any(), any());
+        verify(emailIndexService, never()).remove(any(), any());
     }
 
     @Test
@@ -183,10 +351,12 @@ class EmployeeServiceImplTest {
 
     @Test
     void testUpdateEmployee_EmailExists() {
+        requestDTO.setEmail("taken@test.com");
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
-        when(employeeRepository.existsByEmailAndIdNot("emp@test.com", 1L)).thenReturn(true);
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenThrow(emailViolation());
 
         assertThrows(EmployeeAlreadyExistsException.class, () -> employeeService.updateEmployee(1L, requestDTO));
+        verify(emailIndexService, never()).remove(any(), any());
     }
 
     @Test
@@ -245,15 +415,12 @@ class EmployeeServiceImplTest {
     void exportAllEmployeesPaginated_success() throws Exception {
         ReflectionTestUtils.setField(employeeService, "BATCH_SIZE", 2);
 
-        employee.setEmployeeCode("EMP-2025-000001");
-        employee.setEmail("john.doe@test.com");
+        Object[] first = exportRow(1L, "EMP-2025-000001", "john.doe@test.com");
+        Object[] second = exportRow(2L, "EMP-2025-000002", "jane.doe@test.com");
+        Object[] third = exportRow(3L, "EMP-2025-000003", "jim.doe@test.com");
 
-        Page<Employee> page1 = new PageImpl<>(List.of(employee), PageRequest.of(0, 2), 3);
-        Page<Employee> page2 = new PageImpl<>(List.of(employee), PageRequest.of(1, 2), 3);
-
-        when(employeeRepository.findAll(any(Pageable.class)))
-                .thenReturn(page1)
-                .thenReturn(page2);
+        when(employeeRepository.findExportRows(any(EmployeeExportFilter.class), eq(0L), any(Limit.class))).thenReturn(List.of(first, second));
+        when(employeeRepository.findExportRows(any(EmployeeExportFilter.class), eq(2L), any(Limit.class))).thenReturn(List.<Object[]>of(third));
 
         MockHttpServletResponse response = new MockHttpServletResponse();
 
@@ -265,7 +432,142 @@ class EmployeeServiceImplTest {
         assertTrue(output.contains("EMP-2025-000001"), "Employee code should be exported");
         assertTrue(output.contains("john.doe@test.com"), "Employee email should be exported");
 
-        verify(employeeRepository, atLeast(2)).findAll(any(Pageable.class));
+        assertTrue(output.contains("jim.doe@test.com"), "Rows after the first batch should be exported");
+
+        verify(employeeRepository).findExportRows(any(EmployeeExportFilter.class), eq(0L), eq(Limit.of(2)));
+        verify(employeeRepository).findExportRows(any(EmployeeExportFilter.class), eq(2L), eq(Limit.of(2)));
+        verify(employeeRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void exportAllEmployeesPaginated_writesOnlyRequestedColumns() throws Exception {
+        ReflectionTestUtils.setField(employeeService, "BATCH_SIZE", 10);
+        EmployeeExportFilter filter = EmployeeExportFilter.builder()
+                .department("engineering")
+                .isActive(true)
+                .columns(EmployeeExportColumn.fromParameters(List.of("email", "employeeCode")))
+                .build();
+
+        when(employeeRepository.findExportRows(eq(filter), eq(0L), any(Limit.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{7L, "emp@test.com", "EMP-2025-000007"}));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        employeeService.exportAllEmployeesPaginated(response, filter, ExportCompression.NONE);
+
+        assertEquals("\ufeffEmail,Employee Code\r\nemp@test.com,EMP-2025-000007\r\n",
+                response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportAllEmployeesPaginated_parallelRangesAreWrittenInIdOrder() throws Exception {
+        ExecutorService partitionPool = Executors.newFixedThreadPool(3);
+        try {
+            employeeService = new EmployeeServiceImpl(employeeRepository, employeeMapper, usersRepository,
+                    idBlockAllocator, employeeCodeGenerator, emailIndexService, employeeCountCache, Runnable::run,
+                    partitionPool);
+            ReflectionTestUtils.setField(employeeService, "BATCH_SIZE", 2);
+            ReflectionTestUtils.setField(employeeService, "exportParallelism", 3);
+
+            when(employeeRepository.findIdRange()).thenReturn(Optional.of(Range.closed(1L, 5L)));
+            when(employeeRepository.findExportRowsInRange(any(EmployeeExportFilter.class), anyLong(), anyLong(), eq(Limit.of(2))))
+                    .thenAnswer(inv -> {
+                        long afterId = inv.getArgument(1);
+                        long upToId = inv.getArgument(2);
+                        // Later ranges finish first, the output must still be in id order
+                        Thread.sleep((5 - upToId) * 20);
+                        return LongStream.rangeClosed(afterId + 1, upToId)
+                                .mapToObj(id -> exportRow(id, String.format("EMP-2025-%06d", id), "emp" + id + "@test.com"))
+                                .toList();
+                    });
+
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            employeeService.exportAllEmployeesPaginated(response);
+
+            String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\r\n");
+            assertEquals(6, lines.length);
+            for (int i = 1; i <= 5; i++) {
+                assertTrue(lines[i].startsWith(String.format("EMP-2025-%06d,", i)), lines[i]);
+            }
+            verify(employeeRepository).findExportRowsInRange(any(EmployeeExportFilter.class), eq(0L), eq(2L), eq(Limit.of(2)));
+            verify(employeeRepository).findExportRowsInRange(any(EmployeeExportFilter.class), eq(2L), eq(4L), eq(Limit.of(2)));
+            verify(employeeRepository).findExportRowsInRange(any(EmployeeExportFilter.class), eq(4L), eq(5L), eq(Limit.of(2)));
+            verify(employeeRepository, never()).findExportRows(any(EmployeeExportFilter.class), anyLong(), any(Limit.class));
+        } finally {
+            partitionPool.shutdownNow();
+        }
+    }
+
+    @Test
+    void exportEmployeeChanges_streamsChangedRowsAndSetsNextWatermark() throws Exception {
+        ReflectionTestUtils.setField(employeeService, "BATCH_SIZE", 1);
+        LocalDateTime since = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime changedAt = LocalDateTime.of(2025, 1, 2, 9, 30);
+        ExportWatermark upTo = new ExportWatermark(LocalDateTime.of(2025, 1, 3, 8, 0), 9L);
+
+        Object[] changed = deltaRow(4L, "EMP-2025-000004", false, changedAt);
+        Object[] deleted = deltaRow(9L, "EMP-2025-000009", true, upTo.getUpdatedAt());
+
+        when(employeeRepository.findLatestWatermark(any(LocalDateTime.class))).thenReturn(Optional.of(upTo));
+        when(employeeRepository.findChangedRows(anyList(), eq(new ExportWatermark(since, 0L)), eq(upTo), any(Limit.class)))
+                .thenReturn(List.<Object[]>of(changed));
+        when(employeeRepository.findChangedRows(anyList(), eq(new ExportWatermark(changedAt, 4L)), eq(upTo), any(Limit.class)))
+                .thenReturn(List.<Object[]>of(deleted));
+        when(employeeRepository.findChangedRows(anyList(), eq(upTo), eq(upTo), any(Limit.class)))
+                .thenReturn(List.of());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ExportWatermark next = employeeService.exportEmployeeChanges(response, new ExportWatermark(since, 0L), ExportCompression.NONE);
+
+        assertEquals(upTo, next);
+        assertEquals("2025-01-03T08:00", response.getHeader(ExportWatermark.NEXT_SINCE_HEADER));
+        assertEquals("9", response.getHeader(ExportWatermark.NEXT_AFTER_ID_HEADER));
+
+        String output = response.getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(output.contains("Is Deleted,Updated At"));
+        assertTrue(output.contains("EMP-2025-000004"));
+        assertTrue(output.contains("EMP-2025-000009,John,Doe,emp@test.com,IT,ACTIVE,2024-01-15,true,test@user.com,true,2025-01-03 08:00:00"));
+    }
+
+    @Test
+    void exportEmployeeChanges_keepsWatermarkWhenNothingChanged() throws Exception {
+        ReflectionTestUtils.setField(employeeService, "BATCH_SIZE", 10);
+        ReflectionTestUtils.setField(employeeService, "deltaSafetyLagMs", 300_000L);
+        ExportWatermark since = new ExportWatermark(LocalDateTime.of(2025, 1, 3, 8, 0), 9L);
+        ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(employeeRepository.findLatestWatermark(before.capture())).thenReturn(Optional.of(since));
+        when(employeeRepository.findChangedRows(anyList(), eq(since), eq(since), any(Limit.class)))
+                .thenReturn(List.of());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ExportWatermark next = employeeService.exportEmployeeChanges(response, since, ExportCompression.NONE);
+
+        assertEquals(since, next);
+        assertEquals("9", response.getHeader(ExportWatermark.NEXT_AFTER_ID_HEADER));
+        // Rows stamped within the safety lag may have uncommitted siblings, so the bound stays behind them
+        assertTrue(before.getValue().isBefore(LocalDateTime.now().minusMinutes(4)));
+    }
+
+    @Test
+    void exportAllEmployeesPaginated_zipCompression() throws Exception {
+        ReflectionTestUtils.setField(employeeService, "BATCH_SIZE", 10);
+
+        when(employeeRepository.findExportRows(any(EmployeeExportFilter.class), eq(0L), any(Limit.class)))
+                .thenReturn(List.<Object[]>of(exportRow(1L, "EMP-2025-000001", "emp@test.com")));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        employeeService.exportAllEmployeesPaginated(response, EmployeeExportFilter.all(), ExportCompression.ZIP);
+
+        assertEquals("application/zip", response.getContentType());
+        assertTrue(response.getHeader("Content-Disposition").endsWith(".zip\""));
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            ZipEntry entry = zip.getNextEntry();
+            assertNotNull(entry);
+            assertTrue(entry.getName().startsWith("employees_export_") && entry.getName().endsWith(".csv"));
+            String csv = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(csv.contains("EMP-2025-000001"));
+            assertNull(zip.getNextEntry());
+        }
     }
 
     @Test
@@ -277,16 +579,16 @@ class EmployeeServiceImplTest {
 
     @Test
     void testUpdateEmployee_SaveThrowsException() {
+        requestDTO.setEmail("new@test.com");
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
-        when(employeeRepository.existsByEmailAndIdNot("emp@test.com", 1L)).thenReturn(false);
-        when(employeeRepository.save(any(Employee.class))).thenThrow(new RuntimeException("Save failed"));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenThrow(new RuntimeException("Save failed"));
         assertThrows(RuntimeException.class, () -> employeeService.updateEmployee(1L, requestDTO));
     }
 
     @Test
     void testExportAllEmployeesPaginated_UnexpectedError() throws Exception {
         ReflectionTestUtils.setField(employeeService, "BATCH_SIZE", 1);
-        when(employeeRepository.findAll(any(Pageable.class)))
+        when(employeeRepository.findExportRows(any(EmployeeExportFilter.class), anyLong(), any(Limit.class)))
                 .thenThrow(new RuntimeException("Unexpected error"));
         MockHttpServletResponse response = new MockHttpServletResponse();
         assertThrows(RuntimeException.class, () -> employeeService.exportAllEmployeesPaginated(response));
@@ -296,15 +598,27 @@ class EmployeeServiceImplTest {
     void testExportAllEmployeesPaginated_SinglePage() throws Exception {
         ReflectionTestUtils.setField(employeeService, "BATCH_SIZE", 10);
 
-        Page<Employee> page = new PageImpl<>(List.of(employee), PageRequest.of(0, 10), 1);
-        when(employeeRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(employeeRepository.findExportRows(any(EmployeeExportFilter.class), eq(0L), any(Limit.class)))
+                .thenReturn(List.<Object[]>of(exportRow(1L, "EMP-2025-000001", "emp@test.com")));
 
         MockHttpServletResponse response = new MockHttpServletResponse();
         employeeService.exportAllEmployeesPaginated(response);
 
         String output = response.getContentAsString(StandardCharsets.UTF_8);
         assertTrue(output.contains("Employee Code")); // header must exist
+        verify(employeeRepository, times(1)).findExportRows(any(EmployeeExportFilter.class), anyLong(), any(Limit.class));
+    }
+
+
+
+    private Object[] deltaRow(Long id, String employeeCode, boolean deleted, LocalDateTime updatedAt) {
+        return new Object[]{id, employeeCode, "John", "Doe", "emp@test.com", "IT", EmployeeStatus.ACTIVE,
+                LocalDate.of(2024, 1, 15), true, "test@user.com", deleted, updatedAt};
     }
 
+    private Object[] exportRow(Long id, String employeeCode, String email) {
+        return new Object[]{id, employeeCode, "John", "Doe", email, "IT", EmployeeStatus.ACTIVE,
+                LocalDate.now(), true, "test@user.com"};
+    }
 
 }
@@ -0,0 +1,66 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Exceptions.ExportCapacityExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportBulkheadTest {
+
+    @Test
+    void run_ShouldRejectWhenAllSlotsAreBusy() throws Exception {
+        ExportBulkhead bulkhead = new ExportBulkhead(1, 0, 15);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<?> running = executor.submit(() -> {
+                bulkhead.run(() -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                });
+                return null;
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            ExportCapacityExceededException exception = assertThrows(ExportCapacityExceededException.class,
+                    () -> bulkhead.run(() -> fail("export must not run while the bulkhead is full")));
+            assertEquals(15, exception.getRetryAfterSeconds());
+
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void run_ShouldReleaseSlotWhenExportFails() throws Exception {
+        ExportBulkhead bulkhead = new ExportBulkhead(1, 0, 30);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(IOException.class, () -> bulkhead.run(() -> {
+            throw new IOException("client disconnected");
+        }));
+        bulkhead.run(runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.dto.Response.ExportJobResponseDTO;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportCompression;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportJobStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportType;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ExportCapacityExceededException;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ExportJobNotFoundException;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ExportJobNotReadyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceImplTest {
+
+    @Mock
+    private EmployeeService employeeService;
+    @Mock
+    private UserService userService;
+
+    @TempDir
+    Path spoolDir;
+
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+    private ExportJobServiceImpl exportJobService;
+
+    @BeforeEach
+    void setUp() {
+        exportJobService = new ExportJobServiceImpl(employeeService, userService, queuedTasks::add);
+        ReflectionTestUtils.setField(exportJobService, "spoolDir", spoolDir.toString());
+        ReflectionTestUtils.setField(exportJobService, "retentionMinutes", 60L);
+    }
+
+    @Test
+    void startJob_ShouldQueueJobAndWriteSpoolFileWhenRun() throws Exception {
+        when(employeeService.writeEmployeesCsv(any(OutputStream.class), any(LongConsumer.class))).thenAnswer(inv -> {
+            OutputStream out = inv.getArgument(0);
+            LongConsumer progress = inv.getArgument(1);
+            out.write("Employee Code\r\nEMP-2025-000001\r\n".getBytes(StandardCharsets.UTF_8));
+            progress.accept(1);
+            return 1L;
+        });
+
+        ExportJobResponseDTO queued = exportJobService.startJob(ExportType.EMPLOYEES, ExportCompression.NONE);
+        assertEquals(ExportJobStatus.QUEUED, queued.getStatus());
+        assertEquals(1, queuedTasks.size());
+
+        queuedTasks.get(0).run();
+
+        ExportJobResponseDTO completed = exportJobService.getJob(queued.getJobId());
+        assertEquals(ExportJobStatus.COMPLETED, completed.getStatus());
+        assertEquals(1, completed.getRowsWritten());
+        assertTrue(completed.getFileName().startsWith("employees_export_"));
+
+        Path file = exportJobService.getJobFile(queued.getJobId());
+        assertTrue(Files.readString(file).contains("EMP-2025-000001"));
+        assertEquals(Files.size(file), completed.getFileSizeBytes());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void startJob_ShouldSpoolGzipFileWhenCompressionRequested() throws Exception {
+        when(userService.writeUsersCsv(any(OutputStream.class), any(LongConsumer.class))).thenAnswer(inv -> {
+            OutputStream out = inv.getArgument(0);
+            out.write("User ID,Email\r\n1,admin@ems.com\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        ExportJobResponseDTO queued = exportJobService.startJob(ExportType.USERS, ExportCompression.GZIP);
+        queuedTasks.get(0).run();
+
+        ExportJobResponseDTO completed = exportJobService.getJob(queued.getJobId());
+        assertEquals(ExportCompression.GZIP, completed.getCompression());
+        assertTrue(completed.getFileName().endsWith(".csv.gz"));
+
+        Path file = exportJobService.getJobFile(queued.getJobId());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals("User ID,Email\r\n1,admin@ems.com\r\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void getJobFile_ShouldRejectJobThatHasNotCompleted() {
+        ExportJobResponseDTO queued = exportJobService.startJob(ExportType.USERS, ExportCompression.NONE);
+
+        assertThrows(ExportJobNotReadyException.class, () -> exportJobService.getJobFile(queued.getJobId()));
+    }
+
+    @Test
+    void runJob_ShouldMarkFailedAndRemovePartialFile() throws Exception {
+        when(userService.writeUsersCsv(any(OutputStream.class), any(LongConsumer.class)))
+                .thenThrow(new IOException("connection reset"));
+
+        ExportJobResponseDTO queued = exportJobService.startJob(ExportType.USERS, ExportCompression.NONE);
+        queuedTasks.get(0).run();
+
+        ExportJobResponseDTO failed = exportJobService.getJob(queued.getJobId());
+        assertEquals(ExportJobStatus.FAILED, failed.getStatus());
+        assertEquals("connection reset", failed.getErrorMessage());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void startJob_ShouldFailFastWhenExecutorRejects() {
+        exportJobService = new ExportJobServiceImpl(employeeService, userService, task -> {
+            throw new TaskRejectedException("queue full");
+        });
+
+        ReflectionTestUtils.setField(exportJobService, "retryAfterSeconds", 30L);
+
+        ExportCapacityExceededException exception = assertThrows(ExportCapacityExceededException.class,
+                () -> exportJobService.startJob(ExportType.EMPLOYEES, ExportCompression.NONE));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatus());
+        assertEquals(30L, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    void getJob_ShouldThrowForUnknownJob() {
+        assertThrows(ExportJobNotFoundException.class, () -> exportJobService.getJob("missing"));
+    }
+
+    @Test
+    void purgeExpiredJobs_ShouldDeleteFinishedJobsPastRetention() throws Exception {
+        when(employeeService.writeEmployeesCsv(any(OutputStream.class), any(LongConsumer.class))).thenReturn(0L);
+        ReflectionTestUtils.setField(exportJobService, "retentionMinutes", -1L);
+
+        ExportJobResponseDTO queued = exportJobService.startJob(ExportType.EMPLOYEES, ExportCompression.NONE);
+        queuedTasks.get(0).run();
+        Path file = exportJobService.getJobFile(queued.getJobId());
+
+        exportJobService.purgeExpiredJobs();
+
+        assertFalse(Files.exists(file));
+        assertThrows(ExportJobNotFoundException.class, () -> exportJobService.getJob(queued.getJobId()));
+    }
+}
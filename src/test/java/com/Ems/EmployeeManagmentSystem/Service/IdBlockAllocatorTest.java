@@ -0,0 +1,127 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Entity.EmployeeFixture;
+import com.Ems.EmployeeManagmentSystem.Enum.IdSequence;
+import com.Ems.EmployeeManagmentSystem.Repository.EmployeeRepository;
+import com.Ems.EmployeeManagmentSystem.Repository.IdAllocationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Leases commit in their own transaction, so the test runs without one and cleans up after itself.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdBlockAllocatorTest {
+
+    private IdBlockAllocator idBlockAllocator;
+
+    @Autowired
+    private IdAllocationRepository idAllocationRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // A fresh allocator per test, so no block is carried over from the previous one
+        idBlockAllocator = newNode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        idAllocationRepository.deleteAll();
+    }
+
+    @Test
+    void next_ShouldSeedFromExistingIdsAndLeaseOneBlockAtATime() {
+        employeeRepository.save(EmployeeFixture.employee(41L).build());
+
+        List<Long> ids = List.of(idBlockAllocator.next(IdSequence.EMPLOYEE), idBlockAllocator.next(IdSequence.EMPLOYEE),
+                idBlockAllocator.next(IdSequence.EMPLOYEE), idBlockAllocator.next(IdSequence.EMPLOYEE));
+
+        assertThat(ids).containsExactly(42L, 43L, 44L, 45L);
+        // Two blocks of three leased so far
+        assertThat(idAllocationRepository.findNextValue(IdSequence.EMPLOYEE.getKey())).contains(48L);
+    }
+
+    @Test
+    void reserve_ShouldLeaseConsecutiveRangeOutsideTheCurrentBlock() {
+        long first = idBlockAllocator.next(IdSequence.EMPLOYEE);
+
+        long rangeStart = idBlockAllocator.reserve(IdSequence.EMPLOYEE, 10);
+
+        assertThat(first).isEqualTo(1L);
+        assertThat(rangeStart).isEqualTo(4L);
+        assertThat(idBlockAllocator.next(IdSequence.EMPLOYEE)).isEqualTo(2L);
+        assertThat(idAllocationRepository.findNextValue(IdSequence.EMPLOYEE.getKey())).contains(14L);
+    }
+
+    @Test
+    void next_ShouldNeverHandOutTheSameIdTwiceAcrossNodes() throws Exception {
+        // Two allocators over the same table stand in for two nodes; the row is seeded up front
+        IdBlockAllocator otherNode = newNode();
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ids.add(idBlockAllocator.next(IdSequence.EMPLOYEE));
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                IdBlockAllocator allocator = thread % 2 == 0 ? idBlockAllocator : otherNode;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        ids.add(allocator.next(IdSequence.EMPLOYEE));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(101);
+    }
+
+    @Test
+    void employee_ShouldBeInsertedOnceWithAssignedId() {
+        Employee employee = EmployeeFixture.employee(idBlockAllocator.next(IdSequence.EMPLOYEE)).build();
+
+        assertThat(employee.isNew()).isTrue();
+        Employee saved = employeeRepository.save(employee);
+
+        assertThat(saved).isSameAs(employee);
+        assertThat(saved.isNew()).isFalse();
+        assertThat(employeeRepository.findById(employee.getId())).isPresent();
+    }
+
+    private IdBlockAllocator newNode() {
+        return new IdBlockAllocator(new AllocationLeaser(idAllocationRepository, transactionManager), jdbcTemplate, 3);
+    }
+}
@@ -0,0 +1,281 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Entity.ImportJob;
+import com.Ems.EmployeeManagmentSystem.Enum.ImportJobStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.ImportMode;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ImportCapacityExceededException;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ImportJobNotFoundException;
+import com.Ems.EmployeeManagmentSystem.Exceptions.ImportJobNotReadyException;
+import com.Ems.EmployeeManagmentSystem.Repository.ImportJobRepository;
+import com.Ems.EmployeeManagmentSystem.dto.Response.ImportJobResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceImplTest {
+
+    private static final String CSV = "First Name,Last Name,Email,Department,Status,Date of Joining\n" +
+            "John,Doe,john@test.com,IT,ACTIVE,2024-01-15\n";
+
+    @Mock
+    private EmployeeImportService employeeImportService;
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @TempDir
+    Path spoolDir;
+
+    // Stands in for the import_job table
+    private final Map<String, ImportJob> table = new ConcurrentHashMap<>();
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+    private ImportJobServiceImpl importJobService;
+
+    @BeforeEach
+    void setUp() {
+        importJobService = new ImportJobServiceImpl(employeeImportService, importJobRepository, queuedTasks::add);
+        ReflectionTestUtils.setField(importJobService, "spoolDir", spoolDir.toString());
+        ReflectionTestUtils.setField(importJobService, "retentionMinutes", 60L);
+
+        lenient().when(importJobRepository.save(any(ImportJob.class))).thenAnswer(inv -> {
+            ImportJob job = inv.getArgument(0);
+            if (job.getCreatedAt() == null) {
+                job.setCreatedAt(LocalDateTime.now());
+            }
+            table.put(job.getId(), job);
+            return job;
+        });
+        lenient().when(importJobRepository.findById(anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(table.get(inv.<String>getArgument(0))));
+        lenient().when(importJobRepository.transition(anyString(), any(), any())).thenAnswer(inv -> {
+            ImportJob job = table.get(inv.<String>getArgument(0));
+            if (job == null || job.getStatus() != inv.getArgument(1)) {
+                return 0;
+            }
+            job.setStatus(inv.getArgument(2));
+            return 1;
+        });
+        lenient().when(importJobRepository.updateCheckpoint(anyString(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+                        anyLong(), anyLong()))
+                .thenAnswer(inv -> {
+                    ImportJob job = table.get(inv.<String>getArgument(0));
+                    job.setRowsValid(inv.getArgument(1));
+                    job.setRowsInserted(inv.getArgument(2));
+                    job.setRowsUpdated(inv.getArgument(3));
+                    job.setRowsUnchanged(inv.getArgument(4));
+                    job.setRowsRejected(inv.getArgument(5));
+                    job.setLastCommittedRow(inv.getArgument(6));
+                    job.setRejectedFileSize(inv.getArgument(7));
+                    return 1;
+                });
+    }
+
+    private static MockMultipartFile csv() {
+        return new MockMultipartFile("file", "employees.csv", "text/csv", CSV.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ImportBatchListener.RejectedRow rejectedRow(long rowNumber, String email) {
+        return new ImportBatchListener.RejectedRow(rowNumber, List.of("Bob", "Brown", email, "Sales", "RETIRED", "2024-03-10"),
+                "Status must be ACTIVE or INACTIVE");
+    }
+
+    /**
+     * Commits one batch the way the import service would: counters and checkpoint first, then the listener.
+     */
+    private static void commitBatch(ImportProgress progress, ImportBatchListener listener, long upToRow,
+                                    List<ImportBatchListener.RejectedRow> rejectedRows) throws IOException {
+        while (progress.getRowsParsed() < upToRow) {
+            progress.nextRow();
+        }
+        long valid = upToRow - progress.getLastCommittedRow() - rejectedRows.size();
+        progress.committed(valid, valid, 0, 0, rejectedRows.size(), upToRow);
+        listener.onBatch(progress, rejectedRows);
+    }
+
+    @Test
+    void startJob_ShouldSpoolUploadAndImportItWhenRun() throws Exception {
+        doAnswer(inv -> {
+            InputStream in = inv.getArgument(0);
+            assertEquals(CSV, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            commitBatch(inv.getArgument(2), inv.getArgument(3), 3, List.of(rejectedRow(2, "bob@test.com")));
+            return null;
+        }).when(employeeImportService).importEmployees(any(InputStream.class), any(ImportMode.class), any(ImportProgress.class), any());
+
+        ImportJobResponseDTO queued = importJobService.startJob(csv(), ImportMode.INSERT);
+        assertEquals(ImportJobStatus.QUEUED, queued.getStatus());
+        assertEquals("employees.csv", queued.getFileName());
+        assertTrue(Files.exists(spoolDir.resolve(queued.getJobId() + ".csv")));
+        assertEquals(1, queuedTasks.size());
+
+        queuedTasks.get(0).run();
+
+        ImportJobResponseDTO completed = importJobService.getJob(queued.getJobId());
+        assertEquals(ImportJobStatus.COMPLETED, completed.getStatus());
+        assertEquals(3, completed.getRowsParsed());
+        assertEquals(2, completed.getRowsInserted());
+        assertEquals(1, completed.getRowsRejected());
+        assertNotNull(completed.getFinishedAt());
+        // The upload is only kept for resuming failed jobs
+        assertFalse(Files.exists(spoolDir.resolve(queued.getJobId() + ".csv")));
+
+        String rejected = Files.readString(importJobService.getRejectedRowsFile(queued.getJobId()));
+        assertEquals("\uFEFFRow Number,First Name,Last Name,Email,Department,Status,Date of Joining,Error\r\n" +
+                "2,Bob,Brown,bob@test.com,Sales,RETIRED,2024-03-10,Status must be ACTIVE or INACTIVE\r\n", rejected);
+    }
+
+    @Test
+    void getJob_ShouldReportLiveProgressWhileRunning() throws Exception {
+        List<ImportJobResponseDTO> snapshots = new ArrayList<>();
+        ImportJobResponseDTO queued = importJobService.startJob(csv(), ImportMode.INSERT);
+        doAnswer(inv -> {
+            ImportProgress progress = inv.getArgument(2);
+            progress.nextRow();
+            progress.nextRow();
+            snapshots.add(importJobService.getJob(queued.getJobId()));
+            // The rejected rows are only readable once the job has finished
+            assertThrows(ImportJobNotReadyException.class,
+                    () -> importJobService.getRejectedRowsFile(queued.getJobId()));
+            return null;
+        }).when(employeeImportService).importEmployees(any(InputStream.class), any(ImportMode.class), any(ImportProgress.class), any());
+
+        queuedTasks.get(0).run();
+
+        ImportJobResponseDTO running = snapshots.get(0);
+        assertEquals(ImportJobStatus.RUNNING, running.getStatus());
+        assertEquals(2, running.getRowsParsed());
+        assertEquals(0, running.getRowsValid());
+        assertEquals(0, running.getLastCommittedRow());
+        assertNotNull(running.getStartedAt());
+    }
+
+    @Test
+    void resumeJob_ShouldContinueAfterLastCommittedBatch() throws Exception {
+        List<Long> startedAfterRow = new ArrayList<>();
+        doAnswer(inv -> {
+            ImportProgress progress = inv.getArgument(2);
+            startedAfterRow.add(progress.getLastCommittedRow());
+            if (startedAfterRow.size() == 1) {
+                commitBatch(progress, inv.getArgument(3), 2, List.of(rejectedRow(1, "first@test.com")));
+                // A batch that wrote its rejections but never committed
+                Files.writeString(spoolDir.resolve(table.keySet().iterator().next() + "-rejected.csv"),
+                        "uncommitted\r\n", StandardOpenOption.APPEND);
+                throw new IOException("connection reset");
+            }
+            commitBatch(progress, inv.getArgument(3), 4, List.of(rejectedRow(3, "third@test.com")));
+            return null;
+        }).when(employeeImportService).importEmployees(any(InputStream.class), any(ImportMode.class), any(ImportProgress.class), any());
+
+        ImportJobResponseDTO queued = importJobService.startJob(csv(), ImportMode.INSERT);
+        queuedTasks.get(0).run();
+
+        ImportJobResponseDTO failed = importJobService.getJob(queued.getJobId());
+        assertEquals(ImportJobStatus.FAILED, failed.getStatus());
+        assertEquals("connection reset", failed.getErrorMessage());
+        assertEquals(2, failed.getLastCommittedRow());
+
+        ImportJobResponseDTO resumed = importJobService.resumeJob(queued.getJobId());
+        assertEquals(ImportJobStatus.QUEUED, resumed.getStatus());
+        queuedTasks.get(1).run();
+
+        assertEquals(List.of(0L, 2L), startedAfterRow);
+        ImportJobResponseDTO completed = importJobService.getJob(queued.getJobId());
+        assertEquals(ImportJobStatus.COMPLETED, completed.getStatus());
+        assertEquals(4, completed.getLastCommittedRow());
+        assertEquals(2, completed.getRowsRejected());
+        assertEquals(2, completed.getRowsInserted());
+
+        String rejected = Files.readString(importJobService.getRejectedRowsFile(queued.getJobId()));
+        assertFalse(rejected.contains("uncommitted"));
+        assertTrue(rejected.contains("1,Bob,Brown,first@test.com"));
+        assertTrue(rejected.contains("3,Bob,Brown,third@test.com"));
+        assertEquals(1, rejected.split("Row Number").length - 1);
+    }
+
+    @Test
+    void resumeJob_ShouldKeepTheModeOfTheJob() throws Exception {
+        List<ImportMode> modes = new ArrayList<>();
+        doAnswer(inv -> {
+            modes.add(inv.getArgument(1));
+            if (modes.size() == 1) {
+                throw new IOException("connection reset");
+            }
+            ImportProgress progress = inv.getArgument(2);
+            progress.nextRow();
+            progress.committed(1, 0, 1, 0, 0, 1);
+            ((ImportBatchListener) inv.getArgument(3)).onBatch(progress, List.of());
+            return null;
+        }).when(employeeImportService).importEmployees(any(InputStream.class), any(ImportMode.class), any(ImportProgress.class), any());
+
+        ImportJobResponseDTO queued = importJobService.startJob(csv(), ImportMode.MERGE);
+        queuedTasks.get(0).run();
+        importJobService.resumeJob(queued.getJobId());
+        queuedTasks.get(1).run();
+
+        assertEquals(List.of(ImportMode.MERGE, ImportMode.MERGE), modes);
+        ImportJobResponseDTO completed = importJobService.getJob(queued.getJobId());
+        assertEquals(ImportMode.MERGE, completed.getMode());
+        assertEquals(1, completed.getRowsUpdated());
+        assertEquals(0, completed.getRowsInserted());
+    }
+
+    @Test
+    void resumeJob_ShouldRejectJobThatHasNotFailed() throws Exception {
+        ImportJobResponseDTO queued = importJobService.startJob(csv(), ImportMode.INSERT);
+
+        assertThrows(ImportJobNotReadyException.class, () -> importJobService.resumeJob(queued.getJobId()));
+        assertEquals(1, queuedTasks.size());
+    }
+
+    @Test
+    void startJob_ShouldFailFastWhenExecutorRejects() {
+        importJobService = new ImportJobServiceImpl(employeeImportService, importJobRepository, task -> {
+            throw new TaskRejectedException("queue full");
+        });
+        ReflectionTestUtils.setField(importJobService, "spoolDir", spoolDir.toString());
+        ReflectionTestUtils.setField(importJobService, "retryAfterSeconds", 30L);
+
+        ImportCapacityExceededException exception = assertThrows(ImportCapacityExceededException.class,
+                () -> importJobService.startJob(csv(), ImportMode.INSERT));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatus());
+        assertEquals(30L, exception.getRetryAfterSeconds());
+        verify(importJobRepository).deleteById(anyString());
+    }
+
+    @Test
+    void startJob_ShouldRejectEmptyUpload() {
+        assertThrows(IllegalArgumentException.class, () -> importJobService.startJob(
+                new MockMultipartFile("file", "employees.csv", "text/csv", new byte[0]), ImportMode.INSERT));
+        verifyNoInteractions(importJobRepository);
+    }
+
+    @Test
+    void getJob_ShouldThrowForUnknownJob() {
+        assertThrows(ImportJobNotFoundException.class, () -> importJobService.getJob("missing"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import com.Ems.EmployeeManagmentSystem.Enum.IdSequence;
+import com.Ems.EmployeeManagmentSystem.Enum.Role;
+import com.Ems.EmployeeManagmentSystem.Exceptions.EmployeeAlreadyExistsException;
+import com.Ems.EmployeeManagmentSystem.Exceptions.UserAlreadyExistsException;
+import com.Ems.EmployeeManagmentSystem.Mapper.EmployeeMapper;
+import com.Ems.EmployeeManagmentSystem.Mapper.UserMapper;
+import com.Ems.EmployeeManagmentSystem.Repository.EmployeeRepository;
+import com.Ems.EmployeeManagmentSystem.Repository.UsersRepository;
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Request.UserRequestDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Parallel creates of one email: the unique constraints must let exactly one through and turn the
+ * rest into the usual "already exists" errors. Every create commits on its own, so the test runs
+ * without a transaction and cleans up after itself.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UniqueEmailConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EmailIndexService emailIndexService;
+
+    @BeforeEach
+    void setUp() {
+        // Never loaded, so it sends every email to the database like a cold start
+        emailIndexService = new EmailIndexService(jdbcTemplate, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        usersRepository.deleteAll();
+    }
+
+    @Test
+    void createUser_ShouldLetExactlyOneOfParallelDuplicatesThrough() throws Exception {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded");
+        UserServiceImpl userService = new UserServiceImpl(usersRepository, Mappers.getMapper(UserMapper.class),
+                passwordEncoder, null, null, emailIndexService, Runnable::run);
+
+        List<Throwable> failures = runInParallel(i -> () ->
+                userService.createUser(new UserRequestDTO("same@test.com", "Secret@123", "USER")));
+
+        assertThat(failures).hasSize(THREADS - 1).allMatch(UserAlreadyExistsException.class::isInstance);
+        assertThat(usersRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void addEmployee_ShouldLetExactlyOneOfParallelDuplicatesThrough() throws Exception {
+        // One user per thread, since a user owns at most one employee
+        List<Users> owners = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            owners.add(usersRepository.save(Users.builder()
+                    .email("owner" + i + "@test.com")
+                    .password("encoded")
+                    .role(Role.USER)
+                    .isActive(true)
+                    .isDeleted(false)
+                    .build()));
+        }
+        IdBlockAllocator idBlockAllocator = mock(IdBlockAllocator.class);
+        AtomicLong nextId = new AtomicLong(1);
+        when(idBlockAllocator.next(IdSequence.EMPLOYEE)).thenAnswer(invocation -> nextId.getAndIncrement());
+        EmployeeCodeGenerator employeeCodeGenerator = mock(EmployeeCodeGenerator.class);
+        AtomicLong nextCode = new AtomicLong(1);
+        when(employeeCodeGenerator.next()).thenAnswer(invocation -> "EMP-2025-" + nextCode.getAndIncrement());
+        EmployeeServiceImpl employeeService = new EmployeeServiceImpl(employeeRepository,
+                Mappers.getMapper(EmployeeMapper.class), usersRepository, idBlockAllocator, employeeCodeGenerator,
+                emailIndexService, new EmployeeCountCache(30_000, 1000), Runnable::run, Runnable::run);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        List<Throwable> failures = runInParallel(i -> () -> {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    new CustomUserDetails(owners.get(i)), null, List.of()));
+            try {
+                EmployeeRequestDTO request = new EmployeeRequestDTO("John", "Doe", "same@test.com", "IT", "ACTIVE",
+                        LocalDate.of(2024, 1, 15));
+                return transaction.execute(status -> employeeService.addEmployee(request));
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        });
+
+        assertThat(failures).hasSize(THREADS - 1).allMatch(EmployeeAlreadyExistsException.class::isInstance);
+        assertThat(employeeRepository.count()).isEqualTo(1);
+    }
+
+    /**
+     * Starts all tasks at once and returns what the failed ones threw.
+     */
+    private List<Throwable> runInParallel(IntFunction<Callable<?>> task) throws InterruptedException {
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Callable<?> callable = task.apply(i);
+            results.add(threads.submit(() -> {
+                start.await();
+                return callable.call();
+            }));
+        }
+        start.countDown();
+
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<?> result : results) {
+            try {
+                result.get(30, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            } catch (TimeoutException e) {
+                throw new AssertionError("Parallel create did not finish", e);
+            }
+        }
+        threads.shutdown();
+        return failures;
+    }
+}
@@ -0,0 +1,207 @@
+package com.Ems.EmployeeManagmentSystem.Service;
+
+import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import com.Ems.EmployeeManagmentSystem.Enum.BulkItemStatus;
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import com.Ems.EmployeeManagmentSystem.Enum.Role;
+import com.Ems.EmployeeManagmentSystem.Repository.UsersRepository;
+import com.Ems.EmployeeManagmentSystem.dto.Request.UserRequestDTO;
+import com.Ems.EmployeeManagmentSystem.dto.Response.UserBulkItemResultDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserBulkServiceImpl - Bulk registration")
+class UserBulkServiceImplTest {
+
+    private static final String PASSWORD = "Secret@123";
+
+    private static ValidatorFactory validatorFactory;
+
+    @Mock
+    private UsersRepository usersRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private EmailIndexService emailIndexService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ThreadPoolTaskExecutor passwordHashExecutor;
+    private UserBulkServiceImpl userBulkService;
+    // Written by the registering thread, hashes by the executor threads
+    private final List<String> hashingThreads = Collections.synchronizedList(new ArrayList<>());
+    private final List<List<Users>> insertedBatches = new ArrayList<>();
+
+    @BeforeAll
+    static void createValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        passwordHashExecutor = new ThreadPoolTaskExecutor();
+        passwordHashExecutor.setCorePoolSize(2);
+        passwordHashExecutor.setMaxPoolSize(2);
+        passwordHashExecutor.setQueueCapacity(1);
+        passwordHashExecutor.setThreadNamePrefix("test-hash-");
+        passwordHashExecutor.initialize();
+
+        userBulkService = new UserBulkServiceImpl(usersRepository, passwordEncoder, emailIndexService,
+                validatorFactory.getValidator(), new TransactionTemplate(transactionManager), objectMapper,
+                passwordHashExecutor);
+        ReflectionTestUtils.setField(userBulkService, "maxItems", 10);
+        ReflectionTestUtils.setField(userBulkService, "batchSize", 2);
+
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            hashingThreads.add(Thread.currentThread().getName());
+            return "hashed:" + invocation.getArgument(0);
+        });
+        // Ids the way AUTO_INCREMENT would hand them out, plus a copy of every batch
+        AtomicLong nextId = new AtomicLong(1);
+        lenient().doAnswer(invocation -> {
+            List<Users> users = invocation.getArgument(0);
+            users.forEach(user -> user.setId(nextId.getAndIncrement()));
+            insertedBatches.add(List.copyOf(users));
+            return null;
+        }).when(usersRepository).insertBatch(anyList());
+        lenient().when(usersRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        lenient().when(emailIndexService.filterMightExist(eq(EmailScope.USER), anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<String>>getArgument(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashExecutor.shutdown();
+    }
+
+    private static UserRequestDTO user(String email, String role) {
+        return new UserRequestDTO(email, PASSWORD, role);
+    }
+
+    private List<UserBulkItemResultDTO> register(List<UserRequestDTO> requests) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userBulkService.registerUsers(requests, out);
+        List<UserBulkItemResultDTO> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, UserBulkItemResultDTO.class));
+        }
+        return results;
+    }
+
+    @Test
+    @DisplayName("Should hash on the executor, insert per batch and stream one line per user in order")
+    void registerUsers_ShouldStreamResultsInRequestOrder() throws IOException {
+        List<UserBulkItemResultDTO> results = register(List.of(
+                user("a@test.com", "USER"),
+                user("b@test.com", "admin"),
+                user("c@test.com", "USER"),
+                user("d@test.com", "USER"),
+                user("e@test.com", "USER")));
+
+        assertEquals(List.of(0, 1, 2, 3, 4), results.stream().map(UserBulkItemResultDTO::getIndex).toList());
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == BulkItemStatus.CREATED));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), results.stream().map(UserBulkItemResultDTO::getId).toList());
+        assertEquals("ADMIN", results.get(1).getRole());
+
+        assertEquals(List.of(2, 2, 1), insertedBatches.stream().map(List::size).toList());
+        Users admin = insertedBatches.get(0).get(1);
+        assertEquals(Role.ADMIN, admin.getRole());
+        assertEquals("hashed:" + PASSWORD, admin.getPassword());
+        assertTrue(hashingThreads.stream().allMatch(name -> name.startsWith("test-hash-")));
+        verify(emailIndexService).addAll(EmailScope.USER, List.of("a@test.com", "b@test.com"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid users, unknown roles and taken emails without hashing them")
+    void registerUsers_ShouldRejectPerUser() throws IOException {
+        when(usersRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@test.com"));
+        UserRequestDTO weakPassword = new UserRequestDTO("weak@test.com", "password", "USER");
+
+        List<UserBulkItemResultDTO> results = register(List.of(
+                user("Taken@test.com", "USER"),
+                weakPassword,
+                user("new@test.com", "OWNER"),
+                user("new@test.com", "USER"),
+                user("NEW@test.com", "USER")));
+
+        assertEquals(List.of(BulkItemStatus.REJECTED, BulkItemStatus.REJECTED, BulkItemStatus.REJECTED,
+                BulkItemStatus.CREATED, BulkItemStatus.REJECTED),
+                results.stream().map(UserBulkItemResultDTO::getStatus).toList());
+        assertEquals("User already exists with email Taken@test.com", results.get(0).getError());
+        assertEquals("Role must be one of [ADMIN, USER]", results.get(2).getError());
+        assertEquals("Duplicate email in request: NEW@test.com", results.get(4).getError());
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    @Test
+    @DisplayName("Should retry a batch without the emails registered concurrently")
+    void registerUsers_ShouldRetryBatchOnConstraintViolation() throws IOException {
+        ReflectionTestUtils.setField(userBulkService, "batchSize", 5);
+        doThrow(new DataIntegrityViolationException("Duplicate entry"))
+                .doAnswer(invocation -> {
+                    insertedBatches.add(List.copyOf(invocation.<List<Users>>getArgument(0)));
+                    return null;
+                })
+                .when(usersRepository).insertBatch(anyList());
+        when(usersRepository.findExistingEmails(anyCollection()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("raced@test.com"));
+
+        List<UserBulkItemResultDTO> results = register(List.of(user("raced@test.com", "USER"), user("ok@test.com", "USER")));
+
+        assertEquals(BulkItemStatus.REJECTED, results.get(0).getStatus());
+        assertEquals(BulkItemStatus.CREATED, results.get(1).getStatus());
+        assertEquals(List.of("ok@test.com"), insertedBatches.get(0).stream().map(Users::getEmail).toList());
+        verify(emailIndexService).addAll(EmailScope.USER, Set.of("raced@test.com"));
+    }
+
+    @Test
+    @DisplayName("Should refuse empty requests and requests over the item limit")
+    void checkRequestSize_ShouldRejectEmptyOrOversizedRequests() {
+        List<UserRequestDTO> tooMany = Collections.nCopies(11, user("a@test.com", "USER"));
+
+        assertThrows(IllegalArgumentException.class, () -> userBulkService.checkRequestSize(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> userBulkService.checkRequestSize(tooMany));
+        verifyNoInteractions(usersRepository, passwordEncoder);
+    }
+}
@@ -1,12 +1,15 @@
 package com.Ems.EmployeeManagmentSystem.Service;
 
 import com.Ems.EmployeeManagmentSystem.Entity.Users;
+import com.Ems.EmployeeManagmentSystem.Enum.EmailScope;
+import com.Ems.EmployeeManagmentSystem.Enum.ExportCompression;
 import com.Ems.EmployeeManagmentSystem.Enum.Role;
 import com.Ems.EmployeeManagmentSystem.Exceptions.AuthenticationFailedException;
 import com.Ems.EmployeeManagmentSystem.Exceptions.UserAlreadyExistsException;
 import com.Ems.EmployeeManagmentSystem.Exceptions.UserNotFoundException;
 import com.Ems.EmployeeManagmentSystem.Mapper.UserMapper;
 import com.Ems.EmployeeManagmentSystem.Repository.UsersRepository;
+import com.Ems.EmployeeManagmentSystem.dto.Request.ExportWatermark;
 import com.Ems.EmployeeManagmentSystem.dto.Request.LoginRequestDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Request.UserRequestDTO;
 import com.Ems.EmployeeManagmentSystem.dto.Response.JwtResponse;
@@ -21,6 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -32,11 +36,13 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -58,6 +64,8 @@ class UserServiceImplTest {
     @Mock
     private JwtService jwtService;
     @Mock
+    private EmailIndexService emailIndexService;
+    @Mock
     private HttpServletResponse response;
 
     @InjectMocks
@@ -93,6 +101,7 @@ class UserServiceImplTest {
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(userService, "BATCH_SIZE", 1000);
+        ReflectionTestUtils.setField(userService, "exportPrefetchExecutor", (Executor) Runnable::run);
 
         userRequestDTO = new UserRequestDTO();
         userRequestDTO.setEmail("test@example.com");
@@ -117,8 +126,6 @@ class UserServiceImplTest {
     @Test
     @DisplayName("Should create user successfully")
     void testCreateUserSuccess() {
-        when(usersRepository.findByEmail(userRequestDTO.getEmail())).thenReturn(Optional.empty());
-
         when(userMapper.toEntity(any(UserRequestDTO.class))).thenAnswer(inv -> {
             Users newUser = new Users();
             newUser.setEmail("test@example.com");
@@ -136,7 +143,10 @@ class UserServiceImplTest {
         assertNotNull(response);
         assertEquals("test@example.com", response.getEmail());
 
-        verify(usersRepository).findByEmail("test@example.com");
+        // The insert is the only duplicate check
+        verify(usersRepository, never()).findByEmail(any());
+        verify(emailIndexService, never()).mightExist(any(), any());
+        verify(emailIndexService).add(EmailScope.USER, "test@example.com");
         verify(passwordEncoder).encode("plainPass");
         verify(usersRepository).save(any(Users.class));
         verify(userMapper).toDto(any(Users.class));
@@ -145,10 +155,15 @@ class UserServiceImplTest {
     @Test
     @DisplayName("Should throw exception when user already exists with same role")
     void testCreateUser_UserAlreadyExistsSameRoleThrows() {
+        userRequestDTO.setRole("USER");
+        when(userMapper.toEntity(any(UserRequestDTO.class))).thenReturn(new Users());
+        when(usersRepository.save(any(Users.class))).thenThrow(emailViolation());
         when(usersRepository.findByEmail(userRequestDTO.getEmail())).thenReturn(Optional.of(user));
         user.setRole(Role.USER);
 
-        assertThrows(UserAlreadyExistsException.class, () -> userService.createUser(userRequestDTO));
+        UserAlreadyExistsException thrown = assertThrows(UserAlreadyExistsException.class,
+                () -> userService.createUser(userRequestDTO));
+        assertEquals("User already exists with email test@example.com and role USER", thrown.getMessage());
         verify(usersRepository).findByEmail(userRequestDTO.getEmail());
     }
 
@@ -159,17 +174,38 @@ class UserServiceImplTest {
         existingUser.setEmail("test@example.com");
         existingUser.setRole(Role.ADMIN);
 
+        when(userMapper.toEntity(any(UserRequestDTO.class))).thenReturn(new Users());
+        when(usersRepository.save(any(Users.class))).thenThrow(emailViolation());
         when(usersRepository.findByEmail(userRequestDTO.getEmail())).thenReturn(Optional.of(existingUser));
 
-        assertThrows(UserAlreadyExistsException.class, () -> userService.createUser(userRequestDTO));
+        UserAlreadyExistsException thrown = assertThrows(UserAlreadyExistsException.class,
+                () -> userService.createUser(userRequestDTO));
+        assertEquals("User already exists with email test@example.com", thrown.getMessage());
         verify(usersRepository).findByEmail(userRequestDTO.getEmail());
     }
 
+    @Test
+    @DisplayName("Should pass through constraint violations other than the email")
+    void testCreateUser_OtherConstraintViolationIsRethrown() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Column 'role' cannot be null");
+        when(userMapper.toEntity(any(UserRequestDTO.class))).thenReturn(new Users());
+        when(usersRepository.save(any(Users.class))).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> userService.createUser(userRequestDTO)));
+        verify(usersRepository, never()).findByEmail(any());
+    }
+
+    // What MySQL reports for a second row with a taken email
+    private static DataIntegrityViolationException emailViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry 'test@example.com' for key 'users.uk_users_email'"));
+    }
+
     @Test
     @DisplayName("Should set isActive and isDeleted flags correctly on user creation")
     void testCreateUser_SetsCorrectFlags() {
-        when(usersRepository.findByEmail(userRequestDTO.getEmail())).thenReturn(Optional.empty());
-
         Users newUser = new Users();
         newUser.setEmail("test@example.com");
         newUser.setPassword("plainPass");
@@ -195,8 +231,6 @@ class UserServiceImplTest {
     @Test
     @DisplayName("Should encode password correctly during user creation")
     void testCreateUser_EncodesPassword() {
-        when(usersRepository.findByEmail(userRequestDTO.getEmail())).thenReturn(Optional.empty());
-
         Users newUser = new Users();
         newUser.setEmail("test@example.com");
         newUser.setPassword("plainPass");
@@ -312,14 +346,13 @@ class UserServiceImplTest {
         List<Users> usersList = new ArrayList<>();
         usersList.add(user);
 
-        Page<Users> page = new PageImpl<>(usersList, PageRequest.of(0, 1000), 1);
-        when(usersRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(usersRepository.findExportBatch(eq(0L), any(Limit.class))).thenReturn(usersList);
 
         userService.exportUsersPaginated(response);
 
         verify(response).setContentType("text/csv; charset=UTF-8");
         verify(response).setCharacterEncoding("UTF-8");
-        verify(usersRepository).findAll(any(Pageable.class));
+        verify(usersRepository).findExportBatch(0L, Limit.of(1000));
 
         String csvContent = baos.toString(StandardCharsets.UTF_8);
         assertTrue(csvContent.contains("User ID"));
@@ -355,19 +388,19 @@ class UserServiceImplTest {
         List<Users> page1Users = List.of(user1);
         List<Users> page2Users = List.of(user2);
 
-        Page<Users> page1 = new PageImpl<>(page1Users, PageRequest.of(0, 1000), 2);
-        Page<Users> page2 = new PageImpl<>(page2Users, PageRequest.of(1, 1000), 2);
+        ReflectionTestUtils.setField(userService, "BATCH_SIZE", 1);
 
-        when(usersRepository.findAll(any(Pageable.class)))
-                .thenReturn(page1)
-                .thenReturn(page2);
+        when(usersRepository.findExportBatch(eq(0L), any(Limit.class))).thenReturn(page1Users);
+        when(usersRepository.findExportBatch(eq(1L), any(Limit.class))).thenReturn(page2Users);
+        when(usersRepository.findExportBatch(eq(2L), any(Limit.class))).thenReturn(Collections.emptyList());
 
         userService.exportUsersPaginated(response);
-        verify(usersRepository, times(1)).findAll(any(Pageable.class));
+        verify(usersRepository, times(3)).findExportBatch(anyLong(), any(Limit.class));
+        verify(usersRepository, never()).findAll(any(Pageable.class));
 
         String csvContent = baos.toString(StandardCharsets.UTF_8);
         assertTrue(csvContent.contains("user1@company.com"));
-        assertFalse(csvContent.contains("user2@company.com"));
+        assertTrue(csvContent.contains("user2@company.com"));
     }
 
     @Test
@@ -388,13 +421,12 @@ class UserServiceImplTest {
         userWithNulls.setUpdatedAt(null);
 
         List<Users> usersList = List.of(userWithNulls);
-        Page<Users> page = new PageImpl<>(usersList, PageRequest.of(0, 1000), 1);
 
-        when(usersRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(usersRepository.findExportBatch(eq(0L), any(Limit.class))).thenReturn(usersList);
 
         userService.exportUsersPaginated(response);
 
-        verify(usersRepository).findAll(any(Pageable.class));
+        verify(usersRepository).findExportBatch(eq(0L), any(Limit.class));
 
         String csvContent = baos.toString(StandardCharsets.UTF_8);
         assertTrue(csvContent.contains("User ID"));
@@ -410,19 +442,50 @@ class UserServiceImplTest {
         when(response.getOutputStream()).thenReturn(outputStream);
 
         List<Users> emptyList = Collections.emptyList();
-        Page<Users> emptyPage = new PageImpl<>(emptyList, PageRequest.of(0, 1000), 0);
 
-        when(usersRepository.findAll(any(Pageable.class))).thenReturn(emptyPage);
+        when(usersRepository.findExportBatch(eq(0L), any(Limit.class))).thenReturn(emptyList);
 
         userService.exportUsersPaginated(response);
 
-        verify(usersRepository).findAll(any(Pageable.class));
+        verify(usersRepository).findExportBatch(eq(0L), any(Limit.class));
 
         String csvContent = baos.toString(StandardCharsets.UTF_8);
         assertTrue(csvContent.contains("User ID"));
         assertFalse(csvContent.contains("@"));
     }
 
+    @Test
+    @DisplayName("Should export only users changed after the watermark and set the next one")
+    void testExportUserChanges_Success() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(new TestServletOutputStream(baos));
+
+        LocalDateTime changedAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        Users deletedUser = new Users();
+        deletedUser.setId(42L);
+        deletedUser.setEmail("gone@example.com");
+        deletedUser.setRole(Role.USER);
+        deletedUser.setIsActive(false);
+        deletedUser.setIsDeleted(true);
+        deletedUser.setCreatedAt(LocalDateTime.of(2024, 5, 1, 9, 0));
+        deletedUser.setUpdatedAt(changedAt);
+
+        ExportWatermark since = new ExportWatermark(LocalDateTime.of(2025, 2, 1, 0, 0), 7L);
+        ExportWatermark upTo = new ExportWatermark(changedAt, 42L);
+        when(usersRepository.findLatestWatermark(any(LocalDateTime.class))).thenReturn(Optional.of(upTo));
+        when(usersRepository.findChangedBatch(eq(since), eq(upTo), any(Limit.class))).thenReturn(List.of(deletedUser));
+
+        ExportWatermark next = userService.exportUserChanges(response, since, ExportCompression.NONE);
+
+        assertEquals(upTo, next);
+        verify(response).setHeader(ExportWatermark.NEXT_SINCE_HEADER, "2025-03-01T12:00");
+        verify(response).setHeader(ExportWatermark.NEXT_AFTER_ID_HEADER, "42");
+        verify(usersRepository, never()).findExportBatch(anyLong(), any(Limit.class));
+
+        String csvContent = baos.toString(StandardCharsets.UTF_8);
+        assertTrue(csvContent.contains("42,gone@example.com,USER,false,true,2024-05-01 09:00:00,2025-03-01 12:00:00"));
+    }
+
     @Test
     @DisplayName("Should throw IOException when getOutputStream fails")
     void testExportUsersPaginated_IOException() throws Exception {
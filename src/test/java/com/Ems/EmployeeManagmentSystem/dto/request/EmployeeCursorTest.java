@@ -0,0 +1,58 @@
+package com.Ems.EmployeeManagmentSystem.dto.request;
+
+import com.Ems.EmployeeManagmentSystem.dto.Request.EmployeeCursor;
+import com.Ems.EmployeeManagmentSystem.Entity.Employee;
+import com.Ems.EmployeeManagmentSystem.Enum.EmployeeSortField;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeCursorTest {
+
+    @Test
+    @DisplayName("Cursor survives encode and decode")
+    void testRoundTrip() {
+        Employee employee = new Employee();
+        employee.setId(42L);
+        employee.setCreatedAt(LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123456000));
+
+        EmployeeCursor cursor = EmployeeCursor.after(EmployeeSortField.CREATED_AT, employee);
+        EmployeeCursor decoded = EmployeeCursor.decode(cursor.encode(), EmployeeSortField.CREATED_AT);
+
+        assertEquals(cursor, decoded);
+        assertEquals(employee.getCreatedAt(), EmployeeSortField.CREATED_AT.parseKey(decoded.getKey()));
+    }
+
+    @Test
+    @DisplayName("Key may contain the separator and is URL safe")
+    void testKeyWithSeparator() {
+        EmployeeCursor cursor = new EmployeeCursor(EmployeeSortField.EMAIL, "a|b?c@test.com", 7L);
+
+        String token = cursor.encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, EmployeeCursor.decode(token, EmployeeSortField.EMAIL));
+    }
+
+    @Test
+    @DisplayName("Cursor issued for another sortBy is rejected")
+    void testSortByMismatch() {
+        String token = new EmployeeCursor(EmployeeSortField.ID, "7", 7L).encode();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> EmployeeCursor.decode(token, EmployeeSortField.CREATED_AT));
+        assertTrue(e.getMessage().contains("sortBy=id"));
+    }
+
+    @Test
+    @DisplayName("Tampered cursors are rejected")
+    void testInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> EmployeeCursor.decode("%%%", EmployeeSortField.ID));
+        assertThrows(IllegalArgumentException.class,
+                () -> EmployeeCursor.decode(new EmployeeCursor(EmployeeSortField.CREATED_AT, "yesterday", 1L).encode(),
+                        EmployeeSortField.CREATED_AT));
+    }
+}